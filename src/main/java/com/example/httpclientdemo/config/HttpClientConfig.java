@@ -0,0 +1,287 @@
+package com.example.httpclientdemo.config;
+
+import com.example.httpclientdemo.service.ContentCoding;
+import com.example.httpclientdemo.service.HttpServiceMetrics;
+import com.example.httpclientdemo.service.HttpServiceOptions;
+import com.example.httpclientdemo.service.LatencyRecorder;
+import com.example.httpclientdemo.service.MessageLog;
+import com.example.httpclientdemo.service.MessageTracing;
+import com.example.httpclientdemo.service.OverloadProtection;
+import com.example.httpclientdemo.service.RequestCompression;
+import com.example.httpclientdemo.service.ResiliencePolicies;
+import com.example.httpclientdemo.service.ResiliencePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.tcp.SslProvider;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 出站HTTP客户端配置
+ * 提供按http-client.pool.*调优的连接池、按http-client.protocol选择的传输协议、
+ * http-client.compression.*压缩配置、http-client.resilience.*超时/重试/对冲策略
+ * http-client.circuit-breaker.*、http-client.concurrency-limit.*过载保护、http-client.metrics.*请求指标
+ * 按报文的链路追踪以及http-client.logging.*报文日志，
+ * Spring Boot自动配置的WebClient.Builder会使用此处的ClientHttpConnector
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    private static final String ACCEPT_ENCODING_WITH_ZSTD = "gzip, deflate, zstd";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider httpServiceConnectionProvider(HttpClientProperties properties) {
+        return createConnectionProvider(properties);
+    }
+
+    @Bean
+    public RequestCompression httpServiceRequestCompression(HttpClientProperties properties) {
+        return createRequestCompression(properties.getCompression());
+    }
+
+    @Bean
+    public ResiliencePolicies httpServiceResiliencePolicies(HttpClientProperties properties) {
+        return createResiliencePolicies(properties.getResilience());
+    }
+
+    @Bean
+    public OverloadProtection httpServiceOverloadProtection(HttpClientProperties properties) {
+        return createOverloadProtection(properties.getCircuitBreaker(), properties.getConcurrencyLimit());
+    }
+
+    /**
+     * 容器中存在MeterRegistry（如引入actuator）时注册到该注册表，否则注册到全局注册表；
+     * Spring Boot会把自动配置的注册表加入全局注册表，两种情况下指标都能由已配置的注册表导出
+     */
+    @Bean
+    public HttpServiceMetrics httpServiceMetrics(HttpClientProperties properties,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        if (!properties.getMetrics().isEnabled()) {
+            return HttpServiceMetrics.noop();
+        }
+        return HttpServiceMetrics.create(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * 容器中存在ObservationRegistry（如引入actuator与Micrometer Tracing桥接）时按报文追踪，否则不产生span
+     */
+    @Bean
+    public MessageTracing httpServiceMessageTracing(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return MessageTracing.create(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    @Bean
+    public MessageLog httpServiceMessageLog(HttpClientProperties properties) {
+        HttpClientProperties.Logging logging = properties.getLogging();
+        if (!logging.isEnabled()) {
+            return MessageLog.disabled();
+        }
+        return MessageLog.of(logging.getSampleRate(), logging.getMaxBodyLength());
+    }
+
+    /**
+     * 配置了导出文件时，容器关闭时由推断的close()方法写入直方图
+     */
+    @Bean
+    public LatencyRecorder httpServiceLatencyRecorder(HttpClientProperties properties) {
+        return createLatencyRecorder(properties.getLatency());
+    }
+
+    @Bean
+    public HttpServiceOptions httpServiceOptions(RequestCompression requestCompression,
+                                                 ResiliencePolicies resiliencePolicies,
+                                                 OverloadProtection overloadProtection, HttpServiceMetrics metrics,
+                                                 MessageTracing tracing, LatencyRecorder latencyRecorder) {
+        return HttpServiceOptions.defaults()
+                .withRequestCompression(requestCompression)
+                .withResiliencePolicies(resiliencePolicies)
+                .withOverloadProtection(overloadProtection)
+                .withMetrics(metrics)
+                .withTracing(tracing)
+                .withLatencyRecorder(latencyRecorder);
+    }
+
+    @Bean
+    public ClientHttpConnector httpServiceClientHttpConnector(ConnectionProvider httpServiceConnectionProvider,
+                                                              HttpClientProperties properties) {
+        return new ReactorClientHttpConnector(createHttpClient(httpServiceConnectionProvider, properties));
+    }
+
+    /**
+     * 根据配置创建连接池，HTTP/2模式下按http-client.http2.*限制每个主机的连接数与并发流数
+     * @param properties 客户端配置
+     * @return ConnectionProvider实例
+     */
+    public static ConnectionProvider createConnectionProvider(HttpClientProperties properties) {
+        if (properties.getProtocol() == HttpClientProperties.Protocol.HTTP1_1) {
+            return createConnectionProvider(properties.getPool());
+        }
+        HttpClientProperties.Http2 http2 = properties.getHttp2();
+        return configurePool(properties.getPool())
+                .allocationStrategy(Http2AllocationStrategy.builder()
+                        .maxConcurrentStreams(http2.getMaxConcurrentStreams())
+                        .maxConnections(http2.getMaxConnections())
+                        .minConnections(http2.getMinConnections())
+                        .build())
+                .build();
+    }
+
+    /**
+     * 根据配置创建HttpClient
+     * @param connectionProvider 连接池
+     * @param properties 客户端配置
+     * @return 按协议与压缩配置好的HttpClient
+     */
+    public static HttpClient createHttpClient(ConnectionProvider connectionProvider, HttpClientProperties properties) {
+        HttpClientProperties.Resilience resilience = properties.getResilience();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) resilience.getConnectTimeout().toMillis())
+                .responseTimeout(resilience.getReadTimeout());
+        switch (properties.getProtocol()) {
+            case H2C:
+                // 内网明文，直接以HTTP/2帧通信，不经过Upgrade协商
+                httpClient = httpClient.protocol(HttpProtocol.H2C);
+                break;
+            case H2:
+                // 经TLS ALPN协商，服务端不支持HTTP/2时回退到HTTP/1.1
+                // 以GenericSslContextSpec传入，避开已废弃的sslContext(ProtocolSslContextSpec)重载
+                SslProvider.GenericSslContextSpec<?> sslContextSpec = Http2SslContextSpec.forClient();
+                httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                        .secure(spec -> spec.sslContext(sslContextSpec));
+                break;
+            default:
+                break;
+        }
+        if (properties.getCompression().isResponseEnabled()) {
+            // 管道中加入HttpContentDecompressor，响应体按分块流式解压，无需先缓存完整压缩数据
+            httpClient = httpClient.compress(true);
+            if (ContentCoding.isZstdAvailable()) {
+                httpClient = httpClient.headers(headers -> headers.set(HttpHeaderNames.ACCEPT_ENCODING, ACCEPT_ENCODING_WITH_ZSTD));
+            }
+        }
+        return httpClient;
+    }
+
+    /**
+     * 根据配置创建请求体压缩策略
+     * @param compression 压缩配置
+     * @return RequestCompression实例
+     */
+    public static RequestCompression createRequestCompression(HttpClientProperties.Compression compression) {
+        if (!compression.isRequestEnabled()) {
+            return RequestCompression.disabled();
+        }
+        return RequestCompression.of((int) compression.getRequestThreshold().toBytes(), compression.isZstdEnabled());
+    }
+
+    /**
+     * 根据配置创建容错策略表，endpoints中未设置的取值沿用默认策略
+     * @param resilience 容错配置
+     * @return ResiliencePolicies实例
+     */
+    public static ResiliencePolicies createResiliencePolicies(HttpClientProperties.Resilience resilience) {
+        ResiliencePolicy defaultPolicy = createResiliencePolicy(resilience, new HttpClientProperties.Endpoint());
+        Map<String, ResiliencePolicy> endpointPolicies = new LinkedHashMap<>();
+        resilience.getEndpoints().forEach((authority, endpoint) ->
+                endpointPolicies.put(authority, createResiliencePolicy(resilience, endpoint)));
+        return ResiliencePolicies.of(defaultPolicy, endpointPolicies);
+    }
+
+    private static ResiliencePolicy createResiliencePolicy(HttpClientProperties.Resilience defaults,
+                                                           HttpClientProperties.Endpoint endpoint) {
+        ResiliencePolicy policy = ResiliencePolicy.none()
+                .withTimeout(endpoint.getTimeout() != null ? endpoint.getTimeout() : defaults.getTimeout())
+                .withRetry(endpoint.getMaxRetries() != null ? endpoint.getMaxRetries() : defaults.getMaxRetries(),
+                        defaults.getInitialBackoff(), defaults.getMaxBackoff())
+                .withJitter(defaults.getJitter())
+                .idempotent(endpoint.getIdempotent() != null ? endpoint.getIdempotent() : defaults.isIdempotent());
+        boolean hedgeEnabled = endpoint.getHedgeEnabled() != null ? endpoint.getHedgeEnabled() : defaults.isHedgeEnabled();
+        return hedgeEnabled ? policy.withHedging(defaults.getHedgePercentile(), defaults.getHedgeInitialDelay()) : policy;
+    }
+
+    /**
+     * 根据配置创建下游过载保护
+     * @param circuitBreaker 熔断器配置
+     * @param concurrencyLimit 并发限制配置
+     * @return OverloadProtection实例
+     */
+    public static OverloadProtection createOverloadProtection(HttpClientProperties.CircuitBreaker circuitBreaker,
+                                                              HttpClientProperties.ConcurrencyLimit concurrencyLimit) {
+        OverloadProtection protection = OverloadProtection.disabled();
+        if (circuitBreaker.isEnabled()) {
+            protection = protection.withCircuitBreaker(circuitBreaker.getWindowSize(), circuitBreaker.getMinimumCalls(),
+                    circuitBreaker.getFailureRateThreshold(), circuitBreaker.getSlowCallDuration(),
+                    circuitBreaker.getSlowCallRateThreshold(), circuitBreaker.getOpenDuration(),
+                    circuitBreaker.getHalfOpenProbes());
+        }
+        if (concurrencyLimit.isEnabled()) {
+            protection = protection.withConcurrencyLimit(concurrencyLimit.getInitialLimit(),
+                    concurrencyLimit.getMinLimit(), concurrencyLimit.getMaxLimit(),
+                    concurrencyLimit.getOverflowStrategy(), concurrencyLimit.getMaxQueueSize(),
+                    concurrencyLimit.getQueueTimeout());
+        }
+        return protection;
+    }
+
+    /**
+     * 根据配置创建延迟直方图记录器
+     * @param latency 延迟直方图配置
+     * @return LatencyRecorder实例，未启用时不记录
+     */
+    public static LatencyRecorder createLatencyRecorder(HttpClientProperties.Latency latency) {
+        if (!latency.isEnabled()) {
+            return LatencyRecorder.disabled();
+        }
+        String exportPath = latency.getExportPath();
+        return LatencyRecorder.create(latency.getSignificantDigits(),
+                exportPath == null || exportPath.isBlank() ? null : Path.of(exportPath));
+    }
+
+    /**
+     * 根据配置创建连接池
+     * @param pool 连接池配置
+     * @return ConnectionProvider实例
+     */
+    public static ConnectionProvider createConnectionProvider(HttpClientProperties.Pool pool) {
+        return configurePool(pool).build();
+    }
+
+    private static ConnectionProvider.Builder configurePool(HttpClientProperties.Pool pool) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName())
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .metrics(pool.isMetricsEnabled());
+
+        if (pool.getEvictionInterval() != null && !pool.getEvictionInterval().isZero()) {
+            builder.evictInBackground(pool.getEvictionInterval());
+        }
+
+        if (pool.getLeasingStrategy() == HttpClientProperties.LeasingStrategy.LIFO) {
+            builder.lifo();
+        } else {
+            builder.fifo();
+        }
+
+        return builder;
+    }
+}
@@ -0,0 +1,732 @@
+package com.example.httpclientdemo.config;
+
+import com.example.httpclientdemo.service.OverflowStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 出站HTTP客户端配置
+ * 对应application.properties中的http-client.*配置项
+ */
+@ConfigurationProperties(prefix = "http-client")
+public class HttpClientProperties {
+
+    private final Pool pool = new Pool();
+
+    // 传输协议：HTTP1_1、H2C（明文HTTP/2，prior knowledge）或H2（TLS + ALPN协商，不支持时回退HTTP/1.1）
+    private Protocol protocol = Protocol.HTTP1_1;
+
+    private final Http2 http2 = new Http2();
+
+    private final Compression compression = new Compression();
+
+    private final Resilience resilience = new Resilience();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    private final Metrics metrics = new Metrics();
+
+    private final Logging logging = new Logging();
+
+    private final Latency latency = new Latency();
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(Protocol protocol) {
+        this.protocol = protocol;
+    }
+
+    public Http2 getHttp2() {
+        return http2;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
+    public Latency getLatency() {
+        return latency;
+    }
+
+    /**
+     * 连接池配置，映射到Reactor Netty的ConnectionProvider
+     */
+    public static class Pool {
+
+        // 连接池名称，同时作为指标的name标签
+        private String name = "http-service";
+
+        // 每个目标主机的最大连接数
+        private int maxConnections = 500;
+
+        // 等待获取连接的最大排队数，-1表示不限制
+        private int pendingAcquireMaxCount = 1000;
+
+        // 等待获取连接的超时时间
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        // 连接最大空闲时间，超过后关闭
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        // 连接最大存活时间，超过后关闭
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        // 后台清理过期连接的间隔，0表示不启用后台清理
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        // 连接租借策略：FIFO或LIFO
+        private LeasingStrategy leasingStrategy = LeasingStrategy.FIFO;
+
+        // 是否开启连接池指标（获取连接耗时、活跃/空闲/排队连接数）
+        private boolean metricsEnabled = true;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public LeasingStrategy getLeasingStrategy() {
+            return leasingStrategy;
+        }
+
+        public void setLeasingStrategy(LeasingStrategy leasingStrategy) {
+            this.leasingStrategy = leasingStrategy;
+        }
+
+        public boolean isMetricsEnabled() {
+            return metricsEnabled;
+        }
+
+        public void setMetricsEnabled(boolean metricsEnabled) {
+            this.metricsEnabled = metricsEnabled;
+        }
+    }
+
+    /**
+     * HTTP/2连接配置，仅在protocol为H2C或H2时生效，此时替代pool.max-connections
+     * 每个目标主机的并发流上限 = maxConnections * maxConcurrentStreams
+     */
+    public static class Http2 {
+
+        // 单个连接上的最大并发流数
+        private int maxConcurrentStreams = 100;
+
+        // 每个目标主机的最大连接数
+        private int maxConnections = 4;
+
+        // 每个目标主机保持的最小连接数
+        private int minConnections = 1;
+
+        public int getMaxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        public void setMaxConcurrentStreams(int maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMinConnections() {
+            return minConnections;
+        }
+
+        public void setMinConnections(int minConnections) {
+            this.minConnections = minConnections;
+        }
+    }
+
+    /**
+     * 报文压缩配置
+     */
+    public static class Compression {
+
+        // 发送Accept-Encoding并在Netty管道中流式解压gzip/deflate/zstd响应
+        private boolean responseEnabled = true;
+
+        // 是否压缩请求体，需下游支持Content-Encoding请求
+        private boolean requestEnabled = false;
+
+        // 请求体超过该大小才压缩，小报文压缩收益低于CPU开销
+        private DataSize requestThreshold = DataSize.ofKilobytes(4);
+
+        // 下游在响应Accept-Encoding中声明支持zstd后改用zstd压缩请求体
+        private boolean zstdEnabled = true;
+
+        public boolean isResponseEnabled() {
+            return responseEnabled;
+        }
+
+        public void setResponseEnabled(boolean responseEnabled) {
+            this.responseEnabled = responseEnabled;
+        }
+
+        public boolean isRequestEnabled() {
+            return requestEnabled;
+        }
+
+        public void setRequestEnabled(boolean requestEnabled) {
+            this.requestEnabled = requestEnabled;
+        }
+
+        public DataSize getRequestThreshold() {
+            return requestThreshold;
+        }
+
+        public void setRequestThreshold(DataSize requestThreshold) {
+            this.requestThreshold = requestThreshold;
+        }
+
+        public boolean isZstdEnabled() {
+            return zstdEnabled;
+        }
+
+        public void setZstdEnabled(boolean zstdEnabled) {
+            this.zstdEnabled = zstdEnabled;
+        }
+    }
+
+    /**
+     * 超时、重试与对冲配置
+     * 顶层取值为默认策略，endpoints按下游host:port覆盖部分取值
+     */
+    public static class Resilience {
+
+        // 建连超时，对所有下游生效
+        private Duration connectTimeout = Duration.ofSeconds(3);
+
+        // 发出请求后两次读取之间的最长间隔，对所有下游生效
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        // 单次尝试（含读取响应体）的超时时间
+        private Duration timeout = Duration.ofSeconds(15);
+
+        // 最大重试次数（不含首次尝试），非幂等下游只重试建连失败等确定未送达的请求
+        private int maxRetries = 2;
+
+        // 首次重试前的退避时间，之后逐次翻倍
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        // 退避时间上限
+        private Duration maxBackoff = Duration.ofSeconds(2);
+
+        // 退避时间的随机抖动比例（0~1）
+        private double jitter = 0.5;
+
+        // 下游是否按globalBusiTrackNo去重；为true时超时、5xx与429也会重试，并允许对冲
+        private boolean idempotent = false;
+
+        // 对冲请求：首次尝试超过近期延迟分位数未返回时再发起一次
+        private boolean hedgeEnabled = false;
+
+        private double hedgePercentile = 95;
+
+        // 延迟样本不足时使用的对冲延迟
+        private Duration hedgeInitialDelay = Duration.ofMillis(200);
+
+        // 按下游host:port覆盖的配置，键需用方括号包裹，如endpoints[core.internal\:8080].timeout=3s（properties中冒号需转义）
+        private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public boolean isIdempotent() {
+            return idempotent;
+        }
+
+        public void setIdempotent(boolean idempotent) {
+            this.idempotent = idempotent;
+        }
+
+        public boolean isHedgeEnabled() {
+            return hedgeEnabled;
+        }
+
+        public void setHedgeEnabled(boolean hedgeEnabled) {
+            this.hedgeEnabled = hedgeEnabled;
+        }
+
+        public double getHedgePercentile() {
+            return hedgePercentile;
+        }
+
+        public void setHedgePercentile(double hedgePercentile) {
+            this.hedgePercentile = hedgePercentile;
+        }
+
+        public Duration getHedgeInitialDelay() {
+            return hedgeInitialDelay;
+        }
+
+        public void setHedgeInitialDelay(Duration hedgeInitialDelay) {
+            this.hedgeInitialDelay = hedgeInitialDelay;
+        }
+
+        public Map<String, Endpoint> getEndpoints() {
+            return endpoints;
+        }
+    }
+
+    /**
+     * 单个下游的覆盖配置，未设置（null）的取值沿用默认策略
+     */
+    public static class Endpoint {
+
+        private Duration timeout;
+
+        private Integer maxRetries;
+
+        private Boolean idempotent;
+
+        private Boolean hedgeEnabled;
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Integer getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(Integer maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Boolean getIdempotent() {
+            return idempotent;
+        }
+
+        public void setIdempotent(Boolean idempotent) {
+            this.idempotent = idempotent;
+        }
+
+        public Boolean getHedgeEnabled() {
+            return hedgeEnabled;
+        }
+
+        public void setHedgeEnabled(Boolean hedgeEnabled) {
+            this.hedgeEnabled = hedgeEnabled;
+        }
+    }
+
+    /**
+     * 按下游（host:port）独立的熔断器配置
+     */
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        // 统计窗口（最近的调用次数）
+        private int windowSize = 100;
+
+        // 窗口内至少达到该调用次数才计算失败率
+        private int minimumCalls = 20;
+
+        // 失败率阈值（百分比），超时、连接失败、5xx与429计为失败
+        private double failureRateThreshold = 50;
+
+        // 超过该耗时视为慢调用
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+
+        // 慢调用率阈值（百分比）
+        private double slowCallRateThreshold = 80;
+
+        // 打开状态持续时间，之后进入半开状态
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        // 半开状态放行的探测请求数，全部正常则关闭
+        private int halfOpenProbes = 5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Duration getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public void setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public double getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenProbes() {
+            return halfOpenProbes;
+        }
+
+        public void setHalfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+        }
+    }
+
+    /**
+     * 按下游（host:port）独立的自适应并发限制配置（Vegas）
+     */
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = false;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 1;
+
+        // 上限不应超过pool.max-connections，否则多出的请求只会在连接池中等待
+        private int maxLimit = 200;
+
+        // 达到上限时：REJECT立即失败，QUEUE排队等待
+        private OverflowStrategy overflowStrategy = OverflowStrategy.QUEUE;
+
+        private int maxQueueSize = 1000;
+
+        private Duration queueTimeout = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public OverflowStrategy getOverflowStrategy() {
+            return overflowStrategy;
+        }
+
+        public void setOverflowStrategy(OverflowStrategy overflowStrategy) {
+            this.overflowStrategy = overflowStrategy;
+        }
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public void setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+
+        public Duration getQueueTimeout() {
+            return queueTimeout;
+        }
+
+        public void setQueueTimeout(Duration queueTimeout) {
+            this.queueTimeout = queueTimeout;
+        }
+    }
+
+    /**
+     * 出站请求指标配置
+     */
+    public static class Metrics {
+
+        // 记录往返耗时、序列化耗时、请求/响应大小与请求体解析耗时
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * 报文日志配置，日志经http.message日志器异步输出
+     */
+    public static class Logging {
+
+        private boolean enabled = true;
+
+        // 成功事件的采样率，失败事件总是输出
+        private double sampleRate = 0.01;
+
+        // 报文体最多输出的字符数，超出部分截断
+        private int maxBodyLength = 256;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public int getMaxBodyLength() {
+            return maxBodyLength;
+        }
+
+        public void setMaxBodyLength(int maxBodyLength) {
+            this.maxBodyLength = maxBodyLength;
+        }
+    }
+
+    /**
+     * 全量延迟直方图配置，以每线程HdrHistogram记录每个出站请求的延迟
+     */
+    public static class Latency {
+
+        private boolean enabled = false;
+
+        // 直方图有效数字位数，3位即0.1%的相对精度
+        private int significantDigits = 3;
+
+        // 应用关闭时写入直方图（.hgrm）的文件，为空时不导出
+        private String exportPath;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSignificantDigits() {
+            return significantDigits;
+        }
+
+        public void setSignificantDigits(int significantDigits) {
+            this.significantDigits = significantDigits;
+        }
+
+        public String getExportPath() {
+            return exportPath;
+        }
+
+        public void setExportPath(String exportPath) {
+            this.exportPath = exportPath;
+        }
+    }
+
+    public enum Protocol {
+        HTTP1_1,
+        H2C,
+        H2
+    }
+
+    public enum LeasingStrategy {
+        FIFO,
+        LIFO
+    }
+}
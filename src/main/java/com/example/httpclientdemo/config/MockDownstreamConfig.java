@@ -0,0 +1,37 @@
+package com.example.httpclientdemo.config;
+
+import com.example.httpclientdemo.mock.MockDownstreamServer;
+import com.example.httpclientdemo.mock.MockDownstreamSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * mock-downstream.enabled=true时随应用启动内嵌模拟下游服务，
+ * 将http-client.api.target-url指向该服务即可在不占用Tomcat线程的情况下压测/api/send
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(MockDownstreamProperties.class)
+@ConditionalOnProperty(prefix = "mock-downstream", name = "enabled", havingValue = "true")
+public class MockDownstreamConfig {
+
+    @Bean(destroyMethod = "stop")
+    public MockDownstreamServer mockDownstreamServer(MockDownstreamProperties properties) {
+        return MockDownstreamServer.start(createSettings(properties));
+    }
+
+    /**
+     * 根据配置创建模拟下游服务设置
+     * @param properties 模拟下游配置
+     * @return MockDownstreamSettings实例
+     */
+    public static MockDownstreamSettings createSettings(MockDownstreamProperties properties) {
+        return MockDownstreamSettings.defaults()
+                .withPort(properties.getPort())
+                .withLatency(MockDownstreamServer.latencyOf(properties.getLatencyMedian(), properties.getLatencyP99()))
+                .withErrors(properties.getErrorRate(), properties.getErrorStatus())
+                .withResponseSize(properties.getResponseSize())
+                .withWorkerThreads(properties.getWorkerThreads());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.httpclientdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 内嵌模拟下游服务配置，前缀mock-downstream
+ */
+@ConfigurationProperties("mock-downstream")
+public class MockDownstreamProperties {
+
+    // 随应用启动模拟下游服务
+    private boolean enabled = false;
+
+    // 监听端口，与应用端口分开，0表示随机端口
+    private int port = 9090;
+
+    // 延迟中位数，0表示立即响应
+    private Duration latencyMedian = Duration.ZERO;
+
+    // 延迟99分位数，不大于中位数时为固定延迟，否则按对数正态分布
+    private Duration latencyP99 = Duration.ZERO;
+
+    // 返回错误响应的比例，0~1
+    private double errorRate = 0.0;
+
+    // 错误响应的状态码
+    private int errorStatus = 503;
+
+    // 成功响应payload字段的字节数
+    private int responseSize = 64;
+
+    // 事件循环线程数，0表示与CPU核数相同
+    private int workerThreads = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public Duration getLatencyMedian() {
+        return latencyMedian;
+    }
+
+    public void setLatencyMedian(Duration latencyMedian) {
+        this.latencyMedian = latencyMedian;
+    }
+
+    public Duration getLatencyP99() {
+        return latencyP99;
+    }
+
+    public void setLatencyP99(Duration latencyP99) {
+        this.latencyP99 = latencyP99;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    public void setErrorStatus(int errorStatus) {
+        this.errorStatus = errorStatus;
+    }
+
+    public int getResponseSize() {
+        return responseSize;
+    }
+
+    public void setResponseSize(int responseSize) {
+        this.responseSize = responseSize;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+}
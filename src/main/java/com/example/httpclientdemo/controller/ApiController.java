@@ -2,10 +2,22 @@ package com.example.httpclientdemo.controller;
 
 import com.alibaba.fastjson2.JSONObject;
 import com.example.httpclientdemo.service.HttpService;
+import com.example.httpclientdemo.service.HttpServiceMetrics;
+import com.example.httpclientdemo.service.LatencyRecorder;
+import com.example.httpclientdemo.service.MessageLog;
+import com.example.httpclientdemo.service.MessageTracing;
+import io.micrometer.observation.Observation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 public class ApiController {
@@ -13,24 +25,90 @@ public class ApiController {
     @Autowired
     private HttpService httpService;
 
+    @Autowired
+    private HttpServiceMetrics metrics;
+
+    @Autowired
+    private MessageTracing tracing;
+
+    @Autowired
+    private MessageLog messageLog;
+
+    @Autowired
+    private LatencyRecorder latencyRecorder;
+
+    // 为true时/api/send返回未完成的Mono，Servlet线程在等待下游期间即被释放
+    @Value("${http-client.api.reactive:false}")
+    private boolean reactive;
+
+    // 转发目标，压测时可指向内嵌模拟下游服务（mock-downstream.*）
+    @Value("${http-client.api.target-url:http://localhost:8080/mock-service}")
+    private String targetUrl;
+
     @PostMapping("/api/send")
-    public String sendApiRequest(@RequestBody String requestBody) {
-        JSONObject requestJson = JSONObject.parseObject(requestBody);
+    public Mono<String> sendApiRequest(@RequestBody String requestBody) {
+        Observation api = tracing.start(MessageTracing.API, null);
+        Observation parse = tracing.start(MessageTracing.PARSE, api);
+        long parseStart = System.nanoTime();
+        JSONObject requestJson;
+        try {
+            requestJson = JSONObject.parseObject(requestBody);
+        } catch (RuntimeException e) {
+            parse.error(e);
+            parse.stop();
+            api.error(e);
+            api.stop();
+            throw e;
+        }
         JSONObject txHeader = requestJson.getJSONObject("txHeader");
         JSONObject txBody = requestJson.getJSONObject("txBody");
+        String txCode = txHeader != null ? txHeader.getString("txCode") : null;
+        metrics.recordApiParse(txCode, System.nanoTime() - parseStart);
+        parse.stop();
+        if (txHeader != null) {
+            MessageTracing.identify(api, txCode, txHeader.getString("globalBusiTrackNo"), txHeader.getString("subtxNo"));
+        }
 
-        // For this example, we'll call a mock endpoint on the same server.
-        String url = "http://localhost:8080/mock-service";
+        Observation build = tracing.start(MessageTracing.BUILD, api);
+        Mono<String> response = tracing.within(httpService.sendRequestAsync(targetUrl, txHeader, txBody), api);
+        build.stop();
+        if (messageLog.isEnabled()) {
+            String trackNo = txHeader != null ? txHeader.getString("globalBusiTrackNo") : null;
+            long startTime = System.nanoTime();
+            response = response
+                    .doOnSuccess(body -> messageLog.forwarded(trackNo, txCode, System.nanoTime() - startTime, null))
+                    .doOnError(error -> messageLog.forwarded(trackNo, txCode, System.nanoTime() - startTime, error));
+        }
+        if (!reactive) {
+            // 下游响应体为空时block()返回null，按空响应返回
+            return Mono.justOrEmpty(response.block());
+        }
+        return response;
+    }
 
-        return httpService.sendRequest(url, txHeader, txBody);
+    // 出站请求的延迟百分位分布（.hgrm，毫秒），需开启http-client.latency.enabled；reset=true时读取后清空
+    @GetMapping(value = "/api/latency", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String latency(@RequestParam(name = "reset", defaultValue = "false") boolean reset) {
+        String distribution = latencyRecorder.percentileDistribution();
+        if (reset) {
+            latencyRecorder.reset();
+        }
+        return distribution;
     }
 
     @PostMapping("/mock-service")
-    public String mockService(@RequestBody String requestBody) {
-        System.out.println("Mock service received request: " + requestBody);
+    public ResponseEntity<String> mockService(@RequestBody String requestBody,
+                                              @RequestHeader(name = MessageTracing.TRACK_NO_HEADER, required = false)
+                                              String trackNo) {
+        messageLog.received(trackNo, requestBody);
         JSONObject response = new JSONObject();
         response.put("status", "success");
         response.put("message", "Request received successfully by mock service");
-        return response.toJSONString();
+        // 回传跟踪号，便于调用方关联响应
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (trackNo != null) {
+            builder.header(MessageTracing.TRACK_NO_HEADER, trackNo);
+        }
+        return builder.body(response.toJSONString());
     }
 }
@@ -9,17 +9,24 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
-import java.util.UUID;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * 测试数据工厂类
  * 提供预定义测试数据模板，支持标准业务场景、边界值、异常情况的测试数据
  * 实现参数化测试数据生成方法
+ * 随机数取自ThreadLocalRandom，多线程生成时互不争用；setSeed()后改为各线程独立的SplittableRandom，
+ * 同一线程内生成的随机字段可复现（时间相关字段除外）
  */
 public class TestDataFactory {
     
-    private static final Random random = new Random();
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    // 当前种子，为null时使用ThreadLocalRandom
+    private static volatile SeedState seedState;
+    // 各线程从当前种子拆分出的随机数生成器
+    private static final ThreadLocal<SeededRandom> SEEDED_RANDOM = new ThreadLocal<>();
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
     
@@ -43,6 +50,27 @@ public class TestDataFactory {
         "1", "2", "3", "4", "5"
     };
     
+    // 预定义的渠道号池
+    private static final String[] CHANNEL_NOS = {
+        "WEB", "MOBILE", "API", "ATM", "COUNTER"
+    };
+    
+    /**
+     * 设置随机种子，之后各线程首次生成数据时从该种子拆分出独立的随机数生成器
+     * 多线程下各线程拿到的拆分序列取决于其首次生成的先后顺序，单线程生成时结果完全可复现
+     * @param seed 随机种子
+     */
+    public static void setSeed(long seed) {
+        seedState = new SeedState(seed);
+    }
+    
+    /**
+     * 清除随机种子，恢复使用ThreadLocalRandom
+     */
+    public static void clearSeed() {
+        seedState = null;
+    }
+    
     /**
      * 创建标准业务场景的测试数据
      * @return 标准业务场景的CompleteMessageModel
@@ -345,24 +373,24 @@ public class TestDataFactory {
                 .subtxNo(generateSubtxNo())
                 .txStartTime(getCurrentDateTime())
                 .txSendTime(getCurrentDateTime())
-                .txCode("RND" + String.format("%03d", random.nextInt(1000)))
+                .txCode("RND" + zeroPadded(random().nextInt(1000), 3))
                 .channelNo(getRandomChannelNo())
-                .orgNo(String.format("%03d", random.nextInt(1000)))
-                .tellerId("TELLER_" + random.nextInt(1000))
+                .orgNo(zeroPadded(random().nextInt(1000), 3))
+                .tellerId("TELLER_" + random().nextInt(1000))
             )
             .withTxEntity(entity -> entity
                 .custNo(getRandomCustomerNumber())
                 .qryVchrTpCd(getRandomQryVchrTpCode())
                 .txSceneCd(getRandomTxSceneCode())
-                .addField("randomField1", "randomValue" + random.nextInt(100))
-                .addField("randomField2", random.nextInt(1000))
+                .addField("randomField1", "randomValue" + random().nextInt(100))
+                .addField("randomField2", random().nextInt(1000))
             )
             .withTxComn(comn -> comn
                 .accountingDate(getCurrentDate())
-                .curQryReqNum(String.valueOf(random.nextInt(100)))
-                .bgnIndexNo(String.valueOf(random.nextInt(100)))
-                .addtData("randomKey", "randomValue" + random.nextInt(100))
-                .busiSendSysOrCmptNo("SYS" + String.format("%08d", random.nextInt(100000000)))
+                .curQryReqNum(String.valueOf(random().nextInt(100)))
+                .bgnIndexNo(String.valueOf(random().nextInt(100)))
+                .addtData("randomKey", "randomValue" + random().nextInt(100))
+                .busiSendSysOrCmptNo("SYS" + zeroPadded(random().nextInt(100000000), 8))
             )
             .build();
     }
@@ -405,24 +433,34 @@ public class TestDataFactory {
     // 工具方法
     
     /**
-     * 生成消息组MAC
+     * 生成消息组MAC，16位大写十六进制的非加密随机数，仅用于区分报文
      */
     private static String generateMsgGrptMac() {
-        return "MAC_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+        long value = random().nextLong();
+        char[] chars = new char[20];
+        chars[0] = 'M';
+        chars[1] = 'A';
+        chars[2] = 'C';
+        chars[3] = '_';
+        for (int i = chars.length - 1; i >= 4; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
     }
     
     /**
      * 生成全局业务跟踪号
      */
     private static String generateGlobalBusiTrackNo() {
-        return "TRACK_" + System.currentTimeMillis() + "_" + random.nextInt(10000);
+        return "TRACK_" + System.currentTimeMillis() + "_" + random().nextInt(10000);
     }
     
     /**
      * 生成子交易号
      */
     private static String generateSubtxNo() {
-        return "SUBTX_" + String.format("%06d", random.nextInt(1000000));
+        return "SUBTX_" + zeroPadded(random().nextInt(1000000), 6);
     }
     
     /**
@@ -443,29 +481,94 @@ public class TestDataFactory {
      * 获取随机客户号
      */
     private static String getRandomCustomerNumber() {
-        return CUSTOMER_NUMBERS[random.nextInt(CUSTOMER_NUMBERS.length)];
+        return CUSTOMER_NUMBERS[random().nextInt(CUSTOMER_NUMBERS.length)];
     }
     
     /**
      * 获取随机交易场景代码
      */
     private static String getRandomTxSceneCode() {
-        return TX_SCENE_CODES[random.nextInt(TX_SCENE_CODES.length)];
+        return TX_SCENE_CODES[random().nextInt(TX_SCENE_CODES.length)];
     }
     
     /**
      * 获取随机查询凭证类型代码
      */
     private static String getRandomQryVchrTpCode() {
-        return QRY_VCHR_TP_CODES[random.nextInt(QRY_VCHR_TP_CODES.length)];
+        return QRY_VCHR_TP_CODES[random().nextInt(QRY_VCHR_TP_CODES.length)];
     }
     
     /**
      * 获取随机渠道号
      */
     private static String getRandomChannelNo() {
-        String[] channels = {"WEB", "MOBILE", "API", "ATM", "COUNTER"};
-        return channels[random.nextInt(channels.length)];
+        return CHANNEL_NOS[random().nextInt(CHANNEL_NOS.length)];
+    }
+    
+    /**
+     * 左侧补零到指定位数，代替String.format("%0Nd")
+     * @param value 非负整数
+     * @param width 位数，value位数更多时原样输出
+     */
+    static String zeroPadded(int value, int width) {
+        String digits = Integer.toString(value);
+        int padding = width - digits.length();
+        if (padding <= 0) {
+            return digits;
+        }
+        char[] chars = new char[width];
+        for (int i = 0; i < padding; i++) {
+            chars[i] = '0';
+        }
+        digits.getChars(0, digits.length(), chars, padding);
+        return new String(chars);
+    }
+    
+    /**
+     * 获取当前线程的随机数生成器
+     */
+    private static RandomGenerator random() {
+        SeedState state = seedState;
+        if (state == null) {
+            return ThreadLocalRandom.current();
+        }
+        SeededRandom seeded = SEEDED_RANDOM.get();
+        if (seeded == null || seeded.state != state) {
+            // 种子变更后重新拆分
+            seeded = new SeededRandom(state, state.split());
+            SEEDED_RANDOM.set(seeded);
+        }
+        return seeded.random;
+    }
+    
+    /**
+     * 一次setSeed()对应的根生成器，各线程从中拆分
+     */
+    private static final class SeedState {
+        
+        private final SplittableRandom root;
+        
+        private SeedState(long seed) {
+            this.root = new SplittableRandom(seed);
+        }
+        
+        private synchronized SplittableRandom split() {
+            return root.split();
+        }
+    }
+    
+    /**
+     * 线程持有的拆分生成器及其来源
+     */
+    private static final class SeededRandom {
+        
+        private final SeedState state;
+        private final SplittableRandom random;
+        
+        private SeededRandom(SeedState state, SplittableRandom random) {
+            this.state = state;
+            this.random = random;
+        }
     }
     
     // 参数设置辅助方法
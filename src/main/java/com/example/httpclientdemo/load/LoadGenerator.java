@@ -0,0 +1,275 @@
+package com.example.httpclientdemo.load;
+
+import com.example.httpclientdemo.mock.MockDownstreamServer;
+import com.example.httpclientdemo.mock.MockDownstreamSettings;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.service.HttpService;
+import com.example.httpclientdemo.service.LatencyRecorder;
+import com.example.httpclientdemo.service.RequestOutcome;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于TestDataFactory场景配比驱动HttpService的负载生成器
+ * 开环模式由单个调度线程按计划时刻发送异步请求，每个请求的延迟从计划时刻起算：
+ * 下游变慢导致发送推迟或在途请求达到上限时，等待时间同样计入延迟，结果不受协调遗漏影响；
+ * 闭环模式由固定数量的线程阻塞发送，延迟即服务时间
+ * 预热期间计划（开环）或发出（闭环）的请求不计入结果
+ * 可在进程内使用，也可通过main方法作为命令行工具运行
+ */
+public final class LoadGenerator {
+
+    // 直方图有效数字位数，3位即0.1%的相对精度
+    private static final int SIGNIFICANT_DIGITS = 3;
+    // 压测结束后等待在途请求完成的最长时间
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpService httpService;
+
+    public LoadGenerator(HttpService httpService) {
+        if (httpService == null) {
+            throw new IllegalArgumentException("HttpService cannot be null");
+        }
+        this.httpService = httpService;
+    }
+
+    /**
+     * 按配置对url施加负载，阻塞直到压测结束且在途请求全部完成
+     * @param url 目标地址
+     * @param settings 负载配置
+     * @return 压测结果
+     * @throws InterruptedException 等待期间被中断时抛出异常
+     */
+    public LoadReport run(String url, LoadSettings settings) throws InterruptedException {
+        Run run = new Run(settings);
+        if (settings.getMode() == LoadSettings.Mode.OPEN_LOOP) {
+            runOpenLoop(url, settings, run);
+        } else {
+            runClosedLoop(url, settings, run);
+        }
+        return run.report();
+    }
+
+    private void runOpenLoop(String url, LoadSettings settings, Run run) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(settings.getMaxInFlight());
+        double intervalNanos = 1_000_000_000.0 / settings.getRatePerSecond();
+        for (long i = 0; ; i++) {
+            // 按序号计算计划时刻，累积误差不随请求数增长
+            long intended = run.startNanos + (long) (i * intervalNanos);
+            if (intended >= run.endNanos) {
+                break;
+            }
+            CompleteMessageModel message = settings.getScenarioMix().next();
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            // HttpService开启延迟直方图时同样以计划时刻为起点
+            LatencyRecorder.withIntendedStart(httpService.sendRequestAsync(url, message), intended).subscribe(
+                    response -> {
+                    },
+                    error -> {
+                        run.complete(intended, sent, error);
+                        inFlight.release();
+                    },
+                    () -> {
+                        run.complete(intended, sent, null);
+                        inFlight.release();
+                    });
+        }
+        if (!inFlight.tryAcquire(settings.getMaxInFlight(), DRAIN_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new IllegalStateException("In-flight requests did not complete within " + DRAIN_TIMEOUT);
+        }
+    }
+
+    private void runClosedLoop(String url, LoadSettings settings, Run run) throws InterruptedException {
+        List<Thread> users = new ArrayList<>(settings.getConcurrency());
+        for (int i = 0; i < settings.getConcurrency(); i++) {
+            Thread user = new Thread(() -> {
+                while (System.nanoTime() < run.endNanos) {
+                    CompleteMessageModel message = settings.getScenarioMix().next();
+                    long sent = System.nanoTime();
+                    Throwable error = null;
+                    try {
+                        httpService.sendRequest(url, message);
+                    } catch (RuntimeException e) {
+                        error = Exceptions.unwrap(e);
+                    }
+                    run.complete(sent, sent, error);
+                }
+            }, "load-user-" + i);
+            user.setDaemon(true);
+            users.add(user);
+            user.start();
+        }
+        long deadline = run.endNanos + DRAIN_TIMEOUT.toNanos();
+        for (Thread user : users) {
+            user.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            if (user.isAlive()) {
+                throw new IllegalStateException("Load user did not finish within " + DRAIN_TIMEOUT);
+            }
+        }
+    }
+
+    /**
+     * 一次压测的记录状态，Recorder支持多线程无锁写入
+     */
+    private static final class Run {
+
+        private final LoadSettings settings;
+        private final long startNanos;
+        private final long measureFromNanos;
+        private final long endNanos;
+        private final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+        private final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+        private final AtomicLongArray outcomes = new AtomicLongArray(RequestOutcome.values().length);
+        private final AtomicLong lastCompletionNanos = new AtomicLong();
+
+        private Run(LoadSettings settings) {
+            this.settings = settings;
+            this.startNanos = System.nanoTime();
+            this.measureFromNanos = startNanos + settings.getWarmup().toNanos();
+            this.endNanos = measureFromNanos + settings.getDuration().toNanos();
+            this.lastCompletionNanos.set(measureFromNanos);
+        }
+
+        private void complete(long intendedNanos, long sentNanos, Throwable error) {
+            if (intendedNanos < measureFromNanos) {
+                return;
+            }
+            long now = System.nanoTime();
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(now - intendedNanos));
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(now - sentNanos));
+            RequestOutcome outcome = error == null ? RequestOutcome.SUCCESS : RequestOutcome.of(error);
+            outcomes.incrementAndGet(outcome.ordinal());
+            lastCompletionNanos.accumulateAndGet(now, Math::max);
+        }
+
+        private LoadReport report() {
+            Map<RequestOutcome, Long> counts = new EnumMap<>(RequestOutcome.class);
+            for (RequestOutcome outcome : RequestOutcome.values()) {
+                long count = outcomes.get(outcome.ordinal());
+                if (count > 0) {
+                    counts.put(outcome, count);
+                }
+            }
+            Histogram latencyHistogram = latency.getIntervalHistogram();
+            Histogram serviceTimeHistogram = serviceTime.getIntervalHistogram();
+            return new LoadReport(settings, latencyHistogram, serviceTimeHistogram, counts,
+                    Duration.ofNanos(lastCompletionNanos.get() - measureFromNanos));
+        }
+    }
+
+    /**
+     * 命令行入口，参数形如：
+     * --mode=open --rate=2000 或 --mode=closed --concurrency=64
+     * --duration-s=30 --warmup-s=5 --mix=standard=60,query=30,transfer=10 --max-in-flight=1024
+     * --url=http://host:port/path --output-dir=target/load
+     * 未指定url时在进程内启动模拟下游，可用--mock-latency-median-ms、--mock-latency-p99-ms、--mock-error-rate设置其行为
+     */
+    public static void main(String[] args) throws Exception {
+        String mode = "open";
+        double rate = 1000;
+        int concurrency = 32;
+        long durationSeconds = 30;
+        long warmupSeconds = 5;
+        String mix = null;
+        int maxInFlight = 0;
+        String url = null;
+        Path outputDir = Path.of("target", "load");
+        long mockMedianMillis = 0;
+        long mockP99Millis = 0;
+        double mockErrorRate = 0.0;
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "mode": mode = value; break;
+                case "rate": rate = Double.parseDouble(value); break;
+                case "concurrency": concurrency = Integer.parseInt(value); break;
+                case "duration-s": durationSeconds = Long.parseLong(value); break;
+                case "warmup-s": warmupSeconds = Long.parseLong(value); break;
+                case "mix": mix = value; break;
+                case "max-in-flight": maxInFlight = Integer.parseInt(value); break;
+                case "url": url = value; break;
+                case "output-dir": outputDir = Path.of(value); break;
+                case "mock-latency-median-ms": mockMedianMillis = Long.parseLong(value); break;
+                case "mock-latency-p99-ms": mockP99Millis = Long.parseLong(value); break;
+                case "mock-error-rate": mockErrorRate = Double.parseDouble(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+
+        LoadSettings settings;
+        switch (mode) {
+            case "open":
+                settings = LoadSettings.openLoop(rate);
+                if (maxInFlight > 0) {
+                    settings = settings.withMaxInFlight(maxInFlight);
+                }
+                break;
+            case "closed":
+                settings = LoadSettings.closedLoop(concurrency);
+                break;
+            default:
+                throw new IllegalArgumentException("Mode must be open or closed: " + mode);
+        }
+        settings = settings.withDuration(Duration.ofSeconds(durationSeconds))
+                .withWarmup(Duration.ofSeconds(warmupSeconds));
+        if (mix != null) {
+            settings = settings.withScenarioMix(ScenarioMix.parse(mix));
+        }
+
+        MockDownstreamServer mock = null;
+        if (url == null) {
+            mock = MockDownstreamServer.start(MockDownstreamSettings.defaults()
+                    .withLatency(MockDownstreamServer.latencyOf(Duration.ofMillis(mockMedianMillis),
+                            Duration.ofMillis(mockP99Millis)))
+                    .withErrors(mockErrorRate, MockDownstreamSettings.defaults().getErrorStatus()));
+            url = mock.url("/mock-service");
+            System.out.println("Mock downstream listening on port " + mock.getPort());
+        }
+        // 等待连接的请求不设上限，避免连接池拒绝请求掩盖真实延迟
+        ConnectionProvider connections = ConnectionProvider.builder("load-generator")
+                .maxConnections(Math.max(settings.getMaxInFlight(), 1))
+                .pendingAcquireMaxCount(-1)
+                .build();
+        try {
+            HttpService httpService = new HttpService(WebClient.builder()
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections))));
+            System.out.println("Sending load to " + url + ": " + settings);
+            LoadReport report = new LoadGenerator(httpService).run(url, settings);
+            report.printSummary(System.out);
+            report.writeHistograms(outputDir);
+            System.out.println("Histograms written to " + outputDir.toAbsolutePath());
+        } finally {
+            connections.dispose();
+            if (mock != null) {
+                mock.stop();
+            }
+        }
+    }
+}
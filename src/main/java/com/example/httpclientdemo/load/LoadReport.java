@@ -0,0 +1,144 @@
+package com.example.httpclientdemo.load;
+
+import com.example.httpclientdemo.service.RequestOutcome;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 一次压测的结果
+ * 直方图以微秒记录；latency自计划发送时刻起算（开环已修正协调遗漏），serviceTime自实际发送时刻起算，
+ * 两者在闭环模式下相同，开环模式下差值即请求在客户端排队等待的时间
+ */
+public final class LoadReport {
+
+    /** 延迟直方图文件名 */
+    public static final String LATENCY_FILE = "latency.hgrm";
+    /** 服务时间直方图文件名 */
+    public static final String SERVICE_TIME_FILE = "service-time.hgrm";
+
+    // .hgrm以毫秒输出，便于HdrHistogram绘图工具直接读取
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double[] SUMMARY_PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+
+    private final LoadSettings settings;
+    private final Histogram latency;
+    private final Histogram serviceTime;
+    private final Map<RequestOutcome, Long> outcomes;
+    private final Duration elapsed;
+
+    LoadReport(LoadSettings settings, Histogram latency, Histogram serviceTime, Map<RequestOutcome, Long> outcomes,
+               Duration elapsed) {
+        this.settings = settings;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+        this.outcomes = outcomes;
+        this.elapsed = elapsed;
+    }
+
+    public LoadSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * @return 自计划发送时刻起算的延迟（微秒）
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return 自实际发送时刻起算的服务时间（微秒）
+     */
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    /**
+     * @return 各结果分类的请求数
+     */
+    public Map<RequestOutcome, Long> getOutcomes() {
+        return new EnumMap<>(outcomes);
+    }
+
+    public long getRequestCount() {
+        return latency.getTotalCount();
+    }
+
+    public long getErrorCount() {
+        return getRequestCount() - outcomes.getOrDefault(RequestOutcome.SUCCESS, 0L);
+    }
+
+    /**
+     * @return 计入结果的时段，从预热结束到最后一个请求完成
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return 实际完成的请求速率（每秒）
+     */
+    public double getThroughput() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0.0 : getRequestCount() * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * 输出摘要：请求数、结果分类、吞吐量与两类直方图的分位数（毫秒）
+     * @param out 输出流
+     */
+    public void printSummary(PrintStream out) {
+        out.println("=== Load Test Results ===");
+        out.println(settings);
+        out.printf(Locale.ROOT, "Requests: %d, errors: %d, elapsed: %.3f s, throughput: %.1f req/s%n",
+                getRequestCount(), getErrorCount(), elapsed.toNanos() / 1e9, getThroughput());
+        out.println("Outcomes: " + outcomes);
+        out.printf(Locale.ROOT, "%-14s", "Percentile");
+        for (double percentile : SUMMARY_PERCENTILES) {
+            out.printf(Locale.ROOT, "%12s", "p" + format(percentile));
+        }
+        out.printf(Locale.ROOT, "%12s%n", "max");
+        printRow(out, "latency", latency);
+        printRow(out, "service time", serviceTime);
+    }
+
+    /**
+     * 将两类直方图以HdrHistogram百分位分布格式（.hgrm，单位毫秒）写入目录
+     * @param directory 输出目录，不存在时创建
+     * @throws IOException 写入失败时抛出异常
+     */
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        write(latency, directory.resolve(LATENCY_FILE));
+        write(serviceTime, directory.resolve(SERVICE_TIME_FILE));
+    }
+
+    private static void write(Histogram histogram, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file);
+             PrintStream printer = new PrintStream(out, false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(printer, MICROS_PER_MILLI);
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram) {
+        out.printf(Locale.ROOT, "%-14s", name);
+        for (double percentile : SUMMARY_PERCENTILES) {
+            out.printf(Locale.ROOT, "%9.3f ms", histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+        }
+        out.printf(Locale.ROOT, "%9.3f ms%n", histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
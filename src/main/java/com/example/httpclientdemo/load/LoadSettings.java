@@ -0,0 +1,154 @@
+package com.example.httpclientdemo.load;
+
+import java.time.Duration;
+
+/**
+ * 负载生成配置
+ * 不可变对象，链式方法返回新实例
+ * 开环：按固定速率发送，延迟自计划发送时刻起算，不受下游变慢时发送推迟的影响（修正协调遗漏）；
+ * 闭环：固定数量的并发用户，每个用户收到响应后立即发送下一条，延迟即服务时间
+ */
+public final class LoadSettings {
+
+    /**
+     * 负载模式
+     */
+    public enum Mode {
+        OPEN_LOOP,
+        CLOSED_LOOP
+    }
+
+    private static final Duration DEFAULT_DURATION = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_WARMUP = Duration.ofSeconds(5);
+    private static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+
+    private final Mode mode;
+    private final double ratePerSecond;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+    private final ScenarioMix scenarioMix;
+    private final int maxInFlight;
+
+    private LoadSettings(Mode mode, double ratePerSecond, int concurrency, Duration duration, Duration warmup,
+                         ScenarioMix scenarioMix, int maxInFlight) {
+        this.mode = mode;
+        this.ratePerSecond = ratePerSecond;
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.scenarioMix = scenarioMix;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * @param ratePerSecond 每秒发送的请求数
+     * @return 开环配置，持续30秒、预热5秒、最多1024个在途请求
+     * @throws IllegalArgumentException 当速率不是正数时抛出异常
+     */
+    public static LoadSettings openLoop(double ratePerSecond) {
+        if (!(ratePerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        return new LoadSettings(Mode.OPEN_LOOP, ratePerSecond, 0, DEFAULT_DURATION, DEFAULT_WARMUP,
+                ScenarioMix.defaults(), DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * @param concurrency 并发用户数
+     * @return 闭环配置，持续30秒、预热5秒
+     * @throws IllegalArgumentException 当并发数不是正数时抛出异常
+     */
+    public static LoadSettings closedLoop(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        return new LoadSettings(Mode.CLOSED_LOOP, 0, concurrency, DEFAULT_DURATION, DEFAULT_WARMUP,
+                ScenarioMix.defaults(), concurrency);
+    }
+
+    /**
+     * @param duration 计入结果的压测时长
+     * @throws IllegalArgumentException 当时长不是正数时抛出异常
+     */
+    public LoadSettings withDuration(Duration duration) {
+        if (duration == null || duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+        return new LoadSettings(mode, ratePerSecond, concurrency, duration, warmup, scenarioMix, maxInFlight);
+    }
+
+    /**
+     * @param warmup 预热时长，期间发送的请求不计入结果
+     * @throws IllegalArgumentException 当时长为负时抛出异常
+     */
+    public LoadSettings withWarmup(Duration warmup) {
+        if (warmup == null || warmup.isNegative()) {
+            throw new IllegalArgumentException("Warmup cannot be negative: " + warmup);
+        }
+        return new LoadSettings(mode, ratePerSecond, concurrency, duration, warmup, scenarioMix, maxInFlight);
+    }
+
+    /**
+     * @param scenarioMix 报文场景配比
+     * @throws IllegalArgumentException 当scenarioMix为null时抛出异常
+     */
+    public LoadSettings withScenarioMix(ScenarioMix scenarioMix) {
+        if (scenarioMix == null) {
+            throw new IllegalArgumentException("Scenario mix cannot be null");
+        }
+        return new LoadSettings(mode, ratePerSecond, concurrency, duration, warmup, scenarioMix, maxInFlight);
+    }
+
+    /**
+     * 开环模式下在途请求的上限；达到上限时发送线程等待，等待时间仍计入延迟
+     * @param maxInFlight 在途请求上限
+     * @throws IllegalArgumentException 当不是开环模式或上限不是正数时抛出异常
+     */
+    public LoadSettings withMaxInFlight(int maxInFlight) {
+        if (mode != Mode.OPEN_LOOP) {
+            throw new IllegalArgumentException("Max in-flight applies to open loop only, use concurrency instead");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight must be positive: " + maxInFlight);
+        }
+        return new LoadSettings(mode, ratePerSecond, concurrency, duration, warmup, scenarioMix, maxInFlight);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public ScenarioMix getScenarioMix() {
+        return scenarioMix;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    @Override
+    public String toString() {
+        String load = mode == Mode.OPEN_LOOP
+                ? "rate=" + ratePerSecond + "/s, maxInFlight=" + maxInFlight
+                : "concurrency=" + concurrency;
+        return "LoadSettings{mode=" + mode + ", " + load + ", duration=" + duration + ", warmup=" + warmup
+                + ", scenarioMix=" + scenarioMix + "}";
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.httpclientdemo.load;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 压测报文的场景配比
+ * 按权重从TestDataFactory的业务场景中抽取报文，不可变对象，可被多个发送线程共享
+ */
+public final class ScenarioMix {
+
+    /**
+     * TestDataFactory提供的业务场景
+     */
+    public enum Scenario {
+        STANDARD("standard", TestDataFactory::createStandardBusinessScenario),
+        QUERY("query", TestDataFactory::createQueryBusinessScenario),
+        TRANSFER("transfer", TestDataFactory::createTransferBusinessScenario),
+        MIN_BOUNDARY("min-boundary", TestDataFactory::createMinBoundaryScenario),
+        MAX_BOUNDARY("max-boundary", TestDataFactory::createMaxBoundaryScenario),
+        RANDOM("random", TestDataFactory::createRandomScenario);
+
+        private final String key;
+        private final Supplier<CompleteMessageModel> factory;
+
+        Scenario(String key, Supplier<CompleteMessageModel> factory) {
+            this.key = key;
+            this.factory = factory;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @param key 场景名，如transfer、max-boundary
+         * @return 对应的场景
+         * @throws IllegalArgumentException 当场景名未知时抛出异常
+         */
+        public static Scenario of(String key) {
+            String normalized = key.trim().toLowerCase(Locale.ROOT);
+            for (Scenario scenario : values()) {
+                if (scenario.key.equals(normalized)) {
+                    return scenario;
+                }
+            }
+            throw new IllegalArgumentException("Unknown scenario: " + key);
+        }
+    }
+
+    private static final ScenarioMix DEFAULTS = new ScenarioMix(new EnumMap<>(Map.of(Scenario.STANDARD, 1)));
+
+    private final Map<Scenario, Integer> weights;
+    private final Scenario[] scenarios;
+    // 累积权重，与scenarios一一对应
+    private final int[] cumulative;
+
+    private ScenarioMix(EnumMap<Scenario, Integer> weights) {
+        this.weights = weights;
+        this.scenarios = weights.keySet().toArray(new Scenario[0]);
+        this.cumulative = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += weights.get(scenarios[i]);
+            cumulative[i] = total;
+        }
+    }
+
+    /**
+     * @return 只包含标准业务场景
+     */
+    public static ScenarioMix defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @param scenario 唯一的场景
+     * @return 只包含该场景的配比
+     */
+    public static ScenarioMix of(Scenario scenario) {
+        return new ScenarioMix(new EnumMap<>(Map.of(scenario, 1)));
+    }
+
+    /**
+     * @param spec 形如standard=60,query=30,transfer=10，权重为正整数
+     * @return 配比
+     * @throws IllegalArgumentException 当格式错误、场景未知或重复、权重不是正整数时抛出异常
+     */
+    public static ScenarioMix parse(String spec) {
+        EnumMap<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            int separator = part.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected scenario=weight: " + part);
+            }
+            int weight;
+            try {
+                weight = Integer.parseInt(part.substring(separator + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight: " + part, e);
+            }
+            Scenario scenario = Scenario.of(part.substring(0, separator));
+            if (weights.put(scenario, weight) != null) {
+                throw new IllegalArgumentException("Duplicate scenario: " + scenario.key);
+            }
+        }
+        return checked(weights);
+    }
+
+    /**
+     * @param scenario 场景
+     * @param weight 权重，正整数；场景已存在时替换其权重
+     * @return 新的配比
+     * @throws IllegalArgumentException 当权重不是正整数时抛出异常
+     */
+    public ScenarioMix with(Scenario scenario, int weight) {
+        EnumMap<Scenario, Integer> copy = new EnumMap<>(weights);
+        copy.put(scenario, weight);
+        return checked(copy);
+    }
+
+    /**
+     * 按权重随机抽取一个场景并生成报文
+     * @return 新生成的报文
+     */
+    public CompleteMessageModel next() {
+        return nextScenario().factory.get();
+    }
+
+    Scenario nextScenario() {
+        if (scenarios.length == 1) {
+            return scenarios[0];
+        }
+        int pick = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+        int i = Arrays.binarySearch(cumulative, pick + 1);
+        return scenarios[i >= 0 ? i : -i - 1];
+    }
+
+    public Map<Scenario, Integer> getWeights() {
+        return new EnumMap<>(weights);
+    }
+
+    private static ScenarioMix checked(EnumMap<Scenario, Integer> weights) {
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix cannot be empty");
+        }
+        long total = 0;
+        for (Map.Entry<Scenario, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() <= 0) {
+                throw new IllegalArgumentException("Weight must be positive for " + entry.getKey().key
+                        + ": " + entry.getValue());
+            }
+            total += entry.getValue();
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total weight is too large: " + total);
+        }
+        return new ScenarioMix(weights);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        weights.forEach((scenario, weight) -> {
+            if (text.length() > 0) {
+                text.append(',');
+            }
+            text.append(scenario.key).append('=').append(weight);
+        });
+        return text.toString();
+    }
+}
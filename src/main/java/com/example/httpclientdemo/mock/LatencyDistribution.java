@@ -0,0 +1,123 @@
+package com.example.httpclientdemo.mock;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 模拟下游的响应延迟分布
+ * 不可变对象，sampleNanos可在多个事件循环线程上并发调用
+ */
+public final class LatencyDistribution {
+
+    // 标准正态分布的99分位数
+    private static final double Z_99 = 2.3263478740;
+
+    private static final LatencyDistribution NONE = new LatencyDistribution(Kind.NONE, 0L, 0L, 0.0, 0.0);
+
+    private enum Kind {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    private final Kind kind;
+    private final long minNanos;
+    private final long maxNanos;
+    private final double mu;
+    private final double sigma;
+
+    private LatencyDistribution(Kind kind, long minNanos, long maxNanos, double mu, double sigma) {
+        this.kind = kind;
+        this.minNanos = minNanos;
+        this.maxNanos = maxNanos;
+        this.mu = mu;
+        this.sigma = sigma;
+    }
+
+    /**
+     * @return 立即响应
+     */
+    public static LatencyDistribution none() {
+        return NONE;
+    }
+
+    /**
+     * @param latency 固定延迟
+     * @return 每次响应都延迟latency
+     * @throws IllegalArgumentException 当latency为负时抛出异常
+     */
+    public static LatencyDistribution fixed(Duration latency) {
+        long nanos = requireNonNegative(latency);
+        return nanos == 0 ? NONE : new LatencyDistribution(Kind.FIXED, nanos, nanos, 0.0, 0.0);
+    }
+
+    /**
+     * @param min 最小延迟
+     * @param max 最大延迟
+     * @return [min, max]内均匀分布的延迟
+     * @throws IllegalArgumentException 当min为负或大于max时抛出异常
+     */
+    public static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = requireNonNegative(min);
+        long maxNanos = requireNonNegative(max);
+        if (minNanos > maxNanos) {
+            throw new IllegalArgumentException("Min latency exceeds max: " + min + " > " + max);
+        }
+        return new LatencyDistribution(Kind.UNIFORM, minNanos, maxNanos, 0.0, 0.0);
+    }
+
+    /**
+     * 对数正态分布，贴近真实服务的长尾延迟
+     * @param median 中位数
+     * @param p99 99分位数
+     * @return 由中位数与99分位数确定的对数正态分布
+     * @throws IllegalArgumentException 当median不为正或p99小于median时抛出异常
+     */
+    public static LatencyDistribution logNormal(Duration median, Duration p99) {
+        long medianNanos = requireNonNegative(median);
+        long p99Nanos = requireNonNegative(p99);
+        if (medianNanos == 0 || p99Nanos < medianNanos) {
+            throw new IllegalArgumentException("Invalid log-normal latency: median=" + median + ", p99=" + p99);
+        }
+        double sigma = Math.log((double) p99Nanos / medianNanos) / Z_99;
+        return new LatencyDistribution(Kind.LOG_NORMAL, 0L, 0L, Math.log(medianNanos), sigma);
+    }
+
+    /**
+     * @return 本次响应的延迟（纳秒），0表示立即响应
+     */
+    public long sampleNanos() {
+        switch (kind) {
+            case FIXED:
+                return minNanos;
+            case UNIFORM:
+                return minNanos == maxNanos ? minNanos : ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+            case LOG_NORMAL:
+                return (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+            default:
+                return 0L;
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case FIXED:
+                return "fixed(" + Duration.ofNanos(minNanos) + ")";
+            case UNIFORM:
+                return "uniform(" + Duration.ofNanos(minNanos) + ", " + Duration.ofNanos(maxNanos) + ")";
+            case LOG_NORMAL:
+                return "logNormal(median=" + Duration.ofNanos((long) Math.exp(mu)) + ", sigma=" + sigma + ")";
+            default:
+                return "none";
+        }
+    }
+
+    private static long requireNonNegative(Duration latency) {
+        if (latency == null || latency.isNegative()) {
+            throw new IllegalArgumentException("Latency must be non-negative: " + latency);
+        }
+        return latency.toNanos();
+    }
+}
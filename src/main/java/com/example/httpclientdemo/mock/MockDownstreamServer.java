@@ -0,0 +1,254 @@
+package com.example.httpclientdemo.mock;
+
+import com.alibaba.fastjson2.JSON;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于Reactor Netty的内嵌模拟下游服务，用于压测HttpService
+ * 运行在独立的事件循环上，与被测应用的Tomcat线程池及客户端事件循环隔离；
+ * 响应体由预先生成的字节拼接，延迟由连接所在事件循环的定时器实现，不占用线程
+ * 任意路径的请求都按配置的延迟分布、错误率与负载大小响应，并回传globalBusiTrackNo：
+ * 优先取X-Global-Busi-Track-No请求头，没有时在未压缩的请求体中按字节查找该字段
+ * 支持HTTP/1.1与h2c；可在进程内启动，也可通过main方法在独立进程中运行
+ */
+public final class MockDownstreamServer {
+
+    public static final String TRACK_NO_HEADER = "X-Global-Busi-Track-No";
+
+    private static final byte[] TRACK_NO_FIELD = "\"globalBusiTrackNo\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL_VALUE = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OBJECT_END = "}".getBytes(StandardCharsets.US_ASCII);
+    // 请求中没有跟踪号，按引用比较
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static final String ABSENT = new String("");
+
+    private final MockDownstreamSettings settings;
+    private final LoopResources loops;
+    private final DisposableServer server;
+    // 成功与错误响应中跟踪号之前的部分，所有请求共享
+    private final byte[] successPrefix;
+    private final byte[] errorPrefix;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+
+    private MockDownstreamServer(MockDownstreamSettings settings) {
+        this.settings = settings;
+        this.successPrefix = successPrefix(settings.getResponseSize());
+        this.errorPrefix = ("{\"status\":\"error\",\"code\":" + settings.getErrorStatus() + ",\"globalBusiTrackNo\":")
+                .getBytes(StandardCharsets.US_ASCII);
+        int workers = settings.getWorkerThreads() > 0
+                ? settings.getWorkerThreads() : Runtime.getRuntime().availableProcessors();
+        this.loops = LoopResources.create("mock-downstream", 1, workers, true);
+        try {
+            this.server = HttpServer.create()
+                    .port(settings.getPort())
+                    .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                    .runOn(loops)
+                    .handle(this::handle)
+                    .bindNow();
+        } catch (RuntimeException e) {
+            loops.dispose();
+            throw e;
+        }
+    }
+
+    /**
+     * 启动模拟下游服务
+     * @param settings 服务配置
+     * @return 已开始监听的服务
+     * @throws IllegalArgumentException 当settings为null时抛出异常
+     */
+    public static MockDownstreamServer start(MockDownstreamSettings settings) {
+        if (settings == null) {
+            throw new IllegalArgumentException("Settings cannot be null");
+        }
+        return new MockDownstreamServer(settings);
+    }
+
+    /**
+     * 停止监听并释放事件循环
+     */
+    public void stop() {
+        server.disposeNow(Duration.ofSeconds(5));
+        loops.disposeLater(Duration.ZERO, Duration.ofSeconds(5)).block();
+    }
+
+    public int getPort() {
+        return server.port();
+    }
+
+    /**
+     * @param path 请求路径，以/开头
+     * @return 本服务上该路径的URL
+     */
+    public String url(String path) {
+        return "http://localhost:" + getPort() + path;
+    }
+
+    public MockDownstreamSettings getSettings() {
+        return settings;
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        requestCount.increment();
+        String headerTrackNo = request.requestHeaders().get(TRACK_NO_HEADER);
+        Mono<String> trackNo;
+        if (headerTrackNo != null || request.requestHeaders().contains(HttpHeaderNames.CONTENT_ENCODING)) {
+            // 不需要读取请求体时直接丢弃，避免聚合
+            trackNo = request.receive().then(Mono.justOrEmpty(headerTrackNo));
+        } else {
+            trackNo = request.receive().aggregate().mapNotNull(MockDownstreamServer::findTrackNo);
+        }
+        long delayNanos = settings.getLatency().sampleNanos();
+        boolean error = settings.getErrorRate() > 0.0 && ThreadLocalRandom.current().nextDouble() < settings.getErrorRate();
+        return trackNo.defaultIfEmpty(ABSENT)
+                .flatMap(value -> {
+                    Mono<Void> reply = Mono.defer(() -> respond(response, value, error));
+                    if (delayNanos <= 0) {
+                        return reply;
+                    }
+                    return delay(response, delayNanos).then(reply);
+                });
+    }
+
+    private Mono<Void> respond(HttpServerResponse response, String trackNo, boolean error) {
+        if (error) {
+            errorCount.increment();
+        }
+        byte[] trackNoValue = trackNo == ABSENT ? NULL_VALUE : JSON.toJSONBytes(trackNo);
+        ByteBuf body = Unpooled.wrappedBuffer(error ? errorPrefix : successPrefix, trackNoValue, OBJECT_END);
+        response.status(error ? HttpResponseStatus.valueOf(settings.getErrorStatus()) : HttpResponseStatus.OK)
+                .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                .header(HttpHeaderNames.CONTENT_LENGTH, Integer.toString(body.readableBytes()));
+        if (trackNo != ABSENT) {
+            response.header(TRACK_NO_HEADER, trackNo);
+        }
+        return response.send(Mono.just(body)).then();
+    }
+
+    // 在连接所在的事件循环上定时，到期后在同一线程上写响应
+    private static Mono<Void> delay(HttpServerResponse response, long nanos) {
+        return Mono.create(sink -> response.withConnection(connection -> {
+            ScheduledFuture<?> timer = connection.channel().eventLoop()
+                    .schedule(() -> sink.success(), nanos, TimeUnit.NANOSECONDS);
+            sink.onCancel(() -> timer.cancel(false));
+        }));
+    }
+
+    /**
+     * 在请求体字节中查找"globalBusiTrackNo":"..."的值，不解析JSON
+     * @return 跟踪号；未找到时返回null
+     */
+    static String findTrackNo(ByteBuf body) {
+        int start = body.readerIndex();
+        int end = body.writerIndex() - TRACK_NO_FIELD.length;
+        for (int i = start; i <= end; i++) {
+            if (matchesField(body, i)) {
+                int valueStart = i + TRACK_NO_FIELD.length;
+                int valueEnd = body.indexOf(valueStart, body.writerIndex(), (byte) '"');
+                return valueEnd < 0 ? null : body.toString(valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static boolean matchesField(ByteBuf body, int index) {
+        for (int j = 0; j < TRACK_NO_FIELD.length; j++) {
+            if (body.getByte(index + j) != TRACK_NO_FIELD[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] successPrefix(int responseSize) {
+        byte[] head = "{\"status\":\"success\",\"payload\":\"".getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = "\",\"globalBusiTrackNo\":".getBytes(StandardCharsets.US_ASCII);
+        byte[] prefix = new byte[head.length + responseSize + tail.length];
+        System.arraycopy(head, 0, prefix, 0, head.length);
+        Arrays.fill(prefix, head.length, head.length + responseSize, (byte) 'x');
+        System.arraycopy(tail, 0, prefix, head.length + responseSize, tail.length);
+        return prefix;
+    }
+
+    /**
+     * 在独立进程中运行，参数形如--port=9090 --latency-median-ms=5 --latency-p99-ms=50
+     * --error-rate=0.01 --error-status=503 --response-size=512 --worker-threads=4
+     */
+    public static void main(String[] args) {
+        MockDownstreamSettings settings = MockDownstreamSettings.defaults().withPort(9090);
+        long medianMillis = 0;
+        long p99Millis = 0;
+        double errorRate = 0.0;
+        int errorStatus = settings.getErrorStatus();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "port": settings = settings.withPort(Integer.parseInt(value)); break;
+                case "latency-median-ms": medianMillis = Long.parseLong(value); break;
+                case "latency-p99-ms": p99Millis = Long.parseLong(value); break;
+                case "error-rate": errorRate = Double.parseDouble(value); break;
+                case "error-status": errorStatus = Integer.parseInt(value); break;
+                case "response-size": settings = settings.withResponseSize(Integer.parseInt(value)); break;
+                case "worker-threads": settings = settings.withWorkerThreads(Integer.parseInt(value)); break;
+                default: throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        settings = settings.withLatency(latencyOf(Duration.ofMillis(medianMillis), Duration.ofMillis(p99Millis)))
+                .withErrors(errorRate, errorStatus);
+
+        MockDownstreamServer server = start(settings);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "mock-downstream-shutdown"));
+        System.out.println("Mock downstream listening on port " + server.getPort() + ": " + settings);
+        server.server.onDispose().block();
+    }
+
+    /**
+     * 由中位数与99分位数选择延迟分布：中位数为0时不延迟，99分位数不大于中位数时为固定延迟，否则为对数正态分布
+     * @param median 延迟中位数
+     * @param p99 延迟99分位数
+     * @return 延迟分布
+     */
+    public static LatencyDistribution latencyOf(Duration median, Duration p99) {
+        if (median.isZero()) {
+            return LatencyDistribution.none();
+        }
+        if (p99.compareTo(median) <= 0) {
+            return LatencyDistribution.fixed(median);
+        }
+        return LatencyDistribution.logNormal(median, p99);
+    }
+}
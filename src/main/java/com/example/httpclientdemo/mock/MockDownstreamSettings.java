@@ -0,0 +1,125 @@
+package com.example.httpclientdemo.mock;
+
+/**
+ * 模拟下游服务配置
+ * 不可变对象，链式方法返回新实例
+ */
+public final class MockDownstreamSettings {
+
+    private static final MockDownstreamSettings DEFAULTS =
+            new MockDownstreamSettings(0, LatencyDistribution.none(), 0.0, 503, 64, 0);
+
+    private final int port;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final int errorStatus;
+    private final int responseSize;
+    private final int workerThreads;
+
+    private MockDownstreamSettings(int port, LatencyDistribution latency, double errorRate, int errorStatus,
+                                   int responseSize, int workerThreads) {
+        this.port = port;
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.responseSize = responseSize;
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * @return 随机端口、无延迟、无错误、64字节负载、工作线程数与CPU核数相同
+     */
+    public static MockDownstreamSettings defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @param port 监听端口，0表示随机端口
+     * @throws IllegalArgumentException 当端口超出范围时抛出异常
+     */
+    public MockDownstreamSettings withPort(int port) {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Invalid port: " + port);
+        }
+        return new MockDownstreamSettings(port, latency, errorRate, errorStatus, responseSize, workerThreads);
+    }
+
+    /**
+     * @param latency 响应延迟分布
+     * @throws IllegalArgumentException 当latency为null时抛出异常
+     */
+    public MockDownstreamSettings withLatency(LatencyDistribution latency) {
+        if (latency == null) {
+            throw new IllegalArgumentException("Latency cannot be null");
+        }
+        return new MockDownstreamSettings(port, latency, errorRate, errorStatus, responseSize, workerThreads);
+    }
+
+    /**
+     * @param errorRate 返回错误响应的比例，0~1
+     * @param errorStatus 错误响应的状态码
+     * @throws IllegalArgumentException 当比例超出范围或状态码不是4xx/5xx时抛出异常
+     */
+    public MockDownstreamSettings withErrors(double errorRate, int errorStatus) {
+        if (errorRate < 0.0 || errorRate > 1.0) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1: " + errorRate);
+        }
+        if (errorStatus < 400 || errorStatus > 599) {
+            throw new IllegalArgumentException("Error status must be 4xx or 5xx: " + errorStatus);
+        }
+        return new MockDownstreamSettings(port, latency, errorRate, errorStatus, responseSize, workerThreads);
+    }
+
+    /**
+     * @param responseSize 成功响应中payload字段的字节数
+     * @throws IllegalArgumentException 当大小为负时抛出异常
+     */
+    public MockDownstreamSettings withResponseSize(int responseSize) {
+        if (responseSize < 0) {
+            throw new IllegalArgumentException("Response size cannot be negative: " + responseSize);
+        }
+        return new MockDownstreamSettings(port, latency, errorRate, errorStatus, responseSize, workerThreads);
+    }
+
+    /**
+     * @param workerThreads 事件循环线程数，0表示与CPU核数相同
+     * @throws IllegalArgumentException 当线程数为负时抛出异常
+     */
+    public MockDownstreamSettings withWorkerThreads(int workerThreads) {
+        if (workerThreads < 0) {
+            throw new IllegalArgumentException("Worker threads cannot be negative: " + workerThreads);
+        }
+        return new MockDownstreamSettings(port, latency, errorRate, errorStatus, responseSize, workerThreads);
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    public int getResponseSize() {
+        return responseSize;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    @Override
+    public String toString() {
+        return "MockDownstreamSettings{port=" + port + ", latency=" + latency + ", errorRate=" + errorRate
+                + ", errorStatus=" + errorStatus + ", responseSize=" + responseSize
+                + ", workerThreads=" + workerThreads + "}";
+    }
+}
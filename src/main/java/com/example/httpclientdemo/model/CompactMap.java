@@ -0,0 +1,304 @@
+package com.example.httpclientdemo.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 面向少量字段的紧凑Map实现
+ * 键值按插入顺序交替存放在同一个数组中，不为每个条目分配节点对象；
+ * 条目数不超过INDEX_THRESHOLD时线性查找，超过后建立开放寻址（线性探测）索引
+ * 非线程安全，迭代顺序为插入顺序
+ */
+public final class CompactMap extends AbstractMap<String, Object> {
+
+    // 超过该条目数时建立哈希索引
+    private static final int INDEX_THRESHOLD = 8;
+    private static final int INITIAL_CAPACITY = 4;
+    private static final Object[] EMPTY_TABLE = {};
+
+    // [key0, value0, key1, value1, ...]
+    private Object[] table = EMPTY_TABLE;
+    private int size;
+    // 开放寻址索引，槽位存放条目下标+1，0表示空槽
+    private int[] index;
+    private int modCount;
+    private Set<Map.Entry<String, Object>> entrySet;
+
+    public CompactMap() {
+    }
+
+    public CompactMap(Map<String, Object> source) {
+        if (!source.isEmpty()) {
+            table = new Object[source.size() * 2];
+        }
+        putAll(source);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int i = indexOf(key);
+        return i >= 0 ? table[(i << 1) + 1] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int i = indexOf(key);
+        if (i >= 0) {
+            int valueSlot = (i << 1) + 1;
+            Object old = table[valueSlot];
+            table[valueSlot] = value;
+            return old;
+        }
+        if (size << 1 == table.length) {
+            table = Arrays.copyOf(table, (size == 0 ? INITIAL_CAPACITY : size << 1) << 1);
+        }
+        table[size << 1] = key;
+        table[(size << 1) + 1] = value;
+        size++;
+        modCount++;
+        if (index != null) {
+            if (size << 1 > index.length) {
+                rebuildIndex();
+            } else {
+                insertIntoIndex(size - 1);
+            }
+        } else if (size > INDEX_THRESHOLD) {
+            rebuildIndex();
+        }
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        Object old = table[(i << 1) + 1];
+        removeAt(i);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(table, 0, size << 1, null);
+            size = 0;
+            index = null;
+            modCount++;
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < size; i++) {
+            action.accept(keyAt(i), table[(i << 1) + 1]);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        Set<Map.Entry<String, Object>> es = entrySet;
+        if (es == null) {
+            es = new EntrySet();
+            entrySet = es;
+        }
+        return es;
+    }
+
+    private int indexOf(Object key) {
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(table[i << 1], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            if (Objects.equals(table[(entry - 1) << 1], key)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void removeAt(int i) {
+        int tail = (size - i - 1) << 1;
+        if (tail > 0) {
+            System.arraycopy(table, (i + 1) << 1, table, i << 1, tail);
+        }
+        size--;
+        table[size << 1] = null;
+        table[(size << 1) + 1] = null;
+        modCount++;
+        // 删除会移动后续条目下标，直接重建索引；条目数回落后退化为线性查找
+        if (index != null) {
+            if (size > INDEX_THRESHOLD) {
+                rebuildIndex();
+            } else {
+                index = null;
+            }
+        }
+    }
+
+    private void rebuildIndex() {
+        // 负载因子不超过0.5，保证探测链较短
+        int capacity = Integer.highestOneBit(size) << 2;
+        index = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            insertIntoIndex(i);
+        }
+    }
+
+    private void insertIntoIndex(int i) {
+        int mask = index.length - 1;
+        int slot = hash(table[i << 1]) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = i + 1;
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private String keyAt(int i) {
+        return (String) table[i << 1];
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor++;
+            return new Entry(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class Entry implements Map.Entry<String, Object> {
+
+        private final int i;
+
+        private Entry(int i) {
+            this.i = i;
+        }
+
+        @Override
+        public String getKey() {
+            return keyAt(i);
+        }
+
+        @Override
+        public Object getValue() {
+            return table[(i << 1) + 1];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            int valueSlot = (i << 1) + 1;
+            Object old = table[valueSlot];
+            table[valueSlot] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.example.httpclientdemo.model;
 
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.annotation.JSONField;
+import com.example.httpclientdemo.model.codec.MessageModelCodecs;
+import com.example.httpclientdemo.validation.FieldShapes;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,6 +14,11 @@ import java.util.Map;
  */
 public class CompleteMessageModel {
     
+    static {
+        // 注册预编译的JSON编解码器，替代反射序列化
+        MessageModelCodecs.register();
+    }
+    
     @JSONField(name = "txHeader")
     private TxHeaderModel txHeader;
     
@@ -53,15 +61,36 @@ public class CompleteMessageModel {
         private Map<String, Object> txComn8;
         
         public TxBodyModel() {
-            this.addtData = new HashMap<>();
-            this.txComn1 = new HashMap<>();
-            this.txComn2 = new HashMap<>();
-            this.txComn3 = new HashMap<>();
-            this.txComn4 = new HashMap<>();
-            this.txComn5 = new HashMap<>();
-            this.txComn6 = new HashMap<>();
-            this.txComn7 = new HashMap<>();
-            this.txComn8 = new HashMap<>();
+            // 各Map字段延迟到首次写入时分配
+            this.addtData = LazyMaps.EMPTY;
+            this.txComn1 = LazyMaps.EMPTY;
+            this.txComn2 = LazyMaps.EMPTY;
+            this.txComn3 = LazyMaps.EMPTY;
+            this.txComn4 = LazyMaps.EMPTY;
+            this.txComn5 = LazyMaps.EMPTY;
+            this.txComn6 = LazyMaps.EMPTY;
+            this.txComn7 = LazyMaps.EMPTY;
+            this.txComn8 = LazyMaps.EMPTY;
+        }
+        
+        /**
+         * 深拷贝，txEntity与各Map容器逐层复制
+         * @return 拷贝后的实例
+         */
+        public TxBodyModel copy() {
+            TxBodyModel copy = new TxBodyModel();
+            copy.txEntity = txEntity != null ? txEntity.copy() : null;
+            copy.accountingDate = accountingDate;
+            copy.setAddtData(LazyMaps.copy(addtData));
+            copy.setTxComn1(LazyMaps.copy(txComn1));
+            copy.setTxComn2(LazyMaps.copy(txComn2));
+            copy.setTxComn3(LazyMaps.copy(txComn3));
+            copy.setTxComn4(LazyMaps.copy(txComn4));
+            copy.setTxComn5(LazyMaps.copy(txComn5));
+            copy.setTxComn6(LazyMaps.copy(txComn6));
+            copy.setTxComn7(LazyMaps.copy(txComn7));
+            copy.setTxComn8(LazyMaps.copy(txComn8));
+            return copy;
         }
         
         // Getters and Setters
@@ -82,75 +111,148 @@ public class CompleteMessageModel {
         }
         
         public Map<String, Object> getAddtData() {
+            if (addtData == LazyMaps.EMPTY) {
+                addtData = new HashMap<>();
+            }
             return addtData;
         }
         
         public void setAddtData(Map<String, Object> addtData) {
-            this.addtData = addtData != null ? addtData : new HashMap<>();
+            this.addtData = LazyMaps.orEmpty(addtData);
         }
         
         public Map<String, Object> getTxComn1() {
+            if (txComn1 == LazyMaps.EMPTY) {
+                txComn1 = new HashMap<>();
+            }
             return txComn1;
         }
         
         public void setTxComn1(Map<String, Object> txComn1) {
-            this.txComn1 = txComn1 != null ? txComn1 : new HashMap<>();
+            this.txComn1 = LazyMaps.orEmpty(txComn1);
         }
         
         public Map<String, Object> getTxComn2() {
+            if (txComn2 == LazyMaps.EMPTY) {
+                txComn2 = new HashMap<>();
+            }
             return txComn2;
         }
         
         public void setTxComn2(Map<String, Object> txComn2) {
-            this.txComn2 = txComn2 != null ? txComn2 : new HashMap<>();
+            this.txComn2 = LazyMaps.orEmpty(txComn2);
         }
         
         public Map<String, Object> getTxComn3() {
+            if (txComn3 == LazyMaps.EMPTY) {
+                txComn3 = new HashMap<>();
+            }
             return txComn3;
         }
         
         public void setTxComn3(Map<String, Object> txComn3) {
-            this.txComn3 = txComn3 != null ? txComn3 : new HashMap<>();
+            this.txComn3 = LazyMaps.orEmpty(txComn3);
         }
         
         public Map<String, Object> getTxComn4() {
+            if (txComn4 == LazyMaps.EMPTY) {
+                txComn4 = new HashMap<>();
+            }
             return txComn4;
         }
         
         public void setTxComn4(Map<String, Object> txComn4) {
-            this.txComn4 = txComn4 != null ? txComn4 : new HashMap<>();
+            this.txComn4 = LazyMaps.orEmpty(txComn4);
         }
         
         public Map<String, Object> getTxComn5() {
+            if (txComn5 == LazyMaps.EMPTY) {
+                txComn5 = new HashMap<>();
+            }
             return txComn5;
         }
         
         public void setTxComn5(Map<String, Object> txComn5) {
-            this.txComn5 = txComn5 != null ? txComn5 : new HashMap<>();
+            this.txComn5 = LazyMaps.orEmpty(txComn5);
         }
         
         public Map<String, Object> getTxComn6() {
+            if (txComn6 == LazyMaps.EMPTY) {
+                txComn6 = new HashMap<>();
+            }
             return txComn6;
         }
         
         public void setTxComn6(Map<String, Object> txComn6) {
-            this.txComn6 = txComn6 != null ? txComn6 : new HashMap<>();
+            this.txComn6 = LazyMaps.orEmpty(txComn6);
         }
         
         public Map<String, Object> getTxComn7() {
+            if (txComn7 == LazyMaps.EMPTY) {
+                txComn7 = new HashMap<>();
+            }
             return txComn7;
         }
         
         public void setTxComn7(Map<String, Object> txComn7) {
-            this.txComn7 = txComn7 != null ? txComn7 : new HashMap<>();
+            this.txComn7 = LazyMaps.orEmpty(txComn7);
         }
         
         public Map<String, Object> getTxComn8() {
+            if (txComn8 == LazyMaps.EMPTY) {
+                txComn8 = new HashMap<>();
+            }
             return txComn8;
         }
         
         public void setTxComn8(Map<String, Object> txComn8) {
-            this.txComn8 = txComn8 != null ? txComn8 : new HashMap<>();
+            this.txComn8 = LazyMaps.orEmpty(txComn8);
+        }
+        
+        /**
+         * 只读访问addtData，未写入过时返回共享的不可变空Map，不触发分配
+         * @return addtData
+         */
+        public Map<String, Object> peekAddtData() {
+            return addtData;
+        }
+        
+        /**
+         * 只读访问指定编号的txComn Map，未写入过时返回共享的不可变空Map，不触发分配
+         * @param comnNumber txComn编号（1-8）
+         * @return 对应的Map对象，编号无效时返回null
+         */
+        public Map<String, Object> peekTxComn(int comnNumber) {
+            switch (comnNumber) {
+                case 1: return txComn1;
+                case 2: return txComn2;
+                case 3: return txComn3;
+                case 4: return txComn4;
+                case 5: return txComn5;
+                case 6: return txComn6;
+                case 7: return txComn7;
+                case 8: return txComn8;
+                default: return null;
+            }
+        }
+        
+        /**
+         * 取得指定编号txComn的可写Map，未分配时分配
+         * @param comnNumber txComn编号（1-8）
+         * @return 对应的Map对象，编号无效时返回null
+         */
+        Map<String, Object> writableTxComn(int comnNumber) {
+            switch (comnNumber) {
+                case 1: return getTxComn1();
+                case 2: return getTxComn2();
+                case 3: return getTxComn3();
+                case 4: return getTxComn4();
+                case 5: return getTxComn5();
+                case 6: return getTxComn6();
+                case 7: return getTxComn7();
+                case 8: return getTxComn8();
+                default: return null;
+            }
         }
     }
     
@@ -160,9 +262,15 @@ public class CompleteMessageModel {
         this.txBody = new TxBodyModel();
     }
     
+    // 拷贝使用的构造函数，直接持有传入实例，不做默认分配
+    private CompleteMessageModel(TxHeaderModel txHeader, TxBodyModel txBody) {
+        this.txHeader = txHeader;
+        this.txBody = txBody;
+    }
+    
     // 带参数的构造函数
     public CompleteMessageModel(TxHeaderModel txHeader, TxEntityModel txEntity, TxComnModel txComn) {
-        this();
+        this.txBody = new TxBodyModel();
         this.txHeader = txHeader != null ? txHeader : new TxHeaderModel();
         setTxEntity(txEntity);
         setTxComn(txComn);
@@ -205,19 +313,24 @@ public class CompleteMessageModel {
         
         if (txComn != null) {
             txBody.setAccountingDate(txComn.getAccountingDate());
-            txBody.setAddtData(txComn.getAddtData());
-            txBody.setTxComn1(txComn.getTxComn1());
-            txBody.setTxComn2(txComn.getTxComn2());
-            txBody.setTxComn3(txComn.getTxComn3());
-            txBody.setTxComn4(txComn.getTxComn4());
-            txBody.setTxComn5(txComn.getTxComn5());
-            txBody.setTxComn6(txComn.getTxComn6());
-            txBody.setTxComn7(txComn.getTxComn7());
-            txBody.setTxComn8(txComn.getTxComn8());
+            txBody.setAddtData(txComn.peekAddtData());
+            txBody.setTxComn1(txComn.peekTxComn(1));
+            txBody.setTxComn2(txComn.peekTxComn(2));
+            txBody.setTxComn3(txComn.peekTxComn(3));
+            txBody.setTxComn4(txComn.peekTxComn(4));
+            txBody.setTxComn5(txComn.peekTxComn(5));
+            txBody.setTxComn6(txComn.peekTxComn(6));
+            txBody.setTxComn7(txComn.peekTxComn(7));
+            txBody.setTxComn8(txComn.peekTxComn(8));
         }
     }
     
-    // 便捷方法：获取TxComn数据
+    /**
+     * 便捷方法：获取TxComn数据
+     * 返回的视图与txBody共享各Map，经视图写入字段（addTxComnField、addAddtDataField等）会修改本报文；
+     * 尚未写入过的段不预先分配，首次写入时才在txBody中分配
+     * @return TxComn视图，txBody为null时返回null
+     */
     public TxComnModel getTxComn() {
         if (txBody == null) {
             return null;
@@ -225,15 +338,17 @@ public class CompleteMessageModel {
         
         TxComnModel txComn = new TxComnModel();
         txComn.setAccountingDate(txBody.getAccountingDate());
-        txComn.setAddtData(txBody.getAddtData());
-        txComn.setTxComn1(txBody.getTxComn1());
-        txComn.setTxComn2(txBody.getTxComn2());
-        txComn.setTxComn3(txBody.getTxComn3());
-        txComn.setTxComn4(txBody.getTxComn4());
-        txComn.setTxComn5(txBody.getTxComn5());
-        txComn.setTxComn6(txBody.getTxComn6());
-        txComn.setTxComn7(txBody.getTxComn7());
-        txComn.setTxComn8(txBody.getTxComn8());
+        txComn.setAddtData(txBody.peekAddtData());
+        txComn.setTxComn1(txBody.peekTxComn(1));
+        txComn.setTxComn2(txBody.peekTxComn(2));
+        txComn.setTxComn3(txBody.peekTxComn(3));
+        txComn.setTxComn4(txBody.peekTxComn(4));
+        txComn.setTxComn5(txBody.peekTxComn(5));
+        txComn.setTxComn6(txBody.peekTxComn(6));
+        txComn.setTxComn7(txBody.peekTxComn(7));
+        txComn.setTxComn8(txBody.peekTxComn(8));
+        // 未分配的段在视图首次写入时经txBody分配，写入对报文可见
+        txComn.writeThrough(txBody);
         
         return txComn;
     }
@@ -261,7 +376,7 @@ public class CompleteMessageModel {
         
         // 验证accountingDate格式
         String accountingDate = txBody.getAccountingDate();
-        if (accountingDate != null && !accountingDate.matches("\\d{8}")) {
+        if (accountingDate != null && !FieldShapes.isDigits(accountingDate, 8)) {
             return false;
         }
         
@@ -295,6 +410,23 @@ public class CompleteMessageModel {
         return JSON.toJSONString(this);
     }
     
+    /**
+     * 序列化为UTF-8编码的JSON字节数组，不经过中间String
+     * @return JSON字节数组
+     */
+    public byte[] toJsonBytes() {
+        return JSON.toJSONBytes(this);
+    }
+    
+    /**
+     * 以UTF-8编码将JSON直接写入输出流，不经过中间String
+     * @param out 输出流
+     * @return 写入的字节数
+     */
+    public int writeTo(OutputStream out) {
+        return JSON.writeTo(out, this);
+    }
+    
     /**
      * 序列化为格式化的JSON字符串
      * @return 格式化的JSON字符串
@@ -322,11 +454,25 @@ public class CompleteMessageModel {
     
     /**
      * 创建一个深拷贝
+     * 逐字段复制，不经过JSON序列化/反序列化
      * @return 深拷贝的实例
      */
     public CompleteMessageModel deepCopy() {
-        String json = toJson();
-        return fromJson(json);
+        return new CompleteMessageModel(
+            txHeader != null ? txHeader.copy() : new TxHeaderModel(),
+            txBody != null ? txBody.copy() : new TxBodyModel());
+    }
+    
+    /**
+     * 创建一个使用新txHeader的浅拷贝，用于将同一报文模板分发给多个接收方
+     * 拷贝与原报文共享同一个txBody实例，修改任一方的txBody内容都会相互可见
+     * @param txHeader 新的txHeader
+     * @return 浅拷贝的实例
+     */
+    public CompleteMessageModel copyWithHeader(TxHeaderModel txHeader) {
+        return new CompleteMessageModel(
+            txHeader != null ? txHeader : new TxHeaderModel(),
+            txBody != null ? txBody : new TxBodyModel());
     }
     
     /**
@@ -0,0 +1,31 @@
+package com.example.httpclientdemo.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 延迟分配的Map字段支持
+ * 字段初始指向共享的不可变空Map，首次写入（或通过getter取得可写引用）时才分配HashMap
+ */
+final class LazyMaps {
+    
+    // 未分配状态的共享哨兵，按引用比较
+    static final Map<String, Object> EMPTY = Collections.emptyMap();
+    
+    private LazyMaps() {
+    }
+    
+    /**
+     * setter使用：null归一为未分配状态
+     */
+    static Map<String, Object> orEmpty(Map<String, Object> map) {
+        return map != null ? map : EMPTY;
+    }
+    
+    /**
+     * 深拷贝使用：空Map拷贝后保持未分配状态
+     */
+    static Map<String, Object> copy(Map<String, Object> map) {
+        return map == null || map.isEmpty() ? EMPTY : ModelCopies.copyMap(map);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.httpclientdemo.model;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 模型结构化深拷贝工具
+ * 逐层复制Map/Collection容器，String、Number、Boolean等不可变值直接共享引用
+ */
+final class ModelCopies {
+    
+    private ModelCopies() {
+    }
+    
+    /**
+     * 深拷贝Map字段，保持与反序列化结果一致的HashMap类型
+     * @param source 源Map
+     * @return 拷贝后的Map，source为null时返回null
+     */
+    static Map<String, Object> copyMap(Map<String, Object> source) {
+        if (source == null) {
+            return null;
+        }
+        Map<String, Object> copy = new HashMap<>(capacityFor(source.size()));
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            copy.put(entry.getKey(), copyValue(entry.getValue()));
+        }
+        return copy;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> source = (Map<Object, Object>) value;
+            Map<Object, Object> copy;
+            if (value instanceof JSONObject) {
+                copy = (Map<Object, Object>) (Map<?, ?>) new JSONObject(capacityFor(source.size()));
+            } else if (value instanceof LinkedHashMap) {
+                copy = new LinkedHashMap<>(capacityFor(source.size()));
+            } else {
+                copy = new HashMap<>(capacityFor(source.size()));
+            }
+            for (Map.Entry<Object, Object> entry : source.entrySet()) {
+                copy.put(entry.getKey(), copyValue(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof Collection) {
+            Collection<Object> source = (Collection<Object>) value;
+            Collection<Object> copy;
+            if (value instanceof JSONArray) {
+                copy = new JSONArray(source.size());
+            } else if (value instanceof Set) {
+                copy = new LinkedHashSet<>(capacityFor(source.size()));
+            } else {
+                copy = new ArrayList<>(source.size());
+            }
+            for (Object element : source) {
+                copy.add(copyValue(element));
+            }
+            return copy;
+        }
+        // 其他对象（枚举、业务对象等）共享引用
+        return value;
+    }
+    
+    private static int capacityFor(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f) + 1;
+    }
+}
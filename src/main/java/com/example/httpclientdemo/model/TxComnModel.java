@@ -1,6 +1,8 @@
 package com.example.httpclientdemo.model;
 
 import com.alibaba.fastjson2.annotation.JSONField;
+import com.example.httpclientdemo.model.codec.MessageModelCodecs;
+import com.example.httpclientdemo.validation.FieldShapes;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -10,47 +12,31 @@ import java.util.Map;
  */
 public class TxComnModel {
     
+    // txComn段数量
+    private static final int TX_COMN_COUNT = 8;
+    
+    static {
+        // 注册预编译的JSON编解码器，替代反射序列化
+        MessageModelCodecs.register();
+    }
+    
     @JSONField(name = "accountingDate")
     private String accountingDate;
     
     @JSONField(name = "addtData")
     private Map<String, Object> addtData;
     
-    @JSONField(name = "txComn1")
-    private Map<String, Object> txComn1;
-    
-    @JSONField(name = "txComn2")
-    private Map<String, Object> txComn2;
-    
-    @JSONField(name = "txComn3")
-    private Map<String, Object> txComn3;
+    // txComn1~txComn8按编号存放在同一数组中，下标为编号-1；null表示尚未分配
+    @SuppressWarnings("unchecked")
+    private final Map<String, Object>[] txComns = new Map[TX_COMN_COUNT];
     
-    @JSONField(name = "txComn4")
-    private Map<String, Object> txComn4;
-    
-    @JSONField(name = "txComn5")
-    private Map<String, Object> txComn5;
-    
-    @JSONField(name = "txComn6")
-    private Map<String, Object> txComn6;
-    
-    @JSONField(name = "txComn7")
-    private Map<String, Object> txComn7;
-    
-    @JSONField(name = "txComn8")
-    private Map<String, Object> txComn8;
+    // 作为CompleteMessageModel.getTxComn()视图时的来源，未分配的段在首次写入时经其分配
+    private CompleteMessageModel.TxBodyModel owner;
     
     // 默认构造函数
     public TxComnModel() {
-        this.addtData = new HashMap<>();
-        this.txComn1 = new HashMap<>();
-        this.txComn2 = new HashMap<>();
-        this.txComn3 = new HashMap<>();
-        this.txComn4 = new HashMap<>();
-        this.txComn5 = new HashMap<>();
-        this.txComn6 = new HashMap<>();
-        this.txComn7 = new HashMap<>();
-        this.txComn8 = new HashMap<>();
+        // 各Map字段延迟到首次写入时分配
+        this.addtData = LazyMaps.EMPTY;
     }
     
     // 带参数的构造函数
@@ -69,75 +55,78 @@ public class TxComnModel {
     }
     
     public Map<String, Object> getAddtData() {
+        if (addtData == LazyMaps.EMPTY) {
+            addtData = owner != null ? owner.getAddtData() : new HashMap<>();
+        }
         return addtData;
     }
     
     public void setAddtData(Map<String, Object> addtData) {
-        this.addtData = addtData != null ? addtData : new HashMap<>();
+        this.addtData = LazyMaps.orEmpty(addtData);
     }
     
     public Map<String, Object> getTxComn1() {
-        return txComn1;
+        return writableTxComn(0);
     }
     
     public void setTxComn1(Map<String, Object> txComn1) {
-        this.txComn1 = txComn1 != null ? txComn1 : new HashMap<>();
+        txComns[0] = unallocatedAsNull(txComn1);
     }
     
     public Map<String, Object> getTxComn2() {
-        return txComn2;
+        return writableTxComn(1);
     }
     
     public void setTxComn2(Map<String, Object> txComn2) {
-        this.txComn2 = txComn2 != null ? txComn2 : new HashMap<>();
+        txComns[1] = unallocatedAsNull(txComn2);
     }
     
     public Map<String, Object> getTxComn3() {
-        return txComn3;
+        return writableTxComn(2);
     }
     
     public void setTxComn3(Map<String, Object> txComn3) {
-        this.txComn3 = txComn3 != null ? txComn3 : new HashMap<>();
+        txComns[2] = unallocatedAsNull(txComn3);
     }
     
     public Map<String, Object> getTxComn4() {
-        return txComn4;
+        return writableTxComn(3);
     }
     
     public void setTxComn4(Map<String, Object> txComn4) {
-        this.txComn4 = txComn4 != null ? txComn4 : new HashMap<>();
+        txComns[3] = unallocatedAsNull(txComn4);
     }
     
     public Map<String, Object> getTxComn5() {
-        return txComn5;
+        return writableTxComn(4);
     }
     
     public void setTxComn5(Map<String, Object> txComn5) {
-        this.txComn5 = txComn5 != null ? txComn5 : new HashMap<>();
+        txComns[4] = unallocatedAsNull(txComn5);
     }
     
     public Map<String, Object> getTxComn6() {
-        return txComn6;
+        return writableTxComn(5);
     }
     
     public void setTxComn6(Map<String, Object> txComn6) {
-        this.txComn6 = txComn6 != null ? txComn6 : new HashMap<>();
+        txComns[5] = unallocatedAsNull(txComn6);
     }
     
     public Map<String, Object> getTxComn7() {
-        return txComn7;
+        return writableTxComn(6);
     }
     
     public void setTxComn7(Map<String, Object> txComn7) {
-        this.txComn7 = txComn7 != null ? txComn7 : new HashMap<>();
+        txComns[6] = unallocatedAsNull(txComn7);
     }
     
     public Map<String, Object> getTxComn8() {
-        return txComn8;
+        return writableTxComn(7);
     }
     
     public void setTxComn8(Map<String, Object> txComn8) {
-        this.txComn8 = txComn8 != null ? txComn8 : new HashMap<>();
+        txComns[7] = unallocatedAsNull(txComn8);
     }
     
     // addtData操作方法
@@ -147,10 +136,7 @@ public class TxComnModel {
      * @param value 字段值
      */
     public void addAddtDataField(String key, Object value) {
-        if (addtData == null) {
-            addtData = new HashMap<>();
-        }
-        addtData.put(key, value);
+        getAddtData().put(key, value);
     }
     
     /**
@@ -179,9 +165,8 @@ public class TxComnModel {
      * @param value 字段值
      */
     public void addTxComnField(int comnNumber, String key, Object value) {
-        Map<String, Object> targetMap = getTxComnMap(comnNumber);
-        if (targetMap != null) {
-            targetMap.put(key, value);
+        if (isValidComnNumber(comnNumber)) {
+            writableTxComn(comnNumber - 1).put(key, value);
         }
     }
     
@@ -213,17 +198,41 @@ public class TxComnModel {
      * @return 对应的Map对象
      */
     private Map<String, Object> getTxComnMap(int comnNumber) {
-        switch (comnNumber) {
-            case 1: return txComn1;
-            case 2: return txComn2;
-            case 3: return txComn3;
-            case 4: return txComn4;
-            case 5: return txComn5;
-            case 6: return txComn6;
-            case 7: return txComn7;
-            case 8: return txComn8;
-            default: return null;
+        if (!isValidComnNumber(comnNumber)) {
+            return null;
         }
+        Map<String, Object> map = txComns[comnNumber - 1];
+        return map != null ? map : LazyMaps.EMPTY;
+    }
+    
+    /**
+     * 取得指定下标txComn的可写Map，未分配时分配紧凑Map
+     * @param index 数组下标（编号-1）
+     * @return 可写的Map对象
+     */
+    private Map<String, Object> writableTxComn(int index) {
+        Map<String, Object> map = txComns[index];
+        if (map == null) {
+            map = owner != null ? owner.writableTxComn(index + 1) : new CompactMap();
+            txComns[index] = map;
+        }
+        return map;
+    }
+    
+    /**
+     * 绑定来源txBody，此后未分配段的首次写入在txBody中分配并共享
+     * @param owner 来源txBody
+     */
+    void writeThrough(CompleteMessageModel.TxBodyModel owner) {
+        this.owner = owner;
+    }
+    
+    private static boolean isValidComnNumber(int comnNumber) {
+        return comnNumber >= 1 && comnNumber <= TX_COMN_COUNT;
+    }
+    
+    private static Map<String, Object> unallocatedAsNull(Map<String, Object> map) {
+        return map == LazyMaps.EMPTY ? null : map;
     }
     
     /**
@@ -232,19 +241,28 @@ public class TxComnModel {
      * @param data 要设置的数据
      */
     public void setTxComnMap(int comnNumber, Map<String, Object> data) {
-        Map<String, Object> safeData = data != null ? data : new HashMap<>();
-        switch (comnNumber) {
-            case 1: setTxComn1(safeData); break;
-            case 2: setTxComn2(safeData); break;
-            case 3: setTxComn3(safeData); break;
-            case 4: setTxComn4(safeData); break;
-            case 5: setTxComn5(safeData); break;
-            case 6: setTxComn6(safeData); break;
-            case 7: setTxComn7(safeData); break;
-            case 8: setTxComn8(safeData); break;
+        if (isValidComnNumber(comnNumber)) {
+            txComns[comnNumber - 1] = unallocatedAsNull(data);
         }
     }
     
+    /**
+     * 只读访问addtData，未写入过时返回共享的不可变空Map，不触发分配
+     * @return addtData
+     */
+    public Map<String, Object> peekAddtData() {
+        return addtData;
+    }
+    
+    /**
+     * 只读访问指定编号的txComn Map，未写入过时返回共享的不可变空Map，不触发分配
+     * @param comnNumber txComn编号（1-8）
+     * @return 对应的Map对象，编号无效时返回null
+     */
+    public Map<String, Object> peekTxComn(int comnNumber) {
+        return getTxComnMap(comnNumber);
+    }
+    
     /**
      * 验证accountingDate格式
      * @return 验证结果
@@ -254,7 +272,7 @@ public class TxComnModel {
             return true; // null值被认为是有效的
         }
         // 验证日期格式：8位数字（YYYYMMDD）或者"00000000"
-        return accountingDate.matches("\\d{8}");
+        return FieldShapes.isDigits(accountingDate, 8);
     }
     
     /**
@@ -270,14 +288,12 @@ public class TxComnModel {
      * @return 是否有数据
      */
     public boolean hasAnyTxComnData() {
-        return (txComn1 != null && !txComn1.isEmpty()) ||
-               (txComn2 != null && !txComn2.isEmpty()) ||
-               (txComn3 != null && !txComn3.isEmpty()) ||
-               (txComn4 != null && !txComn4.isEmpty()) ||
-               (txComn5 != null && !txComn5.isEmpty()) ||
-               (txComn6 != null && !txComn6.isEmpty()) ||
-               (txComn7 != null && !txComn7.isEmpty()) ||
-               (txComn8 != null && !txComn8.isEmpty());
+        for (Map<String, Object> map : txComns) {
+            if (map != null && !map.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
@@ -292,14 +308,11 @@ public class TxComnModel {
      * 清空所有txComn字段
      */
     public void clearAllTxComn() {
-        if (txComn1 != null) txComn1.clear();
-        if (txComn2 != null) txComn2.clear();
-        if (txComn3 != null) txComn3.clear();
-        if (txComn4 != null) txComn4.clear();
-        if (txComn5 != null) txComn5.clear();
-        if (txComn6 != null) txComn6.clear();
-        if (txComn7 != null) txComn7.clear();
-        if (txComn8 != null) txComn8.clear();
+        for (Map<String, Object> map : txComns) {
+            if (map != null) {
+                map.clear();
+            }
+        }
     }
     
     /**
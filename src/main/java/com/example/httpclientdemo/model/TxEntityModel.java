@@ -1,6 +1,8 @@
 package com.example.httpclientdemo.model;
 
 import com.alibaba.fastjson2.annotation.JSONField;
+import com.example.httpclientdemo.model.codec.MessageModelCodecs;
+import com.example.httpclientdemo.validation.FieldShapes;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -10,6 +12,11 @@ import java.util.Map;
  */
 public class TxEntityModel {
     
+    static {
+        // 注册预编译的JSON编解码器，替代反射序列化
+        MessageModelCodecs.register();
+    }
+    
     @JSONField(name = "custNo")
     private String custNo;
     
@@ -35,6 +42,16 @@ public class TxEntityModel {
         this.txSceneCd = txSceneCd;
     }
     
+    /**
+     * 深拷贝，扩展字段容器逐层复制
+     * @return 拷贝后的实例
+     */
+    public TxEntityModel copy() {
+        TxEntityModel copy = new TxEntityModel(custNo, qryVchrTpCd, txSceneCd);
+        copy.setAdditionalFields(ModelCopies.copyMap(additionalFields));
+        return copy;
+    }
+    
     // Getter和Setter方法
     public String getCustNo() {
         return custNo;
@@ -112,9 +129,9 @@ public class TxEntityModel {
      * @return 验证结果
      */
     public boolean validate() {
-        return custNo != null && !custNo.trim().isEmpty() &&
-               qryVchrTpCd != null && !qryVchrTpCd.trim().isEmpty() &&
-               txSceneCd != null && !txSceneCd.trim().isEmpty();
+        return FieldShapes.hasText(custNo) &&
+               FieldShapes.hasText(qryVchrTpCd) &&
+               FieldShapes.hasText(txSceneCd);
     }
     
     /**
@@ -123,17 +140,17 @@ public class TxEntityModel {
      */
     public boolean validateFormat() {
         // 客户号格式验证（假设为15位数字）
-        if (custNo != null && !custNo.matches("\\d{15}")) {
+        if (custNo != null && !FieldShapes.isDigits(custNo, 15)) {
             return false;
         }
         
         // 查询凭证类型代码格式验证（假设为1位数字）
-        if (qryVchrTpCd != null && !qryVchrTpCd.matches("\\d{1}")) {
+        if (qryVchrTpCd != null && !FieldShapes.isDigits(qryVchrTpCd, 1)) {
             return false;
         }
         
         // 交易场景代码格式验证（假设为4位字符）
-        if (txSceneCd != null && !txSceneCd.matches("[A-Z]\\d{3}")) {
+        if (txSceneCd != null && !FieldShapes.isUpperLetterAndDigits(txSceneCd, 3)) {
             return false;
         }
         
@@ -1,6 +1,8 @@
 package com.example.httpclientdemo.model;
 
 import com.alibaba.fastjson2.annotation.JSONField;
+import com.example.httpclientdemo.model.codec.MessageModelCodecs;
+import com.example.httpclientdemo.validation.FieldShapes;
 
 /**
  * TxHeader数据模型类
@@ -8,6 +10,11 @@ import com.alibaba.fastjson2.annotation.JSONField;
  */
 public class TxHeaderModel {
     
+    static {
+        // 注册预编译的JSON编解码器，替代反射序列化
+        MessageModelCodecs.register();
+    }
+    
     @JSONField(name = "msgGrptMac")
     private String msgGrptMac;
     
@@ -82,6 +89,33 @@ public class TxHeaderModel {
         this.subtxNo = subtxNo;
     }
     
+    /**
+     * 复制所有字段，生成独立的TxHeaderModel实例
+     * @return 拷贝后的实例
+     */
+    public TxHeaderModel copy() {
+        TxHeaderModel copy = new TxHeaderModel(msgGrptMac, globalBusiTrackNo, subtxNo);
+        copy.txStartTime = txStartTime;
+        copy.txSendTime = txSendTime;
+        copy.txCode = txCode;
+        copy.channelNo = channelNo;
+        copy.orgNo = orgNo;
+        copy.tellerId = tellerId;
+        copy.authTellerId = authTellerId;
+        copy.custMgrId = custMgrId;
+        copy.terminalId = terminalId;
+        copy.terminalType = terminalType;
+        copy.txBranchNo = txBranchNo;
+        copy.authBranchNo = authBranchNo;
+        copy.clientIp = clientIp;
+        copy.macAddr = macAddr;
+        copy.reqSysDate = reqSysDate;
+        copy.reqSysTime = reqSysTime;
+        copy.seqNo = seqNo;
+        copy.remark = remark;
+        return copy;
+    }
+    
     // Getter和Setter方法
     public String getMsgGrptMac() {
         return msgGrptMac;
@@ -256,9 +290,9 @@ public class TxHeaderModel {
      * @return 验证结果
      */
     public boolean validate() {
-        return msgGrptMac != null && !msgGrptMac.trim().isEmpty() &&
-               globalBusiTrackNo != null && !globalBusiTrackNo.trim().isEmpty() &&
-               subtxNo != null && !subtxNo.trim().isEmpty();
+        return FieldShapes.hasText(msgGrptMac) &&
+               FieldShapes.hasText(globalBusiTrackNo) &&
+               FieldShapes.hasText(subtxNo);
     }
     
     /**
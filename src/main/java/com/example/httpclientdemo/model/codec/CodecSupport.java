@@ -0,0 +1,54 @@
+package com.example.httpclientdemo.model.codec;
+
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 预编译编解码器的公共读写方法
+ * 输出规则与fastjson2反射序列化保持一致：null字段默认省略，Map字段按运行时类型写出
+ */
+final class CodecSupport {
+
+    private CodecSupport() {
+    }
+
+    static void writeString(JSONWriter jsonWriter, String name, String value) {
+        if (value == null && !jsonWriter.isEnabled(JSONWriter.Feature.WriteNulls)) {
+            return;
+        }
+        jsonWriter.writeName(name);
+        jsonWriter.writeColon();
+        jsonWriter.writeString(value);
+    }
+
+    static void writeObject(JSONWriter jsonWriter, String name, Object value) {
+        if (value == null && !jsonWriter.isEnabled(JSONWriter.Feature.WriteNulls)) {
+            return;
+        }
+        jsonWriter.writeName(name);
+        jsonWriter.writeColon();
+        jsonWriter.writeAny(value);
+    }
+
+    static void startObject(JSONReader jsonReader, Class<?> objectClass) {
+        if (!jsonReader.nextIfObjectStart()) {
+            throw new JSONException(jsonReader.info("expect '{' for " + objectClass.getSimpleName()));
+        }
+    }
+
+    /**
+     * 读取Map字段，与反射反序列化一致使用HashMap，嵌套对象为JSONObject
+     */
+    static Map<String, Object> readMap(JSONReader jsonReader, long features) {
+        if (jsonReader.nextIfNull()) {
+            return null;
+        }
+        Map<String, Object> map = new HashMap<>();
+        jsonReader.read(map, features);
+        return map;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.httpclientdemo.model.codec;
+
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.reader.ObjectReader;
+import com.alibaba.fastjson2.util.Fnv;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.model.CompleteMessageModel.TxBodyModel;
+import com.example.httpclientdemo.model.TxEntityModel;
+
+import java.lang.reflect.Type;
+
+/**
+ * CompleteMessageModel预编译编解码器
+ * 反射序列化会额外写出getSummary()、getTxComn()、getTxEntity()对应的summary、txComn、txEntity属性，
+ * 此处保持同样的输出以兼容现有下游
+ */
+public final class CompleteMessageModelCodec {
+
+    public static final ObjectWriter<CompleteMessageModel> WRITER = new Writer();
+    public static final ObjectReader<CompleteMessageModel> READER = new Reader();
+
+    private static final long HASH_TX_HEADER = Fnv.hashCode64("txHeader");
+    private static final long HASH_TX_BODY = Fnv.hashCode64("txBody");
+    private static final long HASH_TX_ENTITY = Fnv.hashCode64("txEntity");
+    private static final long HASH_TX_COMN = Fnv.hashCode64("txComn");
+
+    private CompleteMessageModelCodec() {
+    }
+
+    static final class Writer implements ObjectWriter<CompleteMessageModel> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            CompleteMessageModel message = (CompleteMessageModel) object;
+            TxBodyModel body = message.getTxBody();
+            TxEntityModel entity = message.getTxEntity();
+            boolean writeNulls = jsonWriter.isEnabled(JSONWriter.Feature.WriteNulls);
+
+            jsonWriter.startObject();
+            CodecSupport.writeString(jsonWriter, "summary", message.getSummary());
+            if (body != null || writeNulls) {
+                jsonWriter.writeName("txBody");
+                jsonWriter.writeColon();
+                TxBodyModelCodec.WRITER.write(jsonWriter, body, "txBody", null, features);
+            }
+            if (body != null) {
+                jsonWriter.writeName("txComn");
+                jsonWriter.writeColon();
+                jsonWriter.startObject();
+                TxBodyModelCodec.writeComnFields(jsonWriter, body);
+                jsonWriter.endObject();
+            } else if (writeNulls) {
+                jsonWriter.writeName("txComn");
+                jsonWriter.writeColon();
+                jsonWriter.writeNull();
+            }
+            if (entity != null || writeNulls) {
+                jsonWriter.writeName("txEntity");
+                jsonWriter.writeColon();
+                TxEntityModelCodec.WRITER.write(jsonWriter, entity, "txEntity", null, features);
+            }
+            if (message.getTxHeader() != null || writeNulls) {
+                jsonWriter.writeName("txHeader");
+                jsonWriter.writeColon();
+                TxHeaderModelCodec.WRITER.write(jsonWriter, message.getTxHeader(), "txHeader", null, features);
+            }
+            jsonWriter.endObject();
+        }
+    }
+
+    static final class Reader implements ObjectReader<CompleteMessageModel> {
+
+        @Override
+        public Class<CompleteMessageModel> getObjectClass() {
+            return CompleteMessageModel.class;
+        }
+
+        @Override
+        public CompleteMessageModel readObject(JSONReader jsonReader, Type fieldType, Object fieldName, long features) {
+            if (jsonReader.nextIfNull()) {
+                return null;
+            }
+            CodecSupport.startObject(jsonReader, CompleteMessageModel.class);
+
+            CompleteMessageModel message = new CompleteMessageModel();
+            while (!jsonReader.nextIfObjectEnd()) {
+                long hash = jsonReader.readFieldNameHashCode();
+                if (hash == HASH_TX_HEADER) {
+                    message.setTxHeader(TxHeaderModelCodec.READER.readObject(jsonReader, null, "txHeader", features));
+                } else if (hash == HASH_TX_BODY) {
+                    message.setTxBody(TxBodyModelCodec.READER.readObject(jsonReader, null, "txBody", features));
+                } else if (hash == HASH_TX_COMN) {
+                    message.setTxComn(TxComnModelCodec.READER.readObject(jsonReader, null, "txComn", features));
+                } else if (hash == HASH_TX_ENTITY) {
+                    message.setTxEntity(TxEntityModelCodec.READER.readObject(jsonReader, null, "txEntity", features));
+                } else {
+                    // summary为只读派生属性，与其他未知字段一样跳过
+                    jsonReader.skipValue();
+                }
+            }
+            return message;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.httpclientdemo.model.codec;
+
+import com.alibaba.fastjson2.JSON;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.model.TxComnModel;
+import com.example.httpclientdemo.model.TxEntityModel;
+import com.example.httpclientdemo.model.TxHeaderModel;
+
+/**
+ * 报文模型预编译编解码器注册入口
+ * 注册后fastjson2对报文模型不再做反射/ASM字节码生成，首个请求即走最终代码路径，也无需为native-image配置反射元数据
+ */
+public final class MessageModelCodecs {
+
+    private static volatile boolean registered;
+
+    private MessageModelCodecs() {
+    }
+
+    /**
+     * 向fastjson2全局注册所有报文模型的ObjectWriter/ObjectReader，可重复调用
+     */
+    public static void register() {
+        if (registered) {
+            return;
+        }
+        synchronized (MessageModelCodecs.class) {
+            if (registered) {
+                return;
+            }
+            JSON.register(TxHeaderModel.class, TxHeaderModelCodec.WRITER);
+            JSON.register(TxHeaderModel.class, TxHeaderModelCodec.READER);
+            JSON.register(TxEntityModel.class, TxEntityModelCodec.WRITER);
+            JSON.register(TxEntityModel.class, TxEntityModelCodec.READER);
+            JSON.register(TxComnModel.class, TxComnModelCodec.WRITER);
+            JSON.register(TxComnModel.class, TxComnModelCodec.READER);
+            JSON.register(CompleteMessageModel.TxBodyModel.class, TxBodyModelCodec.WRITER);
+            JSON.register(CompleteMessageModel.TxBodyModel.class, TxBodyModelCodec.READER);
+            JSON.register(CompleteMessageModel.class, CompleteMessageModelCodec.WRITER);
+            JSON.register(CompleteMessageModel.class, CompleteMessageModelCodec.READER);
+            registered = true;
+        }
+    }
+}
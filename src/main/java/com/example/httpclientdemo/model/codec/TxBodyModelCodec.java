@@ -0,0 +1,110 @@
+package com.example.httpclientdemo.model.codec;
+
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.reader.ObjectReader;
+import com.alibaba.fastjson2.util.Fnv;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+import com.example.httpclientdemo.model.CompleteMessageModel.TxBodyModel;
+
+import java.lang.reflect.Type;
+
+import static com.example.httpclientdemo.model.codec.TxComnModelCodec.*;
+
+/**
+ * CompleteMessageModel.TxBodyModel预编译编解码器
+ */
+public final class TxBodyModelCodec {
+
+    public static final ObjectWriter<TxBodyModel> WRITER = new Writer();
+    public static final ObjectReader<TxBodyModel> READER = new Reader();
+
+    private static final long HASH_TX_ENTITY = Fnv.hashCode64("txEntity");
+
+    private TxBodyModelCodec() {
+    }
+
+    /**
+     * 写出txBody中与TxComnModel同构的字段（accountingDate、addtData、txComn1~8）
+     * CompleteMessageModel的txComn属性直接复用，避免为序列化临时构造TxComnModel
+     */
+    static void writeComnFields(JSONWriter jsonWriter, TxBodyModel body) {
+        CodecSupport.writeString(jsonWriter, "accountingDate", body.getAccountingDate());
+        CodecSupport.writeObject(jsonWriter, "addtData", body.peekAddtData());
+        CodecSupport.writeObject(jsonWriter, "txComn1", body.peekTxComn(1));
+        CodecSupport.writeObject(jsonWriter, "txComn2", body.peekTxComn(2));
+        CodecSupport.writeObject(jsonWriter, "txComn3", body.peekTxComn(3));
+        CodecSupport.writeObject(jsonWriter, "txComn4", body.peekTxComn(4));
+        CodecSupport.writeObject(jsonWriter, "txComn5", body.peekTxComn(5));
+        CodecSupport.writeObject(jsonWriter, "txComn6", body.peekTxComn(6));
+        CodecSupport.writeObject(jsonWriter, "txComn7", body.peekTxComn(7));
+        CodecSupport.writeObject(jsonWriter, "txComn8", body.peekTxComn(8));
+    }
+
+    static final class Writer implements ObjectWriter<TxBodyModel> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            TxBodyModel body = (TxBodyModel) object;
+            jsonWriter.startObject();
+            writeComnFields(jsonWriter, body);
+            if (body.getTxEntity() != null || jsonWriter.isEnabled(JSONWriter.Feature.WriteNulls)) {
+                jsonWriter.writeName("txEntity");
+                jsonWriter.writeColon();
+                TxEntityModelCodec.WRITER.write(jsonWriter, body.getTxEntity(), "txEntity", null, features);
+            }
+            jsonWriter.endObject();
+        }
+    }
+
+    static final class Reader implements ObjectReader<TxBodyModel> {
+
+        @Override
+        public Class<TxBodyModel> getObjectClass() {
+            return TxBodyModel.class;
+        }
+
+        @Override
+        public TxBodyModel readObject(JSONReader jsonReader, Type fieldType, Object fieldName, long features) {
+            if (jsonReader.nextIfNull()) {
+                return null;
+            }
+            CodecSupport.startObject(jsonReader, TxBodyModel.class);
+
+            TxBodyModel body = new TxBodyModel();
+            while (!jsonReader.nextIfObjectEnd()) {
+                long hash = jsonReader.readFieldNameHashCode();
+                if (hash == HASH_TX_ENTITY) {
+                    body.setTxEntity(TxEntityModelCodec.READER.readObject(jsonReader, null, "txEntity", features));
+                } else if (hash == HASH_ACCOUNTING_DATE) {
+                    body.setAccountingDate(jsonReader.readString());
+                } else if (hash == HASH_ADDT_DATA) {
+                    body.setAddtData(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_1) {
+                    body.setTxComn1(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_2) {
+                    body.setTxComn2(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_3) {
+                    body.setTxComn3(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_4) {
+                    body.setTxComn4(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_5) {
+                    body.setTxComn5(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_6) {
+                    body.setTxComn6(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_7) {
+                    body.setTxComn7(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_8) {
+                    body.setTxComn8(CodecSupport.readMap(jsonReader, features));
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.httpclientdemo.model.codec;
+
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.reader.ObjectReader;
+import com.alibaba.fastjson2.util.Fnv;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+import com.example.httpclientdemo.model.TxComnModel;
+
+import java.lang.reflect.Type;
+
+/**
+ * TxComnModel预编译编解码器
+ */
+public final class TxComnModelCodec {
+
+    public static final ObjectWriter<TxComnModel> WRITER = new Writer();
+    public static final ObjectReader<TxComnModel> READER = new Reader();
+
+    static final long HASH_ACCOUNTING_DATE = Fnv.hashCode64("accountingDate");
+    static final long HASH_ADDT_DATA = Fnv.hashCode64("addtData");
+    static final long HASH_TX_COMN_1 = Fnv.hashCode64("txComn1");
+    static final long HASH_TX_COMN_2 = Fnv.hashCode64("txComn2");
+    static final long HASH_TX_COMN_3 = Fnv.hashCode64("txComn3");
+    static final long HASH_TX_COMN_4 = Fnv.hashCode64("txComn4");
+    static final long HASH_TX_COMN_5 = Fnv.hashCode64("txComn5");
+    static final long HASH_TX_COMN_6 = Fnv.hashCode64("txComn6");
+    static final long HASH_TX_COMN_7 = Fnv.hashCode64("txComn7");
+    static final long HASH_TX_COMN_8 = Fnv.hashCode64("txComn8");
+
+    private TxComnModelCodec() {
+    }
+
+    static final class Writer implements ObjectWriter<TxComnModel> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            TxComnModel comn = (TxComnModel) object;
+            jsonWriter.startObject();
+            CodecSupport.writeString(jsonWriter, "accountingDate", comn.getAccountingDate());
+            CodecSupport.writeObject(jsonWriter, "addtData", comn.peekAddtData());
+            CodecSupport.writeObject(jsonWriter, "txComn1", comn.peekTxComn(1));
+            CodecSupport.writeObject(jsonWriter, "txComn2", comn.peekTxComn(2));
+            CodecSupport.writeObject(jsonWriter, "txComn3", comn.peekTxComn(3));
+            CodecSupport.writeObject(jsonWriter, "txComn4", comn.peekTxComn(4));
+            CodecSupport.writeObject(jsonWriter, "txComn5", comn.peekTxComn(5));
+            CodecSupport.writeObject(jsonWriter, "txComn6", comn.peekTxComn(6));
+            CodecSupport.writeObject(jsonWriter, "txComn7", comn.peekTxComn(7));
+            CodecSupport.writeObject(jsonWriter, "txComn8", comn.peekTxComn(8));
+            jsonWriter.endObject();
+        }
+    }
+
+    static final class Reader implements ObjectReader<TxComnModel> {
+
+        @Override
+        public Class<TxComnModel> getObjectClass() {
+            return TxComnModel.class;
+        }
+
+        @Override
+        public TxComnModel readObject(JSONReader jsonReader, Type fieldType, Object fieldName, long features) {
+            if (jsonReader.nextIfNull()) {
+                return null;
+            }
+            CodecSupport.startObject(jsonReader, TxComnModel.class);
+
+            TxComnModel comn = new TxComnModel();
+            while (!jsonReader.nextIfObjectEnd()) {
+                long hash = jsonReader.readFieldNameHashCode();
+                if (hash == HASH_ACCOUNTING_DATE) {
+                    comn.setAccountingDate(jsonReader.readString());
+                } else if (hash == HASH_ADDT_DATA) {
+                    comn.setAddtData(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_1) {
+                    comn.setTxComn1(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_2) {
+                    comn.setTxComn2(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_3) {
+                    comn.setTxComn3(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_4) {
+                    comn.setTxComn4(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_5) {
+                    comn.setTxComn5(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_6) {
+                    comn.setTxComn6(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_7) {
+                    comn.setTxComn7(CodecSupport.readMap(jsonReader, features));
+                } else if (hash == HASH_TX_COMN_8) {
+                    comn.setTxComn8(CodecSupport.readMap(jsonReader, features));
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            return comn;
+        }
+    }
+}
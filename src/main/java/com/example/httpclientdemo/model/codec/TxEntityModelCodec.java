@@ -0,0 +1,79 @@
+package com.example.httpclientdemo.model.codec;
+
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.reader.ObjectReader;
+import com.alibaba.fastjson2.util.Fnv;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+import com.example.httpclientdemo.model.TxEntityModel;
+
+import java.lang.reflect.Type;
+
+/**
+ * TxEntityModel预编译编解码器
+ * 扩展字段仍以additionalFields对象写出，与反射序列化结果一致
+ */
+public final class TxEntityModelCodec {
+
+    public static final ObjectWriter<TxEntityModel> WRITER = new Writer();
+    public static final ObjectReader<TxEntityModel> READER = new Reader();
+
+    private static final long HASH_ADDITIONAL_FIELDS = Fnv.hashCode64("additionalFields");
+    private static final long HASH_CUST_NO = Fnv.hashCode64("custNo");
+    private static final long HASH_QRY_VCHR_TP_CD = Fnv.hashCode64("qryVchrTpCd");
+    private static final long HASH_TX_SCENE_CD = Fnv.hashCode64("txSceneCd");
+
+    private TxEntityModelCodec() {
+    }
+
+    static final class Writer implements ObjectWriter<TxEntityModel> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            TxEntityModel entity = (TxEntityModel) object;
+            jsonWriter.startObject();
+            CodecSupport.writeObject(jsonWriter, "additionalFields", entity.getAdditionalFields());
+            CodecSupport.writeString(jsonWriter, "custNo", entity.getCustNo());
+            CodecSupport.writeString(jsonWriter, "qryVchrTpCd", entity.getQryVchrTpCd());
+            CodecSupport.writeString(jsonWriter, "txSceneCd", entity.getTxSceneCd());
+            jsonWriter.endObject();
+        }
+    }
+
+    static final class Reader implements ObjectReader<TxEntityModel> {
+
+        @Override
+        public Class<TxEntityModel> getObjectClass() {
+            return TxEntityModel.class;
+        }
+
+        @Override
+        public TxEntityModel readObject(JSONReader jsonReader, Type fieldType, Object fieldName, long features) {
+            if (jsonReader.nextIfNull()) {
+                return null;
+            }
+            CodecSupport.startObject(jsonReader, TxEntityModel.class);
+
+            TxEntityModel entity = new TxEntityModel();
+            while (!jsonReader.nextIfObjectEnd()) {
+                long hash = jsonReader.readFieldNameHashCode();
+                if (hash == HASH_CUST_NO) {
+                    entity.setCustNo(jsonReader.readString());
+                } else if (hash == HASH_QRY_VCHR_TP_CD) {
+                    entity.setQryVchrTpCd(jsonReader.readString());
+                } else if (hash == HASH_TX_SCENE_CD) {
+                    entity.setTxSceneCd(jsonReader.readString());
+                } else if (hash == HASH_ADDITIONAL_FIELDS) {
+                    entity.setAdditionalFields(CodecSupport.readMap(jsonReader, features));
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            return entity;
+        }
+    }
+}
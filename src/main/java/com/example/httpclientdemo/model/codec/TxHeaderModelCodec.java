@@ -0,0 +1,147 @@
+package com.example.httpclientdemo.model.codec;
+
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.reader.ObjectReader;
+import com.alibaba.fastjson2.util.Fnv;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+import com.example.httpclientdemo.model.TxHeaderModel;
+
+import java.lang.reflect.Type;
+
+/**
+ * TxHeaderModel预编译编解码器
+ * 字段按名称字典序写出，与反射序列化结果一致
+ */
+public final class TxHeaderModelCodec {
+
+    public static final ObjectWriter<TxHeaderModel> WRITER = new Writer();
+    public static final ObjectReader<TxHeaderModel> READER = new Reader();
+
+    private static final long HASH_AUTH_BRANCH_NO = Fnv.hashCode64("authBranchNo");
+    private static final long HASH_AUTH_TELLER_ID = Fnv.hashCode64("authTellerId");
+    private static final long HASH_CHANNEL_NO = Fnv.hashCode64("channelNo");
+    private static final long HASH_CLIENT_IP = Fnv.hashCode64("clientIp");
+    private static final long HASH_CUST_MGR_ID = Fnv.hashCode64("custMgrId");
+    private static final long HASH_GLOBAL_BUSI_TRACK_NO = Fnv.hashCode64("globalBusiTrackNo");
+    private static final long HASH_MAC_ADDR = Fnv.hashCode64("macAddr");
+    private static final long HASH_MSG_GRPT_MAC = Fnv.hashCode64("msgGrptMac");
+    private static final long HASH_ORG_NO = Fnv.hashCode64("orgNo");
+    private static final long HASH_REMARK = Fnv.hashCode64("remark");
+    private static final long HASH_REQ_SYS_DATE = Fnv.hashCode64("reqSysDate");
+    private static final long HASH_REQ_SYS_TIME = Fnv.hashCode64("reqSysTime");
+    private static final long HASH_SEQ_NO = Fnv.hashCode64("seqNo");
+    private static final long HASH_SUBTX_NO = Fnv.hashCode64("subtxNo");
+    private static final long HASH_TELLER_ID = Fnv.hashCode64("tellerId");
+    private static final long HASH_TERMINAL_ID = Fnv.hashCode64("terminalId");
+    private static final long HASH_TERMINAL_TYPE = Fnv.hashCode64("terminalType");
+    private static final long HASH_TX_BRANCH_NO = Fnv.hashCode64("txBranchNo");
+    private static final long HASH_TX_CODE = Fnv.hashCode64("txCode");
+    private static final long HASH_TX_SEND_TIME = Fnv.hashCode64("txSendTime");
+    private static final long HASH_TX_START_TIME = Fnv.hashCode64("txStartTime");
+
+    private TxHeaderModelCodec() {
+    }
+
+    static final class Writer implements ObjectWriter<TxHeaderModel> {
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            TxHeaderModel header = (TxHeaderModel) object;
+            jsonWriter.startObject();
+            CodecSupport.writeString(jsonWriter, "authBranchNo", header.getAuthBranchNo());
+            CodecSupport.writeString(jsonWriter, "authTellerId", header.getAuthTellerId());
+            CodecSupport.writeString(jsonWriter, "channelNo", header.getChannelNo());
+            CodecSupport.writeString(jsonWriter, "clientIp", header.getClientIp());
+            CodecSupport.writeString(jsonWriter, "custMgrId", header.getCustMgrId());
+            CodecSupport.writeString(jsonWriter, "globalBusiTrackNo", header.getGlobalBusiTrackNo());
+            CodecSupport.writeString(jsonWriter, "macAddr", header.getMacAddr());
+            CodecSupport.writeString(jsonWriter, "msgGrptMac", header.getMsgGrptMac());
+            CodecSupport.writeString(jsonWriter, "orgNo", header.getOrgNo());
+            CodecSupport.writeString(jsonWriter, "remark", header.getRemark());
+            CodecSupport.writeString(jsonWriter, "reqSysDate", header.getReqSysDate());
+            CodecSupport.writeString(jsonWriter, "reqSysTime", header.getReqSysTime());
+            CodecSupport.writeString(jsonWriter, "seqNo", header.getSeqNo());
+            CodecSupport.writeString(jsonWriter, "subtxNo", header.getSubtxNo());
+            CodecSupport.writeString(jsonWriter, "tellerId", header.getTellerId());
+            CodecSupport.writeString(jsonWriter, "terminalId", header.getTerminalId());
+            CodecSupport.writeString(jsonWriter, "terminalType", header.getTerminalType());
+            CodecSupport.writeString(jsonWriter, "txBranchNo", header.getTxBranchNo());
+            CodecSupport.writeString(jsonWriter, "txCode", header.getTxCode());
+            CodecSupport.writeString(jsonWriter, "txSendTime", header.getTxSendTime());
+            CodecSupport.writeString(jsonWriter, "txStartTime", header.getTxStartTime());
+            jsonWriter.endObject();
+        }
+    }
+
+    static final class Reader implements ObjectReader<TxHeaderModel> {
+
+        @Override
+        public Class<TxHeaderModel> getObjectClass() {
+            return TxHeaderModel.class;
+        }
+
+        @Override
+        public TxHeaderModel readObject(JSONReader jsonReader, Type fieldType, Object fieldName, long features) {
+            if (jsonReader.nextIfNull()) {
+                return null;
+            }
+            CodecSupport.startObject(jsonReader, TxHeaderModel.class);
+
+            TxHeaderModel header = new TxHeaderModel();
+            while (!jsonReader.nextIfObjectEnd()) {
+                long hash = jsonReader.readFieldNameHashCode();
+                if (hash == HASH_MSG_GRPT_MAC) {
+                    header.setMsgGrptMac(jsonReader.readString());
+                } else if (hash == HASH_GLOBAL_BUSI_TRACK_NO) {
+                    header.setGlobalBusiTrackNo(jsonReader.readString());
+                } else if (hash == HASH_SUBTX_NO) {
+                    header.setSubtxNo(jsonReader.readString());
+                } else if (hash == HASH_TX_START_TIME) {
+                    header.setTxStartTime(jsonReader.readString());
+                } else if (hash == HASH_TX_SEND_TIME) {
+                    header.setTxSendTime(jsonReader.readString());
+                } else if (hash == HASH_TX_CODE) {
+                    header.setTxCode(jsonReader.readString());
+                } else if (hash == HASH_CHANNEL_NO) {
+                    header.setChannelNo(jsonReader.readString());
+                } else if (hash == HASH_ORG_NO) {
+                    header.setOrgNo(jsonReader.readString());
+                } else if (hash == HASH_TELLER_ID) {
+                    header.setTellerId(jsonReader.readString());
+                } else if (hash == HASH_AUTH_TELLER_ID) {
+                    header.setAuthTellerId(jsonReader.readString());
+                } else if (hash == HASH_CUST_MGR_ID) {
+                    header.setCustMgrId(jsonReader.readString());
+                } else if (hash == HASH_TERMINAL_ID) {
+                    header.setTerminalId(jsonReader.readString());
+                } else if (hash == HASH_TERMINAL_TYPE) {
+                    header.setTerminalType(jsonReader.readString());
+                } else if (hash == HASH_TX_BRANCH_NO) {
+                    header.setTxBranchNo(jsonReader.readString());
+                } else if (hash == HASH_AUTH_BRANCH_NO) {
+                    header.setAuthBranchNo(jsonReader.readString());
+                } else if (hash == HASH_CLIENT_IP) {
+                    header.setClientIp(jsonReader.readString());
+                } else if (hash == HASH_MAC_ADDR) {
+                    header.setMacAddr(jsonReader.readString());
+                } else if (hash == HASH_REQ_SYS_DATE) {
+                    header.setReqSysDate(jsonReader.readString());
+                } else if (hash == HASH_REQ_SYS_TIME) {
+                    header.setReqSysTime(jsonReader.readString());
+                } else if (hash == HASH_SEQ_NO) {
+                    header.setSeqNo(jsonReader.readString());
+                } else if (hash == HASH_REMARK) {
+                    header.setRemark(jsonReader.readString());
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            return header;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.httpclientdemo.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量发送结果
+ * 按输入顺序保存每条报文的结果，并汇总吞吐量与延迟分位数
+ */
+public final class BatchResult {
+    
+    private final List<SendResult> results;
+    private final long elapsedNanos;
+    private final int successCount;
+    // 升序排列的单条延迟，用于计算分位数
+    private final long[] sortedLatencies;
+    
+    BatchResult(List<SendResult> results, long elapsedNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.elapsedNanos = elapsedNanos;
+        
+        int success = 0;
+        long[] latencies = new long[results.size()];
+        for (int i = 0; i < latencies.length; i++) {
+            SendResult result = results.get(i);
+            latencies[i] = result.getLatencyNanos();
+            if (result.isSuccess()) {
+                success++;
+            }
+        }
+        Arrays.sort(latencies);
+        this.successCount = success;
+        this.sortedLatencies = latencies;
+    }
+    
+    /**
+     * @return 与输入顺序一致的单条结果（只读）
+     */
+    public List<SendResult> getResults() {
+        return results;
+    }
+    
+    public int size() {
+        return results.size();
+    }
+    
+    public int getSuccessCount() {
+        return successCount;
+    }
+    
+    public int getFailureCount() {
+        return results.size() - successCount;
+    }
+    
+    // 整个批次的墙钟耗时
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    /**
+     * @return 批次吞吐量（条/秒），包含失败的报文
+     */
+    public double getThroughputPerSecond() {
+        return elapsedNanos > 0 ? results.size() * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+    
+    /**
+     * 计算单条延迟的分位数（最近秩法）
+     * @param percentile 百分位，取值范围(0, 100]
+     * @return 延迟纳秒数，空批次返回0
+     * @throws IllegalArgumentException 当百分位超出范围时抛出异常
+     */
+    public long getLatencyPercentileNanos(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]: " + percentile);
+        }
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length);
+        return sortedLatencies[Math.max(rank, 1) - 1];
+    }
+    
+    public long getMaxLatencyNanos() {
+        return sortedLatencies.length == 0 ? 0 : sortedLatencies[sortedLatencies.length - 1];
+    }
+    
+    /**
+     * @return 单行统计摘要，便于日志输出
+     */
+    public String getSummary() {
+        return String.format("BatchResult[size=%d, success=%d, failure=%d, elapsed=%.1fms, throughput=%.1f/s, " +
+                "p50=%.2fms, p90=%.2fms, p99=%.2fms, max=%.2fms]",
+            size(), successCount, getFailureCount(), elapsedNanos / 1_000_000.0, getThroughputPerSecond(),
+            getLatencyPercentileNanos(50) / 1_000_000.0, getLatencyPercentileNanos(90) / 1_000_000.0,
+            getLatencyPercentileNanos(99) / 1_000_000.0, getMaxLatencyNanos() / 1_000_000.0);
+    }
+    
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.httpclientdemo.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 单个下游的熔断器，按最近windowSize次调用的失败率与慢调用率判定
+ * 每次状态切换递增epoch，调用结束时携带放行时的epoch，跨状态的迟到结果被忽略
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    // 拒绝放行
+    static final long REJECTED = -1;
+
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    private final byte[] outcomes;
+    private int cursor;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAt;
+    private int probesAdmitted;
+    private int probeSuccesses;
+
+    CircuitBreaker(OverloadProtection protection) {
+        this(protection, System::nanoTime);
+    }
+
+    CircuitBreaker(OverloadProtection protection, LongSupplier nanoClock) {
+        this.minimumCalls = protection.getMinimumCalls();
+        this.failureRateThreshold = protection.getFailureRateThreshold();
+        this.slowCallNanos = protection.getSlowCallDuration().toNanos();
+        this.slowCallRateThreshold = protection.getSlowCallRateThreshold();
+        this.openNanos = protection.getOpenDuration().toNanos();
+        this.halfOpenProbes = protection.getHalfOpenProbes();
+        this.outcomes = new byte[protection.getWindowSize()];
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 申请放行一次调用
+     * @return 放行时的epoch，需在onResult/onIgnored中回传；拒绝时返回REJECTED
+     */
+    synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return REJECTED;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesAdmitted >= halfOpenProbes) {
+                return REJECTED;
+            }
+            probesAdmitted++;
+        }
+        return epoch;
+    }
+
+    /**
+     * 记录调用结果
+     * @param permitEpoch tryAcquire返回的epoch
+     * @param durationNanos 调用耗时
+     * @param failure 是否为下游故障
+     */
+    synchronized void onResult(long permitEpoch, long durationNanos, boolean failure) {
+        if (permitEpoch != epoch) {
+            return;
+        }
+        boolean slow = durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failure || slow) {
+                transitionTo(State.OPEN);
+            } else if (++probeSuccesses >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        if (recorded == outcomes.length) {
+            byte evicted = outcomes[cursor];
+            failures -= evicted & FAILURE;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        byte outcome = (byte) ((failure ? FAILURE : 0) | (slow ? SLOW : 0));
+        outcomes[cursor] = outcome;
+        failures += outcome & FAILURE;
+        slowCalls += (outcome & SLOW) >> 1;
+        cursor = (cursor + 1) % outcomes.length;
+
+        if (recorded >= minimumCalls
+                && (failures * 100.0 / recorded >= failureRateThreshold
+                || slowCalls * 100.0 / recorded >= slowCallRateThreshold)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * 放行的调用被取消（如对冲请求落败），不计入统计，归还半开状态的探测名额
+     * @param permitEpoch tryAcquire返回的epoch
+     */
+    synchronized void onIgnored(long permitEpoch) {
+        if (permitEpoch == epoch && state == State.HALF_OPEN && probesAdmitted > probeSuccesses) {
+            probesAdmitted--;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        epoch++;
+        probesAdmitted = 0;
+        probeSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        } else if (next == State.CLOSED) {
+            cursor = 0;
+            recorded = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.httpclientdemo.service;
+
+/**
+ * 下游熔断打开期间的快速失败，请求未发出
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException(String target) {
+        super("Circuit breaker is open for " + target);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.httpclientdemo.service;
+
+import com.github.luben.zstd.RecyclingBufferPool;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 按阈值压缩的请求体输出流
+ * 先将原文直接写入目标缓冲区；累计大小超过阈值时，取出已写入的前缀（不超过阈值大小）并回退写指针，
+ * 之后的内容经压缩器写回同一缓冲区，压缩结果不经中间缓冲区
+ * 前缀回写只对分多次写入的调用方有意义：HttpService经fastjson2写入请求体，fastjson2先将完整报文序列化到自身的
+ * UTF-8缓冲区再一次写入本流，因此压缩期间完整原文仍驻留在序列化缓冲区中
+ * 写入完成后须调用close()输出压缩尾部；非线程安全
+ */
+public final class CompressingOutputStream extends OutputStream {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final DataBuffer buffer;
+    private final OutputStream target;
+    private final int startPosition;
+    private final int threshold;
+    private final ContentCoding coding;
+    // 超过阈值后创建，null表示仍在写原文
+    private OutputStream encoder;
+    private boolean closed;
+
+    /**
+     * @param buffer 目标缓冲区，从当前写指针处开始写入
+     * @param threshold 压缩阈值（字节），原文超过该大小时转为压缩
+     * @param coding 压缩编码
+     */
+    public CompressingOutputStream(DataBuffer buffer, int threshold, ContentCoding coding) {
+        this.buffer = Objects.requireNonNull(buffer, "buffer");
+        this.coding = Objects.requireNonNull(coding, "coding");
+        this.target = buffer.asOutputStream();
+        this.startPosition = buffer.writePosition();
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (encoder == null && rawLength() + 1 > threshold) {
+            startEncoding();
+        }
+        (encoder != null ? encoder : target).write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (encoder == null && rawLength() + len > threshold) {
+            startEncoding();
+        }
+        (encoder != null ? encoder : target).write(b, off, len);
+    }
+
+    /**
+     * 结束写入，已压缩时输出压缩尾部并释放压缩器的本地内存；不释放目标缓冲区
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    /**
+     * @return 实际使用的编码，未超过阈值（原文写入）时返回null
+     */
+    public ContentCoding getContentCoding() {
+        return encoder != null ? coding : null;
+    }
+
+    private int rawLength() {
+        return buffer.writePosition() - startPosition;
+    }
+
+    private void startEncoding() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        byte[] prefix = new byte[rawLength()];
+        buffer.readPosition(startPosition);
+        buffer.read(prefix);
+        buffer.readPosition(startPosition);
+        buffer.writePosition(startPosition);
+        // zstd每个流需要约128KB的工作缓冲区，复用池化缓冲区避免每个请求重新分配
+        encoder = coding == ContentCoding.ZSTD
+                ? new ZstdOutputStream(target, RecyclingBufferPool.INSTANCE)
+                : new FastGzipOutputStream(target);
+        encoder.write(prefix);
+    }
+
+    /**
+     * 请求体压缩追求低延迟，使用最快压缩级别；JSON文本在该级别下已有较高压缩率
+     */
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+
+        private FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, GZIP_BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.httpclientdemo.service;
+
+/**
+ * 下游在途请求数已达自适应并发上限且无法排队时的快速失败，请求未发出
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String target, int limit) {
+        super("Concurrency limit " + limit + " exceeded for " + target);
+    }
+}
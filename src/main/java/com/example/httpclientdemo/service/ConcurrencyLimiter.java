@@ -0,0 +1,215 @@
+package com.example.httpclientdemo.service;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 单个下游的自适应并发限制（Vegas）
+ * 以观测到的最小RTT近似无负载RTT，估算下游排队长度 queue = limit * (1 - rttNoLoad / rtt)：
+ * 排队少于alpha时提高上限，多于beta时降低上限；下游故障时按乘性因子降低上限
+ */
+final class ConcurrencyLimiter {
+
+    // 故障时上限的乘性下降因子
+    private static final double DROP_FACTOR = 0.9;
+    // 每隔该样本数重新学习无负载RTT，跟随下游基线变化
+    private static final int RTT_NO_LOAD_RESET_INTERVAL = 1000;
+
+    private final String target;
+    private final int minLimit;
+    private final int maxLimit;
+    private final OverflowStrategy overflowStrategy;
+    private final int maxQueueSize;
+    private final Duration queueTimeout;
+    private final LongSupplier nanoClock;
+
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long rttNoLoadNanos = Long.MAX_VALUE;
+    private int samplesSinceReset;
+
+    ConcurrencyLimiter(String target, OverloadProtection protection) {
+        this(target, protection, System::nanoTime);
+    }
+
+    ConcurrencyLimiter(String target, OverloadProtection protection, LongSupplier nanoClock) {
+        this.target = target;
+        this.minLimit = protection.getMinLimit();
+        this.maxLimit = protection.getMaxLimit();
+        this.overflowStrategy = protection.getOverflowStrategy();
+        this.maxQueueSize = protection.getMaxQueueSize();
+        this.queueTimeout = protection.getQueueTimeout();
+        this.limit = protection.getInitialLimit();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 申请一个在途名额
+     * @return 名额的Mono；超过上限且无法排队时以ConcurrencyLimitExceededException失败
+     */
+    Mono<Permit> acquire() {
+        Mono<Permit> acquire = Mono.create(sink -> {
+            Permit permit = null;
+            Waiter waiter = null;
+            int currentLimit;
+            synchronized (this) {
+                currentLimit = (int) limit;
+                if (inFlight < currentLimit) {
+                    inFlight++;
+                    permit = new Permit(inFlight);
+                } else if (overflowStrategy == OverflowStrategy.QUEUE && waiters.size() < maxQueueSize) {
+                    waiter = new Waiter(sink);
+                    waiters.add(waiter);
+                }
+            }
+            if (permit != null) {
+                sink.success(permit);
+            } else if (waiter != null) {
+                sink.onCancel(waiter::cancel);
+            } else {
+                sink.error(new ConcurrencyLimitExceededException(target, currentLimit));
+            }
+        });
+        if (overflowStrategy == OverflowStrategy.REJECT) {
+            return acquire;
+        }
+        // 排队超时：取消等待者后以限流异常失败
+        return acquire.timeout(queueTimeout,
+                Mono.error(() -> new ConcurrencyLimitExceededException(target, getLimit())));
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void release(Permit permit, long rttNanos, boolean dropped, boolean sampled) {
+        List<Waiter> granted;
+        synchronized (this) {
+            inFlight--;
+            if (sampled) {
+                adjustLimit(permit.inFlightAtStart, rttNanos, dropped);
+            }
+            granted = grantWaiters();
+        }
+        for (Waiter waiter : granted) {
+            waiter.sink.success(waiter.permit);
+        }
+    }
+
+    private void adjustLimit(int inFlightAtStart, long rttNanos, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * DROP_FACTOR);
+            return;
+        }
+        if (++samplesSinceReset >= RTT_NO_LOAD_RESET_INTERVAL) {
+            samplesSinceReset = 0;
+            rttNoLoadNanos = rttNanos;
+        } else {
+            rttNoLoadNanos = Math.min(rttNoLoadNanos, rttNanos);
+        }
+        // 在途请求远低于上限时RTT不能反映上限是否合适，不调整
+        if (inFlightAtStart * 2 < limit) {
+            return;
+        }
+        double queue = limit * (1 - (double) rttNoLoadNanos / Math.max(rttNanos, 1));
+        double step = Math.max(1, Math.log10(limit));
+        if (queue < 3 * step) {
+            limit = Math.min(maxLimit, limit + step);
+        } else if (queue > 6 * step) {
+            limit = Math.max(minLimit, limit - step);
+        }
+    }
+
+    // 调用方持有锁；返回需在锁外通知的等待者
+    private List<Waiter> grantWaiters() {
+        List<Waiter> granted = null;
+        while (inFlight < (int) limit && !waiters.isEmpty()) {
+            Waiter waiter = waiters.poll();
+            waiter.permit = new Permit(inFlight + 1);
+            if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) {
+                inFlight++;
+                if (granted == null) {
+                    granted = new ArrayList<>(2);
+                }
+                granted.add(waiter);
+            }
+        }
+        return granted != null ? granted : List.of();
+    }
+
+    private synchronized void removeWaiter(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    /**
+     * 在途名额，结束时须调用一次release或releaseWithoutSample，重复调用被忽略
+     */
+    final class Permit {
+
+        private final long startNanos = nanoClock.getAsLong();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        long elapsedNanos() {
+            return nanoClock.getAsLong() - startNanos;
+        }
+
+        /**
+         * 归还名额并以本次调用的RTT与结果调整上限
+         * @param dropped 是否为下游故障（超时、连接失败、5xx、429）
+         */
+        void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                ConcurrencyLimiter.this.release(this, elapsedNanos(), dropped, true);
+            }
+        }
+
+        // 调用被取消，不作为RTT样本
+        void releaseWithoutSample() {
+            if (released.compareAndSet(false, true)) {
+                ConcurrencyLimiter.this.release(this, 0, false, false);
+            }
+        }
+    }
+
+    private final class Waiter {
+
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile Permit permit;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                removeWaiter(this);
+            } else if (state.get() == GRANTED) {
+                // 名额已分配但订阅者已取消，名额可能未送达，直接归还
+                permit.releaseWithoutSample();
+            }
+        }
+    }
+}
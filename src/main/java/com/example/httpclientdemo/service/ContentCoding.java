@@ -0,0 +1,32 @@
+package com.example.httpclientdemo.service;
+
+import io.netty.handler.codec.compression.Zstd;
+
+/**
+ * 请求体内容编码（Content-Encoding）
+ */
+public enum ContentCoding {
+    // 兼容性最好，所有对端都能解压
+    GZIP("gzip"),
+    // 大报文的压缩率与CPU开销均优于gzip，仅在对端声明支持时使用
+    ZSTD("zstd");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    // Content-Encoding/Accept-Encoding中的编码名
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * zstd依赖zstd-jni本地库，当前平台无法加载时不可用
+     * @return zstd是否可用
+     */
+    public static boolean isZstdAvailable() {
+        return Zstd.isAvailable();
+    }
+}
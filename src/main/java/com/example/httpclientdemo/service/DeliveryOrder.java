@@ -0,0 +1,11 @@
+package com.example.httpclientdemo.service;
+
+/**
+ * 流式发送的结果顺序
+ */
+public enum DeliveryOrder {
+    // 按输入顺序输出结果，先到的后序结果需等待前序结果，最多缓存maxConcurrency条
+    ORDERED,
+    // 按完成顺序输出结果，吞吐量不受慢请求阻塞
+    UNORDERED
+}
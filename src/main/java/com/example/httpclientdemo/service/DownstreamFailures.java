@@ -0,0 +1,75 @@
+package com.example.httpclientdemo.service;
+
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.ConnectException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 请求失败的统一分类，供重试判定、熔断与并发限制的结果回报以及指标outcome共用，保证三者对同一异常结论一致
+ * 传输层异常以WebClientRequestException包装，需沿cause链识别：
+ * 响应超时为Netty的ReadTimeoutException，获取连接超时为连接池的PoolAcquireTimeoutException（TimeoutException子类）
+ */
+final class DownstreamFailures {
+
+    private DownstreamFailures() {
+    }
+
+    /**
+     * 判断请求是否确定未送达下游：建连失败或获取连接超时
+     * @param error 请求失败的异常
+     * @return 未送达时返回true，此时非幂等下游也可安全重试
+     */
+    static boolean isUndelivered(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        // 传输层包装的TimeoutException只来自获取连接，响应超时是ReadTimeoutException
+        return error instanceof WebClientRequestException && hasCause(error.getCause(), TimeoutException.class);
+    }
+
+    /**
+     * 判断失败是否为超时：单次尝试超时，或传输层的响应超时、获取连接超时
+     * @param error 请求失败的异常
+     * @return 超时时返回true
+     */
+    static boolean isTimeout(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return true;
+        }
+        return error instanceof WebClientRequestException
+                && (hasCause(error.getCause(), ReadTimeoutException.class)
+                    || hasCause(error.getCause(), TimeoutException.class));
+    }
+
+    /**
+     * 判断失败是否说明下游不健康：超时、连接层错误、5xx与429；4xx等业务错误说明下游正常响应，
+     * 熔断与限流的快速失败未发出请求，均不计入
+     * @param error 请求失败的异常
+     * @return 下游不健康时返回true
+     */
+    static boolean isDownstreamFailure(Throwable error) {
+        if (isTimeout(error) || error instanceof WebClientRequestException) {
+            return true;
+        }
+        if (error instanceof WebClientResponseException) {
+            HttpStatusCode status = ((WebClientResponseException) error).getStatusCode();
+            return status.is5xxServerError() || status.value() == 429;
+        }
+        return false;
+    }
+
+    private static boolean hasCause(Throwable cause, Class<? extends Throwable> type) {
+        for (; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
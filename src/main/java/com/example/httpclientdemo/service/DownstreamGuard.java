@@ -0,0 +1,84 @@
+package com.example.httpclientdemo.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 单个下游的过载保护：先经熔断器判定，再占用自适应并发名额，调用结束后回报耗时与结果
+ */
+final class DownstreamGuard {
+
+    private final String target;
+    private final CircuitBreaker circuitBreaker;
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    DownstreamGuard(String target, OverloadProtection protection) {
+        this.target = target;
+        this.circuitBreaker = protection.isCircuitBreakerEnabled() ? new CircuitBreaker(protection) : null;
+        this.concurrencyLimiter = protection.isConcurrencyLimitEnabled()
+                ? new ConcurrencyLimiter(target, protection) : null;
+    }
+
+    /**
+     * 为单次尝试加上过载保护
+     * @param attempt 单次尝试，每次订阅发起一次请求
+     * @return 受保护的尝试；熔断打开或超出并发上限时快速失败，请求不会发出
+     */
+    <T> Mono<T> protect(Mono<T> attempt) {
+        return Mono.defer(() -> {
+            long epoch = circuitBreaker != null ? circuitBreaker.tryAcquire() : 0;
+            if (epoch == CircuitBreaker.REJECTED) {
+                return Mono.error(new CircuitBreakerOpenException(target));
+            }
+            // 取消信号可能同时从内外两层到达，保证每次放行只回报一次
+            AtomicBoolean settled = new AtomicBoolean();
+            if (concurrencyLimiter == null) {
+                long startTime = System.nanoTime();
+                return attempt
+                        .doOnSuccess(value -> settle(settled, epoch, System.nanoTime() - startTime, false))
+                        .doOnError(error -> settle(settled, epoch, System.nanoTime() - startTime,
+                                DownstreamFailures.isDownstreamFailure(error)))
+                        .doOnCancel(() -> ignore(settled, epoch));
+            }
+            return concurrencyLimiter.acquire()
+                    .doOnError(error -> ignore(settled, epoch))
+                    .flatMap(permit -> attempt
+                            .doOnSuccess(value -> {
+                                settle(settled, epoch, permit.elapsedNanos(), false);
+                                permit.release(false);
+                            })
+                            .doOnError(error -> {
+                                boolean failure = DownstreamFailures.isDownstreamFailure(error);
+                                settle(settled, epoch, permit.elapsedNanos(), failure);
+                                permit.release(failure);
+                            })
+                            .doOnCancel(() -> {
+                                ignore(settled, epoch);
+                                permit.releaseWithoutSample();
+                            }))
+                    // 排队期间被取消
+                    .doOnCancel(() -> ignore(settled, epoch));
+        });
+    }
+
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    private void settle(AtomicBoolean settled, long epoch, long durationNanos, boolean failure) {
+        if (settled.compareAndSet(false, true) && circuitBreaker != null) {
+            circuitBreaker.onResult(epoch, durationNanos, failure);
+        }
+    }
+
+    private void ignore(AtomicBoolean settled, long epoch) {
+        if (settled.compareAndSet(false, true) && circuitBreaker != null) {
+            circuitBreaker.onIgnored(epoch);
+        }
+    }
+}
@@ -1,43 +1,439 @@
 package com.example.httpclientdemo.service;
 
+import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONObject;
 import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.model.TxHeaderModel;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Service
 public class HttpService {
 
+    // 请求体缓冲区初始容量，覆盖常见报文大小，超出时自动扩容
+    private static final int INITIAL_BODY_BUFFER_SIZE = 2048;
+
     private final WebClient webClient;
+    private final RequestCompression requestCompression;
+    private final ResiliencePolicies resiliencePolicies;
+    private final OverloadProtection overloadProtection;
+    private final HttpServiceMetrics metrics;
+    private final MessageTracing tracing;
+    private final LatencyRecorder latencyRecorder;
+    // 已在响应Accept-Encoding中声明支持zstd的对端（scheme://host:port）
+    private final Set<String> zstdPeers = ConcurrentHashMap.newKeySet();
+    // 启用对冲的下游（host:port）的近期延迟
+    private final Map<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+    // 各下游（host:port）的熔断器与并发限制
+    private final Map<String, DownstreamGuard> downstreamGuards = new ConcurrentHashMap<>();
 
     public HttpService(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+        this(webClientBuilder, HttpServiceOptions.defaults());
+    }
+
+    /**
+     * @param webClientBuilder WebClient构建器，追踪开启时克隆后再添加过滤器，不修改传入的Builder
+     * @param options 压缩、弹性策略、过载保护、指标、追踪与延迟记录等可选组件，见{@link HttpServiceOptions#defaults()}
+     */
+    @Autowired
+    public HttpService(WebClient.Builder webClientBuilder, HttpServiceOptions options) {
+        MessageTracing tracing = options.getTracing();
+        // 追踪过滤器只加在本服务的WebClient上，不修改共享的Builder
+        this.webClient = tracing.isEnabled()
+                ? webClientBuilder.clone().filter(tracing.filter()).build()
+                : webClientBuilder.build();
+        this.requestCompression = options.getRequestCompression();
+        this.resiliencePolicies = options.getResiliencePolicies();
+        this.overloadProtection = options.getOverloadProtection();
+        this.metrics = options.getMetrics();
+        this.tracing = tracing;
+        this.latencyRecorder = options.getLatencyRecorder();
     }
 
     public String sendRequest(String url, JSONObject txHeader, JSONObject txBody) {
+        return sendRequestAsync(url, txHeader, txBody).block();
+    }
+
+    public String sendRequest(String url, CompleteMessageModel message) {
+        return sendRequestAsync(url, message).block();
+    }
+
+    /**
+     * 异步发送txHeader/txBody报文，不阻塞调用线程
+     * @param url 目标地址
+     * @param txHeader 报文头
+     * @param txBody 报文体
+     * @return 响应体的Mono，订阅时才真正发起请求
+     */
+    public Mono<String> sendRequestAsync(String url, JSONObject txHeader, JSONObject txBody) {
         JSONObject requestBody = new JSONObject();
         requestBody.put("txHeader", txHeader);
         requestBody.put("txBody", txBody);
 
-        return webClient.post()
-                .uri(url)
-                .body(Mono.just(requestBody.toJSONString()), String.class)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+        if (txHeader == null) {
+            return exchange(url, null, null, null, out -> JSON.writeTo(out, requestBody));
+        }
+        return exchange(url, txHeader.getString("txCode"), txHeader.getString("globalBusiTrackNo"),
+                txHeader.getString("subtxNo"), out -> JSON.writeTo(out, requestBody));
     }
 
-    public String sendRequest(String url, CompleteMessageModel message) {
+    /**
+     * 异步发送完整报文，不阻塞调用线程
+     * @param url 目标地址
+     * @param message 完整报文
+     * @return 响应体的Mono，订阅时才真正发起请求
+     * @throws IllegalArgumentException 当报文为null时抛出异常
+     */
+    public Mono<String> sendRequestAsync(String url, CompleteMessageModel message) {
         if (message == null) {
             throw new IllegalArgumentException("Message cannot be null");
         }
 
+        TxHeaderModel txHeader = message.getTxHeader();
+        if (txHeader == null) {
+            return exchange(url, null, null, null, message::writeTo);
+        }
+        return exchange(url, txHeader.getTxCode(), txHeader.getGlobalBusiTrackNo(), txHeader.getSubtxNo(),
+                message::writeTo);
+    }
+
+    /**
+     * 异步发送txHeader/txBody报文，以CompletableFuture形式返回
+     * @param url 目标地址
+     * @param txHeader 报文头
+     * @param txBody 报文体
+     * @return 响应体的CompletableFuture，请求立即发起
+     */
+    public CompletableFuture<String> sendRequestFuture(String url, JSONObject txHeader, JSONObject txBody) {
+        return sendRequestAsync(url, txHeader, txBody).toFuture();
+    }
+
+    /**
+     * 异步发送完整报文，以CompletableFuture形式返回
+     * @param url 目标地址
+     * @param message 完整报文
+     * @return 响应体的CompletableFuture，请求立即发起
+     * @throws IllegalArgumentException 当报文为null时抛出异常
+     */
+    public CompletableFuture<String> sendRequestFuture(String url, CompleteMessageModel message) {
+        return sendRequestAsync(url, message).toFuture();
+    }
+
+    /**
+     * 批量发送报文，阻塞直至全部完成
+     * @param url 目标地址
+     * @param messages 报文集合，按迭代顺序编号
+     * @param maxConcurrency 同时在途的最大请求数
+     * @return 按输入顺序排列的结果及吞吐量、延迟统计；单条失败不影响其他报文
+     * @throws IllegalArgumentException 当报文集合为null或maxConcurrency小于1时抛出异常
+     */
+    public BatchResult sendBatch(String url, Collection<CompleteMessageModel> messages, int maxConcurrency) {
+        return sendBatchAsync(url, messages, maxConcurrency).block();
+    }
+
+    /**
+     * 异步批量发送报文，在途请求数不超过maxConcurrency，复用连接池中的连接
+     * @param url 目标地址
+     * @param messages 报文集合，按迭代顺序编号
+     * @param maxConcurrency 同时在途的最大请求数
+     * @return 批量结果的Mono，订阅时才开始发送
+     * @throws IllegalArgumentException 当报文集合为null或maxConcurrency小于1时抛出异常
+     */
+    public Mono<BatchResult> sendBatchAsync(String url, Collection<CompleteMessageModel> messages, int maxConcurrency) {
+        if (messages == null) {
+            throw new IllegalArgumentException("Messages cannot be null");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+
+        return Mono.defer(() -> {
+            // 报文集合可能包含null，按下标发送，null报文记为失败结果
+            CompleteMessageModel[] source = messages.toArray(new CompleteMessageModel[0]);
+            SendResult[] results = new SendResult[source.length];
+            long startTime = System.nanoTime();
+            return Flux.range(0, source.length)
+                    .flatMap(index -> timedSend(url, index, source[index]), maxConcurrency)
+                    .doOnNext(result -> results[(int) result.getIndex()] = result)
+                    .then(Mono.fromSupplier(() -> new BatchResult(Arrays.asList(results), System.nanoTime() - startTime)));
+        });
+    }
+
+    /**
+     * 流式发送报文，适用于持续产生报文的无界数据源
+     * 上游按下游需求与并发上限逐步请求报文，内存占用与数据源长度无关
+     * @param url 目标地址
+     * @param messages 报文数据源
+     * @param maxConcurrency 同时在途的最大请求数
+     * @param order 结果输出顺序
+     * @return 单条结果的Flux，index为报文在数据源中的序号；单条失败以失败结果输出，不终止流
+     * @throws IllegalArgumentException 当数据源或order为null，或maxConcurrency小于1时抛出异常
+     */
+    public Flux<SendResult> sendStream(String url, Publisher<CompleteMessageModel> messages, int maxConcurrency,
+                                       DeliveryOrder order) {
+        if (messages == null || order == null) {
+            throw new IllegalArgumentException("Messages and order cannot be null");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+
+        Flux<CompleteMessageModel> source = Flux.from(messages);
+        if (order == DeliveryOrder.ORDERED) {
+            return source.index()
+                    .flatMapSequential(indexed -> timedSend(url, indexed.getT1(), indexed.getT2()),
+                            maxConcurrency, 1);
+        }
+        return source.index()
+                .flatMap(indexed -> timedSend(url, indexed.getT1(), indexed.getT2()), maxConcurrency, 1);
+    }
+
+    private Mono<SendResult> timedSend(String url, long index, CompleteMessageModel message) {
+        return Mono.defer(() -> {
+            long startTime = System.nanoTime();
+            return sendRequestAsync(url, message)
+                    .map(response -> SendResult.success(index, response, System.nanoTime() - startTime))
+                    // 空响应体同样视为成功，保证每条报文都有结果
+                    .switchIfEmpty(Mono.fromSupplier(() -> SendResult.success(index, null, System.nanoTime() - startTime)))
+                    .onErrorResume(error -> Mono.just(SendResult.failure(index, error, System.nanoTime() - startTime)));
+        }).onErrorResume(error -> Mono.just(SendResult.failure(index, error, 0L)));
+    }
+
+    private Mono<String> exchange(String url, String txCode, String trackNo, String subtxNo,
+                                  Consumer<OutputStream> bodyWriter) {
+        HttpServiceMetrics.Meters meters = metrics.meters(url, txCode);
+        ResiliencePolicy policy = resiliencePolicies.policyFor(url);
+        Mono<String> call = post(url, bodyWriter, meters);
+        if (policy != ResiliencePolicy.none() || overloadProtection.isEnabled()) {
+            call = resilient(url, call, policy);
+        }
+        if (meters != null) {
+            call = measured(call, meters);
+        }
+        if (latencyRecorder.isEnabled()) {
+            call = latencyRecorder.recorded(call);
+        }
+        if (tracing.isEnabled()) {
+            call = tracing.traced(call, ResiliencePolicies.authorityOf(url), txCode, trackNo, subtxNo);
+        }
+        return call;
+    }
+
+    /**
+     * 记录报文往返耗时与响应大小，耗时覆盖重试、对冲与退避等待，按最终结果分类
+     */
+    private static Mono<String> measured(Mono<String> call, HttpServiceMetrics.Meters meters) {
+        return Mono.defer(() -> {
+            long startTime = System.nanoTime();
+            return call.doOnSuccess(response -> {
+                meters.recordRoundTrip(RequestOutcome.SUCCESS, System.nanoTime() - startTime);
+                if (response != null) {
+                    meters.recordResponseSize(response);
+                }
+            }).doOnError(error -> meters.recordRoundTrip(RequestOutcome.of(error), System.nanoTime() - startTime));
+        });
+    }
+
+    /**
+     * 在响应式链中叠加容错：单次尝试超时 -> 熔断与并发限制 -> 对冲 -> 指数退避重试
+     * 熔断器与并发限制按尝试计数，重试与对冲请求同样受其约束；call每次订阅都会重新序列化并发起一次请求
+     */
+    private Mono<String> resilient(String url, Mono<String> call, ResiliencePolicy policy) {
+        Mono<String> attempt = policy.getTimeout() != null ? call.timeout(policy.getTimeout()) : call;
+        if (overloadProtection.isEnabled()) {
+            DownstreamGuard guard = downstreamGuards.computeIfAbsent(ResiliencePolicies.authorityOf(url),
+                    target -> new DownstreamGuard(target, overloadProtection));
+            attempt = guard.protect(attempt);
+        }
+        if (policy.isHedgingEnabled()) {
+            LatencyTracker tracker = latencyTrackers.computeIfAbsent(ResiliencePolicies.authorityOf(url),
+                    key -> new LatencyTracker(policy.getHedgePercentile()));
+            attempt = hedged(attempt, tracker, policy.getHedgeInitialDelay());
+        }
+        if (policy.getMaxRetries() > 0) {
+            boolean idempotent = policy.isIdempotent();
+            attempt = attempt.retryWhen(Retry.backoff(policy.getMaxRetries(), policy.getInitialBackoff())
+                    .maxBackoff(policy.getMaxBackoff())
+                    .jitter(policy.getJitter())
+                    .filter(error -> isRetryable(error, idempotent))
+                    // 重试耗尽时抛出最后一次的原始异常，调用方看到的异常类型与不重试时一致
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        }
+        return attempt;
+    }
+
+    /**
+     * 首次尝试在延迟分位数内未返回时发起第二次尝试，先返回者胜出，另一尝试被取消
+     * 首次尝试在对冲发出前失败时立即传播该异常，不再发出对冲，避免与外层重试叠加成倍放大对故障下游的请求
+     */
+    private static Mono<String> hedged(Mono<String> attempt, LatencyTracker tracker, Duration initialDelay) {
+        // 空响应体也是有效结果，包装为Optional以免被firstWithValue视为无值
+        Mono<Optional<String>> timedAttempt = Mono.defer(() -> {
+            long startTime = System.nanoTime();
+            return attempt.map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .doOnNext(response -> tracker.record(System.nanoTime() - startTime));
+        });
+        return Mono.defer(() -> {
+            long percentileNanos = tracker.percentileNanos();
+            Duration delay = percentileNanos > 0 ? Duration.ofNanos(percentileNanos) : initialDelay;
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+            Mono<Optional<String>> primary = timedAttempt.doOnError(error -> primaryFailed.tryEmitValue(true));
+            // 首次尝试失败时取消尚未触发的对冲定时器；已发出的对冲继续等待结果
+            Mono<Optional<String>> hedge = Mono.delay(delay)
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> timedAttempt);
+            return Mono.firstWithValue(primary, hedge);
+        })
+                // 没有尝试返回结果时，firstWithValue以NoSuchElementException失败，各来源的异常按顺序组合在cause中，取首次尝试的异常
+                .onErrorMap(error -> error instanceof NoSuchElementException && error.getCause() != null,
+                        error -> Exceptions.unwrapMultiple(error.getCause()).get(0))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * 判断失败是否可以重试
+     * 确定未送达下游的失败（建连失败、获取连接超时）总是可以重试；
+     * 超时、连接中断、429与5xx可能已被下游处理，仅幂等下游重试；熔断与限流的快速失败不重试
+     */
+    static boolean isRetryable(Throwable error, boolean idempotent) {
+        return DownstreamFailures.isUndelivered(error) || idempotent && DownstreamFailures.isDownstreamFailure(error);
+    }
+
+    // 供测试观察各下游的熔断与限流状态
+    DownstreamGuard downstreamGuard(String url) {
+        return downstreamGuards.get(ResiliencePolicies.authorityOf(url));
+    }
+
+    private Mono<String> post(String url, Consumer<OutputStream> bodyWriter, HttpServiceMetrics.Meters meters) {
+        if (!requestCompression.isZstdEnabled()) {
+            ContentCoding coding = requestCompression.isEnabled() ? ContentCoding.GZIP : null;
+            return webClient.post()
+                    .uri(url)
+                    .body(jsonBody(bodyWriter, coding, requestCompression.getThreshold(), meters))
+                    .retrieve()
+                    .bodyToMono(String.class);
+        }
+
+        // 允许zstd时需读取响应头，记录对端是否接受zstd编码的请求体（RFC 7694）
+        String peer = peerOf(url);
+        ContentCoding coding = requestCompression.codingFor(zstdPeers.contains(peer));
         return webClient.post()
                 .uri(url)
-                .body(Mono.just(message.toJson()), String.class)
+                .body(jsonBody(bodyWriter, coding, requestCompression.getThreshold(), meters))
                 .retrieve()
-                .bodyToMono(String.class)
-                .block();
+                .toEntity(String.class)
+                .mapNotNull(entity -> {
+                    if (coding != ContentCoding.ZSTD && acceptsZstd(entity.getHeaders())) {
+                        zstdPeers.add(peer);
+                    }
+                    return entity.getBody();
+                });
+    }
+
+    // 编码名须完全等于zstd；带q=0（明确拒绝）或q值无法解析时不视为接受
+    static boolean acceptsZstd(HttpHeaders headers) {
+        List<String> values = headers.get(HttpHeaders.ACCEPT_ENCODING);
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            for (String token : value.split(",")) {
+                String[] parts = token.split(";");
+                if (parts[0].trim().equalsIgnoreCase(ContentCoding.ZSTD.getToken()) && qualityOf(parts) > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter.substring(separator + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // 截取scheme://host:port，同一对端的不同路径共享协商结果
+    private static String peerOf(String url) {
+        int schemeEnd = url.indexOf("://");
+        int pathStart = url.indexOf('/', schemeEnd < 0 ? 0 : schemeEnd + 3);
+        return pathStart < 0 ? url : url.substring(0, pathStart);
+    }
+
+    /**
+     * 将JSON以UTF-8字节直接写入底层连接分配的（Netty池化）缓冲区，
+     * 避免先生成String再由编码器转码复制一次；指定编码时超过阈值的请求体在写入过程中压缩，
+     * 关闭流（输出压缩尾部）后再计算Content-Length；meters不为null时记录序列化耗时与发送字节数
+     */
+    private static BodyInserter<Object, ReactiveHttpOutputMessage> jsonBody(Consumer<OutputStream> bodyWriter,
+                                                                            ContentCoding coding, int threshold,
+                                                                            HttpServiceMetrics.Meters meters) {
+        return (outputMessage, context) -> {
+            long startTime = meters != null ? System.nanoTime() : 0L;
+            DataBuffer buffer = outputMessage.bufferFactory().allocateBuffer(INITIAL_BODY_BUFFER_SIZE);
+            ContentCoding applied = null;
+            try {
+                if (coding == null) {
+                    bodyWriter.accept(buffer.asOutputStream());
+                } else {
+                    try (CompressingOutputStream out = new CompressingOutputStream(buffer, threshold, coding)) {
+                        bodyWriter.accept(out);
+                        applied = out.getContentCoding();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            } catch (RuntimeException e) {
+                DataBufferUtils.release(buffer);
+                return Mono.error(e);
+            }
+            outputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            if (applied != null) {
+                outputMessage.getHeaders().set(HttpHeaders.CONTENT_ENCODING, applied.getToken());
+            }
+            outputMessage.getHeaders().setContentLength(buffer.readableByteCount());
+            if (meters != null) {
+                meters.recordSerialization(System.nanoTime() - startTime, buffer.readableByteCount());
+            }
+            return outputMessage.writeWith(Mono.just(buffer));
+        };
     }
 }
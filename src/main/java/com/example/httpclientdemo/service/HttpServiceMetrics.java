@@ -0,0 +1,221 @@
+package com.example.httpclientdemo.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HttpService与ApiController热点路径的Micrometer指标
+ * 按目标地址与txCode缓存已注册的计量器，命中缓存时记录一次指标不分配标签对象；
+ * 目标地址与txCode的取值个数有上限，超出后归入"other"，避免标签基数失控
+ */
+public final class HttpServiceMetrics {
+
+    // 报文往返耗时（含重试与对冲），标签：host、txCode、outcome
+    public static final String ROUND_TRIP = "http.client.round.trip";
+    // 请求体序列化（含压缩）耗时，标签：host、txCode
+    public static final String SERIALIZATION = "http.client.serialization";
+    // 实际发送的请求体字节数（压缩后），标签：host、txCode
+    public static final String REQUEST_SIZE = "http.client.request.size";
+    // 响应体字节数（UTF-8），标签：host、txCode
+    public static final String RESPONSE_SIZE = "http.client.response.size";
+    // /api/send请求体解析耗时，标签：txCode
+    public static final String API_PARSE = "http.client.api.parse";
+
+    static final String OTHER = "other";
+    static final String NONE = "none";
+
+    private static final int MAX_TARGETS = 64;
+    private static final int MAX_CACHED_URLS = 1024;
+    private static final int MAX_TX_CODES = 256;
+    private static final HttpServiceMetrics NOOP = new HttpServiceMetrics(null);
+
+    private final MeterRegistry registry;
+    // 以host:port为键，上限按host计数，同一host的不同路径与查询参数共用标签
+    private final Map<String, TargetMeters> targets = new ConcurrentHashMap<>();
+    // 以调用方传入的url为键的查找缓存，常量url命中时无需截取host；超过上限的url每次截取host
+    private final Map<String, TargetMeters> targetsByUrl = new ConcurrentHashMap<>();
+    private final Map<String, Timer> apiParseTimers = new ConcurrentHashMap<>();
+
+    private HttpServiceMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return 不记录任何指标
+     */
+    public static HttpServiceMetrics noop() {
+        return NOOP;
+    }
+
+    /**
+     * @param registry 指标注册表
+     * @return 向registry注册计量器的实例
+     * @throws IllegalArgumentException 当registry为null时抛出异常
+     */
+    public static HttpServiceMetrics create(MeterRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
+        }
+        return new HttpServiceMetrics(registry);
+    }
+
+    public boolean isEnabled() {
+        return registry != null;
+    }
+
+    /**
+     * 记录/api/send请求体解析耗时
+     * @param txCode 交易码，可为null
+     * @param nanos 耗时（纳秒）
+     */
+    public void recordApiParse(String txCode, long nanos) {
+        if (registry == null) {
+            return;
+        }
+        String key = txCode != null ? txCode : NONE;
+        Timer timer = apiParseTimers.get(key);
+        if (timer == null) {
+            String tag = apiParseTimers.size() < MAX_TX_CODES ? key : OTHER;
+            timer = apiParseTimers.computeIfAbsent(tag, value -> Timer.builder(API_PARSE)
+                    .description("Request body parse time of /api/send")
+                    .tag("txCode", value)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 查找目标地址与交易码对应的计量器
+     * @param url 目标地址
+     * @param txCode 交易码，可为null
+     * @return 计量器集合；未启用时返回null
+     */
+    Meters meters(String url, String txCode) {
+        if (registry == null) {
+            return null;
+        }
+        TargetMeters target = targetsByUrl.get(url);
+        if (target == null) {
+            target = target(ResiliencePolicies.authorityOf(url));
+            if (targetsByUrl.size() < MAX_CACHED_URLS) {
+                targetsByUrl.putIfAbsent(url, target);
+            }
+        }
+        return target.meters(txCode != null ? txCode : NONE);
+    }
+
+    private TargetMeters target(String host) {
+        TargetMeters target = targets.get(host);
+        if (target == null) {
+            target = targets.size() < MAX_TARGETS
+                    ? targets.computeIfAbsent(host, TargetMeters::new)
+                    : targets.computeIfAbsent(OTHER, TargetMeters::new);
+        }
+        return target;
+    }
+
+    private final class TargetMeters {
+
+        private final String host;
+        private final Map<String, Meters> byTxCode = new ConcurrentHashMap<>();
+
+        private TargetMeters(String host) {
+            this.host = host;
+        }
+
+        Meters meters(String txCode) {
+            Meters meters = byTxCode.get(txCode);
+            if (meters == null) {
+                String tag = byTxCode.size() < MAX_TX_CODES ? txCode : OTHER;
+                meters = byTxCode.computeIfAbsent(tag, value -> new Meters(Tags.of("host", host, "txCode", value)));
+            }
+            return meters;
+        }
+    }
+
+    /**
+     * 单个目标地址与交易码的计量器，round-trip按outcome惰性注册
+     */
+    final class Meters {
+
+        private final Tags tags;
+        private final Timer serialization;
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+        private final Timer[] roundTrip = new Timer[RequestOutcome.values().length];
+
+        private Meters(Tags tags) {
+            this.tags = tags;
+            this.serialization = Timer.builder(SERIALIZATION)
+                    .description("Request body serialization and compression time")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.requestSize = DistributionSummary.builder(REQUEST_SIZE)
+                    .description("Request body bytes sent")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.responseSize = DistributionSummary.builder(RESPONSE_SIZE)
+                    .description("Response body bytes received")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        void recordSerialization(long nanos, int bytes) {
+            serialization.record(nanos, TimeUnit.NANOSECONDS);
+            requestSize.record(bytes);
+        }
+
+        void recordRoundTrip(RequestOutcome outcome, long nanos) {
+            Timer timer = roundTrip[outcome.ordinal()];
+            if (timer == null) {
+                // 并发首次注册时注册表返回同一个计量器
+                timer = Timer.builder(ROUND_TRIP)
+                        .description("Round-trip time of a message including retries")
+                        .tags(tags)
+                        .tag("outcome", outcome.getTagValue())
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(registry);
+                roundTrip[outcome.ordinal()] = timer;
+            }
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        void recordResponseSize(String body) {
+            responseSize.record(utf8Length(body));
+        }
+    }
+
+    // 不编码即可得到UTF-8字节数
+    static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes++;
+                } else if (Character.isHighSurrogate(c)) {
+                    // 代理对共4字节，两个char已计2字节
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
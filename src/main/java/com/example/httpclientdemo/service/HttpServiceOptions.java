@@ -0,0 +1,116 @@
+package com.example.httpclientdemo.service;
+
+/**
+ * HttpService的可选协作组件：请求压缩、重试/超时/对冲策略、过载保护、指标、追踪与延迟记录
+ * 不可变对象，链式方法返回新实例；未指定的组件取关闭/空实现
+ */
+public final class HttpServiceOptions {
+
+    private static final HttpServiceOptions DEFAULTS = new HttpServiceOptions(RequestCompression.disabled(),
+            ResiliencePolicies.none(), OverloadProtection.disabled(), HttpServiceMetrics.noop(),
+            MessageTracing.noop(), LatencyRecorder.disabled());
+
+    private final RequestCompression requestCompression;
+    private final ResiliencePolicies resiliencePolicies;
+    private final OverloadProtection overloadProtection;
+    private final HttpServiceMetrics metrics;
+    private final MessageTracing tracing;
+    private final LatencyRecorder latencyRecorder;
+
+    private HttpServiceOptions(RequestCompression requestCompression, ResiliencePolicies resiliencePolicies,
+                               OverloadProtection overloadProtection, HttpServiceMetrics metrics,
+                               MessageTracing tracing, LatencyRecorder latencyRecorder) {
+        this.requestCompression = requestCompression;
+        this.resiliencePolicies = resiliencePolicies;
+        this.overloadProtection = overloadProtection;
+        this.metrics = metrics;
+        this.tracing = tracing;
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    /**
+     * @return 不压缩、不重试、不限流、不记录指标/追踪/延迟
+     */
+    public static HttpServiceOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @throws IllegalArgumentException 当requestCompression为null时抛出异常
+     */
+    public HttpServiceOptions withRequestCompression(RequestCompression requestCompression) {
+        return new HttpServiceOptions(requireNonNull(requestCompression, "requestCompression"), resiliencePolicies,
+                overloadProtection, metrics, tracing, latencyRecorder);
+    }
+
+    /**
+     * @throws IllegalArgumentException 当resiliencePolicies为null时抛出异常
+     */
+    public HttpServiceOptions withResiliencePolicies(ResiliencePolicies resiliencePolicies) {
+        return new HttpServiceOptions(requestCompression, requireNonNull(resiliencePolicies, "resiliencePolicies"),
+                overloadProtection, metrics, tracing, latencyRecorder);
+    }
+
+    /**
+     * @throws IllegalArgumentException 当overloadProtection为null时抛出异常
+     */
+    public HttpServiceOptions withOverloadProtection(OverloadProtection overloadProtection) {
+        return new HttpServiceOptions(requestCompression, resiliencePolicies,
+                requireNonNull(overloadProtection, "overloadProtection"), metrics, tracing, latencyRecorder);
+    }
+
+    /**
+     * @throws IllegalArgumentException 当metrics为null时抛出异常
+     */
+    public HttpServiceOptions withMetrics(HttpServiceMetrics metrics) {
+        return new HttpServiceOptions(requestCompression, resiliencePolicies, overloadProtection,
+                requireNonNull(metrics, "metrics"), tracing, latencyRecorder);
+    }
+
+    /**
+     * @throws IllegalArgumentException 当tracing为null时抛出异常
+     */
+    public HttpServiceOptions withTracing(MessageTracing tracing) {
+        return new HttpServiceOptions(requestCompression, resiliencePolicies, overloadProtection, metrics,
+                requireNonNull(tracing, "tracing"), latencyRecorder);
+    }
+
+    /**
+     * @throws IllegalArgumentException 当latencyRecorder为null时抛出异常
+     */
+    public HttpServiceOptions withLatencyRecorder(LatencyRecorder latencyRecorder) {
+        return new HttpServiceOptions(requestCompression, resiliencePolicies, overloadProtection, metrics, tracing,
+                requireNonNull(latencyRecorder, "latencyRecorder"));
+    }
+
+    public RequestCompression getRequestCompression() {
+        return requestCompression;
+    }
+
+    public ResiliencePolicies getResiliencePolicies() {
+        return resiliencePolicies;
+    }
+
+    public OverloadProtection getOverloadProtection() {
+        return overloadProtection;
+    }
+
+    public HttpServiceMetrics getMetrics() {
+        return metrics;
+    }
+
+    public MessageTracing getTracing() {
+        return tracing;
+    }
+
+    public LatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    private static <T> T requireNonNull(T value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        return value;
+    }
+}
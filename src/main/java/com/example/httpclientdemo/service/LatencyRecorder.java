@@ -0,0 +1,181 @@
+package com.example.httpclientdemo.service;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 出站请求的全量延迟直方图（HdrHistogram，微秒）
+ * 每个记录线程（通常是少量事件循环线程）持有独立的SingleWriterRecorder，写入无锁且无等待；
+ * snapshot()时合并各线程的区间直方图，读取方加锁，不影响写入
+ * 延迟从订阅时刻起算；调用方以固定速率发送时可经withIntendedStart()传入计划发送时刻，
+ * 请求在客户端排队或发送被推迟的时间同样计入延迟，结果不受协调遗漏影响
+ * 线程结束后其记录器仍保留在合并列表中，已记录的数据不丢失
+ */
+public final class LatencyRecorder {
+
+    /** Reactor Context中计划发送时刻（System.nanoTime()）的键 */
+    public static final String INTENDED_START_KEY = LatencyRecorder.class.getName() + ".intendedStart";
+
+    private static final int DEFAULT_SIGNIFICANT_DIGITS = 3;
+    // .hgrm以毫秒输出
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final LatencyRecorder DISABLED = new LatencyRecorder(DEFAULT_SIGNIFICANT_DIGITS, null);
+
+    private final int significantDigits;
+    private final Path exportPath;
+    private final List<SingleWriterRecorder> recorders = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<SingleWriterRecorder> threadRecorder = ThreadLocal.withInitial(this::register);
+    // 已合并的累计直方图，由snapshot()与reset()在锁内维护
+    private final Histogram accumulated;
+
+    private LatencyRecorder(int significantDigits, Path exportPath) {
+        this.significantDigits = significantDigits;
+        this.exportPath = exportPath;
+        this.accumulated = new Histogram(significantDigits);
+    }
+
+    /**
+     * @return 不记录任何延迟
+     */
+    public static LatencyRecorder disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @return 3位有效数字、不导出文件的记录器
+     */
+    public static LatencyRecorder create() {
+        return create(DEFAULT_SIGNIFICANT_DIGITS, null);
+    }
+
+    /**
+     * @param significantDigits 有效数字位数，0~5
+     * @param exportPath close()时写入直方图的文件，可为null
+     * @return LatencyRecorder实例
+     * @throws IllegalArgumentException 当有效数字位数超出范围时抛出异常
+     */
+    public static LatencyRecorder create(int significantDigits, Path exportPath) {
+        if (significantDigits < 0 || significantDigits > 5) {
+            throw new IllegalArgumentException("Significant digits must be between 0 and 5: " + significantDigits);
+        }
+        return new LatencyRecorder(significantDigits, exportPath);
+    }
+
+    public boolean isEnabled() {
+        return this != DISABLED;
+    }
+
+    /**
+     * 为call指定计划发送时刻，HttpService记录延迟时以该时刻为起点
+     * @param call sendRequestAsync等返回的Mono
+     * @param intendedStartNanos 计划发送时刻（System.nanoTime()）
+     * @return 包装后的Mono
+     */
+    public static <T> Mono<T> withIntendedStart(Mono<T> call, long intendedStartNanos) {
+        return call.contextWrite(Context.of(INTENDED_START_KEY, intendedStartNanos));
+    }
+
+    /**
+     * 在call成功或失败时记录延迟，记录先于结果传给调用方；取消的请求不记录
+     */
+    <T> Mono<T> recorded(Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            Long intended = context.getOrDefault(INTENDED_START_KEY, null);
+            long startTime = intended != null ? intended : System.nanoTime();
+            return call.doOnSuccess(value -> record(System.nanoTime() - startTime))
+                    .doOnError(error -> record(System.nanoTime() - startTime));
+        });
+    }
+
+    /**
+     * @param nanos 延迟（纳秒），负值按0记录
+     */
+    public void record(long nanos) {
+        if (!isEnabled()) {
+            return;
+        }
+        threadRecorder.get().recordValue(Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    /**
+     * 合并各线程自上次snapshot()以来的记录
+     * @return 自创建或上次reset()以来的累计直方图副本（微秒）
+     */
+    public synchronized Histogram snapshot() {
+        drain();
+        return accumulated.copy();
+    }
+
+    /**
+     * 清空已记录的延迟
+     */
+    public synchronized void reset() {
+        drain();
+        accumulated.reset();
+    }
+
+    /**
+     * @return 累计直方图的HdrHistogram百分位分布文本（.hgrm格式，单位毫秒）
+     */
+    public String percentileDistribution() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        print(snapshot(), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 将累计直方图以.hgrm格式（单位毫秒）写入文件
+     * @param file 目标文件，父目录不存在时创建
+     * @throws IOException 写入失败时抛出异常
+     */
+    public void writeTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            print(snapshot(), out);
+        }
+    }
+
+    /**
+     * 配置了导出文件时写入累计直方图，由Spring在容器关闭时调用
+     * @throws IOException 写入失败时抛出异常
+     */
+    public void close() throws IOException {
+        if (isEnabled() && exportPath != null) {
+            writeTo(exportPath);
+        }
+    }
+
+    private SingleWriterRecorder register() {
+        SingleWriterRecorder recorder = new SingleWriterRecorder(significantDigits);
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    private void drain() {
+        for (SingleWriterRecorder recorder : recorders) {
+            accumulated.add(recorder.getIntervalHistogram());
+        }
+    }
+
+    private static void print(Histogram histogram, OutputStream out) {
+        PrintStream printer = new PrintStream(out, false, StandardCharsets.UTF_8);
+        histogram.outputPercentileDistribution(printer, MICROS_PER_MILLI);
+        printer.flush();
+    }
+}
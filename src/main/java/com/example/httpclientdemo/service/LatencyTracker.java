@@ -0,0 +1,43 @@
+package com.example.httpclientdemo.service;
+
+import java.util.Arrays;
+
+/**
+ * 单个下游的近期延迟分位数估计，用于确定对冲请求的发起时机
+ * 保留最近WINDOW个成功请求的延迟，每RECOMPUTE_INTERVAL个样本重新计算一次分位数
+ */
+final class LatencyTracker {
+
+    private static final int WINDOW = 1024;
+    private static final int MIN_SAMPLES = 100;
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final double percentile;
+    private final long[] samples = new long[WINDOW];
+    private long count;
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[(int) (count % WINDOW)] = latencyNanos;
+        count++;
+        if (count == MIN_SAMPLES || (count > MIN_SAMPLES && count % RECOMPUTE_INTERVAL == 0)) {
+            int size = (int) Math.min(count, WINDOW);
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            // 最近秩法，与BatchResult一致
+            int rank = (int) Math.ceil(percentile / 100.0 * size);
+            percentileNanos = sorted[Math.max(rank, 1) - 1];
+        }
+    }
+
+    /**
+     * @return 延迟分位数（纳秒），样本不足时返回-1
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
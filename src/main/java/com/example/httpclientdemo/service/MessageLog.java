@@ -0,0 +1,108 @@
+package com.example.httpclientdemo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 报文收发的结构化日志
+ * 先采样再截断报文体，单条日志的开销与报文大小无关；事件以键值对输出，
+ * 由logback-spring.xml中http.message日志器的AsyncAppender（有界队列、队列满时丢弃）异步写出，不阻塞请求线程
+ * 失败事件不参与采样，总是输出
+ */
+public final class MessageLog {
+
+    static final String LOGGER_NAME = "http.message";
+    static final String TRUNCATED_SUFFIX = "...";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final MessageLog DISABLED = new MessageLog(0.0, 0);
+
+    private final double sampleRate;
+    private final int maxBodyLength;
+
+    private MessageLog(double sampleRate, int maxBodyLength) {
+        this.sampleRate = sampleRate;
+        this.maxBodyLength = maxBodyLength;
+    }
+
+    /**
+     * @return 不输出任何日志
+     */
+    public static MessageLog disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @param sampleRate 成功事件的采样率，0~1
+     * @param maxBodyLength 报文体最多输出的字符数，0表示不输出报文体
+     * @return MessageLog实例
+     * @throws IllegalArgumentException 当参数超出范围时抛出异常
+     */
+    public static MessageLog of(double sampleRate, int maxBodyLength) {
+        if (sampleRate < 0.0 || sampleRate > 1.0) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + sampleRate);
+        }
+        if (maxBodyLength < 0) {
+            throw new IllegalArgumentException("Max body length cannot be negative: " + maxBodyLength);
+        }
+        return new MessageLog(sampleRate, maxBodyLength);
+    }
+
+    public boolean isEnabled() {
+        return this != DISABLED;
+    }
+
+    /**
+     * 记录模拟下游收到的报文
+     * @param trackNo 全局业务跟踪号，可为null
+     * @param body 请求体
+     */
+    public void received(String trackNo, String body) {
+        if (!sampled()) {
+            return;
+        }
+        LOGGER.atInfo()
+                .setMessage("mock.received")
+                .addKeyValue("trackNo", trackNo)
+                .addKeyValue("bodyLength", body.length())
+                .addKeyValue("body", excerpt(body))
+                .log();
+    }
+
+    /**
+     * 记录一次/api/send转发的结果
+     * @param trackNo 全局业务跟踪号，可为null
+     * @param txCode 交易码，可为null
+     * @param nanos 耗时（纳秒）
+     * @param error 失败原因，成功时为null
+     */
+    public void forwarded(String trackNo, String txCode, long nanos, Throwable error) {
+        boolean logged = error == null ? sampled() : isEnabled() && LOGGER.isWarnEnabled();
+        if (!logged) {
+            return;
+        }
+        LOGGER.atLevel(error == null ? Level.INFO : Level.WARN)
+                .setMessage("api.forwarded")
+                .addKeyValue("trackNo", trackNo)
+                .addKeyValue("txCode", txCode)
+                .addKeyValue("elapsedMicros", nanos / 1_000)
+                .addKeyValue("outcome", error == null ? RequestOutcome.SUCCESS.getTagValue()
+                        : RequestOutcome.of(error).getTagValue())
+                .log();
+    }
+
+    private boolean sampled() {
+        return sampleRate > 0.0 && LOGGER.isInfoEnabled()
+                && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    String excerpt(String body) {
+        if (body.length() <= maxBodyLength) {
+            return body;
+        }
+        return body.substring(0, maxBodyLength) + TRUNCATED_SUFFIX;
+    }
+}
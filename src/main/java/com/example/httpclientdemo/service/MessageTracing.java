@@ -0,0 +1,219 @@
+package com.example.httpclientdemo.service;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按报文（globalBusiTrackNo）关联入站解析、出站发送与下游响应的链路追踪
+ * 基于Micrometer Observation API：接入Micrometer Tracing桥接（如OpenTelemetry）后每个Observation即一个span，
+ * send阶段以发送方上下文创建，桥接会向请求头注入traceparent；
+ * 报文跟踪号与子交易号同时作为span属性和请求头传递，下游可据此关联
+ * 阶段：api（入站请求）-> parse、build；message（单条出站报文，含重试与对冲）-> send（单次尝试，至收到响应头）
+ * -> serialize；message -> receive（读取响应体）
+ */
+public final class MessageTracing {
+
+    public static final String API = "http.message.api";
+    public static final String PARSE = "http.message.parse";
+    public static final String BUILD = "http.message.build";
+    public static final String MESSAGE = "http.message";
+    public static final String SERIALIZE = "http.message.serialize";
+    public static final String SEND = "http.message.send";
+    public static final String RECEIVE = "http.message.receive";
+
+    public static final String TRACK_NO_HEADER = "X-Global-Busi-Track-No";
+    public static final String SUBTX_NO_HEADER = "X-Subtx-No";
+
+    static final String TRACK_NO_KEY = "globalBusiTrackNo";
+    static final String SUBTX_NO_KEY = "subtxNo";
+    static final String TX_CODE_KEY = "txCode";
+
+    private static final String MESSAGE_KEY = MessageTracing.class.getName() + ".message";
+    private static final MessageTracing NOOP = new MessageTracing(ObservationRegistry.NOOP);
+
+    private final ObservationRegistry registry;
+
+    private MessageTracing(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return 不产生任何span
+     */
+    public static MessageTracing noop() {
+        return NOOP;
+    }
+
+    /**
+     * @param registry Observation注册表
+     * @return 向registry报告span的实例
+     * @throws IllegalArgumentException 当registry为null时抛出异常
+     */
+    public static MessageTracing create(ObservationRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
+        }
+        return new MessageTracing(registry);
+    }
+
+    /**
+     * 注册表未配置任何处理器时视为未启用，调用方可跳过追踪包装
+     */
+    public boolean isEnabled() {
+        return !registry.isNoop();
+    }
+
+    /**
+     * 开始一个阶段
+     * @param name 阶段名称
+     * @param parent 父阶段，可为null
+     * @return 已开始的Observation；未启用时返回Observation.NOOP
+     */
+    public Observation start(String name, Observation parent) {
+        return Observation.createNotStarted(name, registry).parentObservation(parent).start();
+    }
+
+    /**
+     * 为阶段标记报文标识
+     * @param observation 阶段
+     * @param txCode 交易码，可为null
+     * @param trackNo 全局业务跟踪号，可为null
+     * @param subtxNo 子交易号，可为null
+     */
+    public static void identify(Observation observation, String txCode, String trackNo, String subtxNo) {
+        if (txCode != null) {
+            observation.lowCardinalityKeyValue(TX_CODE_KEY, txCode);
+        }
+        if (trackNo != null) {
+            observation.highCardinalityKeyValue(TRACK_NO_KEY, trackNo);
+        }
+        if (subtxNo != null) {
+            observation.highCardinalityKeyValue(SUBTX_NO_KEY, subtxNo);
+        }
+    }
+
+    /**
+     * 在parent阶段内执行call，call中的出站报文以parent为父span；call终止时结束parent
+     * @param call 响应式调用
+     * @param parent 已开始的父阶段
+     * @return 包装后的Mono
+     */
+    public <T> Mono<T> within(Mono<T> call, Observation parent) {
+        return observed(call, parent).contextWrite(Context.of(ObservationThreadLocalAccessor.KEY, parent));
+    }
+
+    /**
+     * 为单条出站报文创建message阶段，订阅时开始，终止时结束；
+     * 报文标识经Reactor Context传给filter()，每次尝试的send、serialize与receive阶段都挂在message下
+     */
+    <T> Mono<T> traced(Mono<T> call, String host, String txCode, String trackNo, String subtxNo) {
+        return Mono.deferContextual(context -> {
+            Observation parent = context.getOrDefault(ObservationThreadLocalAccessor.KEY, null);
+            Observation message = Observation.createNotStarted(MESSAGE, registry)
+                    .parentObservation(parent)
+                    .lowCardinalityKeyValue("host", host);
+            identify(message, txCode, trackNo, subtxNo);
+            message.start();
+            return observed(call, message)
+                    .contextWrite(Context.of(ObservationThreadLocalAccessor.KEY, message,
+                            MESSAGE_KEY, new TracedMessage(message, trackNo, subtxNo)));
+        });
+    }
+
+    /**
+     * WebClient过滤器：为属于已追踪报文的每次请求添加跟踪号请求头，并记录send、serialize与receive阶段
+     */
+    ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            TracedMessage traced = context.getOrDefault(MESSAGE_KEY, null);
+            if (traced == null) {
+                return next.exchange(request);
+            }
+            ClientRequest.Builder builder = ClientRequest.from(request);
+            if (traced.trackNo != null) {
+                builder.header(TRACK_NO_HEADER, traced.trackNo);
+            }
+            if (traced.subtxNo != null) {
+                builder.header(SUBTX_NO_HEADER, traced.subtxNo);
+            }
+            RequestReplySenderContext<ClientRequest.Builder, ClientResponse> sendContext =
+                    new RequestReplySenderContext<>((carrier, key, value) -> carrier.header(key, value));
+            sendContext.setCarrier(builder);
+            sendContext.setRemoteServiceAddress(request.url().getHost() + ":" + request.url().getPort());
+            // 桥接在开始时注入传播头，必须先于build()
+            Observation send = Observation.createNotStarted(SEND, () -> sendContext, registry)
+                    .parentObservation(traced.message)
+                    .start();
+            ClientRequest tracedRequest = builder.body(serializing(request.body(), send)).build();
+            return observed(next.exchange(tracedRequest).doOnNext(sendContext::setResponse), send)
+                    .map(response -> {
+                        Observation receive = start(RECEIVE, traced.message);
+                        return response.mutate()
+                                .body(body -> body.doOnError(receive::error)
+                                        .doOnTerminate(receive::stop)
+                                        .doOnCancel(receive::stop))
+                                .build();
+                    });
+        });
+    }
+
+    /**
+     * 在信号传给下游之前结束阶段，调用方拿到结果时span已结束；Mono发出值后可能再被取消，只结束一次
+     */
+    private static <T> Mono<T> observed(Mono<T> call, Observation observation) {
+        return Mono.defer(() -> {
+            AtomicBoolean stopped = new AtomicBoolean();
+            Runnable stop = () -> {
+                if (stopped.compareAndSet(false, true)) {
+                    observation.stop();
+                }
+            };
+            return call.doOnSuccess(value -> stop.run())
+                    .doOnError(error -> {
+                        observation.error(error);
+                        stop.run();
+                    })
+                    .doOnCancel(stop);
+        });
+    }
+
+    // 请求体在写出时同步序列化，包装插入器即可单独计时
+    private BodyInserter<?, ? super ClientHttpRequest> serializing(BodyInserter<?, ? super ClientHttpRequest> body,
+                                                                   Observation send) {
+        return (outputMessage, context) -> {
+            Observation serialize = start(SERIALIZE, send);
+            try {
+                return body.insert(outputMessage, context);
+            } catch (RuntimeException e) {
+                serialize.error(e);
+                throw e;
+            } finally {
+                serialize.stop();
+            }
+        };
+    }
+
+    private static final class TracedMessage {
+
+        private final Observation message;
+        private final String trackNo;
+        private final String subtxNo;
+
+        private TracedMessage(Observation message, String trackNo, String subtxNo) {
+            this.message = message;
+            this.trackNo = trackNo;
+            this.subtxNo = subtxNo;
+        }
+    }
+}
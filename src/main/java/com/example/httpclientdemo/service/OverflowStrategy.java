@@ -0,0 +1,11 @@
+package com.example.httpclientdemo.service;
+
+/**
+ * 在途请求数达到并发上限时对新请求的处理方式
+ */
+public enum OverflowStrategy {
+    // 立即以ConcurrencyLimitExceededException失败，由调用方降级
+    REJECT,
+    // 在有界队列中等待空闲名额，超过队列长度或等待超时后失败
+    QUEUE
+}
@@ -0,0 +1,183 @@
+package com.example.httpclientdemo.service;
+
+import java.time.Duration;
+
+/**
+ * 下游过载保护配置：按下游（host:port）独立的熔断器与自适应并发限制
+ * 不可变对象，链式方法返回新实例
+ */
+public final class OverloadProtection {
+
+    private static final OverloadProtection DISABLED = new OverloadProtection(false, 100, 20, 50,
+            Duration.ofSeconds(5), 80, Duration.ofSeconds(10), 5,
+            false, 20, 1, 200, OverflowStrategy.QUEUE, 1000, Duration.ofSeconds(1));
+
+    private final boolean circuitBreakerEnabled;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration slowCallDuration;
+    private final double slowCallRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+
+    private final boolean concurrencyLimitEnabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final OverflowStrategy overflowStrategy;
+    private final int maxQueueSize;
+    private final Duration queueTimeout;
+
+    private OverloadProtection(boolean circuitBreakerEnabled, int windowSize, int minimumCalls,
+                               double failureRateThreshold, Duration slowCallDuration, double slowCallRateThreshold,
+                               Duration openDuration, int halfOpenProbes,
+                               boolean concurrencyLimitEnabled, int initialLimit, int minLimit, int maxLimit,
+                               OverflowStrategy overflowStrategy, int maxQueueSize, Duration queueTimeout) {
+        this.circuitBreakerEnabled = circuitBreakerEnabled;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenProbes = halfOpenProbes;
+        this.concurrencyLimitEnabled = concurrencyLimitEnabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.overflowStrategy = overflowStrategy;
+        this.maxQueueSize = maxQueueSize;
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * @return 不熔断、不限制并发
+     */
+    public static OverloadProtection disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * 启用熔断器：最近windowSize次调用中失败率或慢调用率达到阈值时打开，
+     * 打开openDuration后进入半开状态放行halfOpenProbes个探测请求，全部正常则关闭，否则重新打开
+     * @param windowSize 统计窗口（调用次数）
+     * @param minimumCalls 窗口内至少达到该调用次数才计算比率
+     * @param failureRateThreshold 失败率阈值（百分比）
+     * @param slowCallDuration 超过该耗时视为慢调用
+     * @param slowCallRateThreshold 慢调用率阈值（百分比）
+     * @param openDuration 打开状态持续时间
+     * @param halfOpenProbes 半开状态放行的探测请求数
+     * @return 启用熔断器的配置
+     * @throws IllegalArgumentException 当参数非法时抛出异常
+     */
+    public OverloadProtection withCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                                                 Duration slowCallDuration, double slowCallRateThreshold,
+                                                 Duration openDuration, int halfOpenProbes) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenProbes < 1) {
+            throw new IllegalArgumentException("Invalid circuit breaker window: windowSize=" + windowSize
+                    + ", minimumCalls=" + minimumCalls + ", halfOpenProbes=" + halfOpenProbes);
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100
+                || slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+            throw new IllegalArgumentException("Rate thresholds must be in (0, 100]");
+        }
+        if (slowCallDuration == null || openDuration == null || slowCallDuration.isNegative() || openDuration.isNegative()) {
+            throw new IllegalArgumentException("Invalid durations: " + slowCallDuration + ", " + openDuration);
+        }
+        return new OverloadProtection(true, windowSize, minimumCalls, failureRateThreshold, slowCallDuration,
+                slowCallRateThreshold, openDuration, halfOpenProbes, concurrencyLimitEnabled, initialLimit, minLimit,
+                maxLimit, overflowStrategy, maxQueueSize, queueTimeout);
+    }
+
+    /**
+     * 启用自适应并发限制（Vegas）：按观测到的RTT相对无负载RTT的增幅估算下游排队长度，
+     * 排队少时提高上限，排队多时降低上限；超时、连接失败、5xx与429按乘性因子降低上限
+     * @param initialLimit 初始并发上限
+     * @param minLimit 并发上限下界
+     * @param maxLimit 并发上限上界
+     * @param overflowStrategy 达到上限时的处理方式
+     * @param maxQueueSize QUEUE模式下的最大排队请求数
+     * @param queueTimeout QUEUE模式下的最长排队时间
+     * @return 启用并发限制的配置
+     * @throws IllegalArgumentException 当参数非法时抛出异常
+     */
+    public OverloadProtection withConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                                   OverflowStrategy overflowStrategy, int maxQueueSize,
+                                                   Duration queueTimeout) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits: initial=" + initialLimit + ", min=" + minLimit
+                    + ", max=" + maxLimit);
+        }
+        if (overflowStrategy == null || maxQueueSize < 0 || queueTimeout == null || queueTimeout.isNegative()) {
+            throw new IllegalArgumentException("Invalid overflow settings");
+        }
+        return new OverloadProtection(circuitBreakerEnabled, windowSize, minimumCalls, failureRateThreshold,
+                slowCallDuration, slowCallRateThreshold, openDuration, halfOpenProbes, true, initialLimit, minLimit,
+                maxLimit, overflowStrategy, maxQueueSize, queueTimeout);
+    }
+
+    public boolean isEnabled() {
+        return circuitBreakerEnabled || concurrencyLimitEnabled;
+    }
+
+    public boolean isCircuitBreakerEnabled() {
+        return circuitBreakerEnabled;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public boolean isConcurrencyLimitEnabled() {
+        return concurrencyLimitEnabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public Duration getQueueTimeout() {
+        return queueTimeout;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.httpclientdemo.service;
+
+/**
+ * 请求体压缩策略
+ * 序列化后超过阈值的请求体才压缩；默认gzip，对端在响应Accept-Encoding中声明支持zstd后改用zstd
+ */
+public final class RequestCompression {
+
+    private static final RequestCompression DISABLED = new RequestCompression(false, 0, false);
+
+    private final boolean enabled;
+    private final int threshold;
+    private final boolean zstdEnabled;
+
+    private RequestCompression(boolean enabled, int threshold, boolean zstdEnabled) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.zstdEnabled = zstdEnabled;
+    }
+
+    /**
+     * 不压缩请求体
+     * @return 关闭压缩的策略
+     */
+    public static RequestCompression disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * 创建压缩策略
+     * @param threshold 压缩阈值（字节），请求体超过该大小时压缩
+     * @param zstdEnabled 是否允许在对端支持时使用zstd，zstd本地库不可用时忽略
+     * @return 压缩策略
+     * @throws IllegalArgumentException 当阈值为负数时抛出异常
+     */
+    public static RequestCompression of(int threshold, boolean zstdEnabled) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Compression threshold cannot be negative: " + threshold);
+        }
+        return new RequestCompression(true, threshold, zstdEnabled && ContentCoding.isZstdAvailable());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public boolean isZstdEnabled() {
+        return zstdEnabled;
+    }
+
+    /**
+     * 选择请求体编码
+     * @param peerAcceptsZstd 对端是否已声明支持zstd
+     * @return 使用的编码
+     */
+    ContentCoding codingFor(boolean peerAcceptsZstd) {
+        return zstdEnabled && peerAcceptsZstd ? ContentCoding.ZSTD : ContentCoding.GZIP;
+    }
+
+    @Override
+    public String toString() {
+        return enabled ? "RequestCompression{threshold=" + threshold + ", zstdEnabled=" + zstdEnabled + "}"
+                : "RequestCompression{disabled}";
+    }
+}
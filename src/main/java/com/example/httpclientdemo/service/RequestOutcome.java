@@ -0,0 +1,54 @@
+package com.example.httpclientdemo.service;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * 请求结果分类，作为指标的outcome标签
+ */
+public enum RequestOutcome {
+    SUCCESS("success"),
+    // 4xx，下游正常处理但拒绝了请求
+    CLIENT_ERROR("client_error"),
+    // 5xx
+    SERVER_ERROR("server_error"),
+    TIMEOUT("timeout"),
+    // 熔断或并发限制导致请求未发出
+    REJECTED("rejected"),
+    // 建连失败、连接中断等传输层错误
+    IO_ERROR("io_error"),
+    ERROR("error");
+
+    private final String tagValue;
+
+    RequestOutcome(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+        return tagValue;
+    }
+
+    /**
+     * 按异常类型分类失败
+     * 传输层异常沿cause链查找超时：read-timeout（Reactor Netty responseTimeout）以WebClientRequestException包装
+     * Netty的ReadTimeoutException抛出，归为超时而非IO错误
+     * @param error 请求失败的异常
+     * @return 结果分类
+     */
+    public static RequestOutcome of(Throwable error) {
+        if (error instanceof WebClientResponseException) {
+            return ((WebClientResponseException) error).getStatusCode().is4xxClientError() ? CLIENT_ERROR : SERVER_ERROR;
+        }
+        if (DownstreamFailures.isTimeout(error)) {
+            return TIMEOUT;
+        }
+        if (error instanceof CircuitBreakerOpenException || error instanceof ConcurrencyLimitExceededException) {
+            return REJECTED;
+        }
+        if (error instanceof WebClientRequestException) {
+            return IO_ERROR;
+        }
+        return ERROR;
+    }
+}
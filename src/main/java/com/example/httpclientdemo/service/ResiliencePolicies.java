@@ -0,0 +1,72 @@
+package com.example.httpclientdemo.service;
+
+import java.util.Map;
+
+/**
+ * 按下游（host:port）区分的容错策略，未单独配置的下游使用默认策略
+ */
+public final class ResiliencePolicies {
+
+    private static final ResiliencePolicies NONE = new ResiliencePolicies(ResiliencePolicy.none(), Map.of());
+
+    private final ResiliencePolicy defaultPolicy;
+    private final Map<String, ResiliencePolicy> endpointPolicies;
+
+    private ResiliencePolicies(ResiliencePolicy defaultPolicy, Map<String, ResiliencePolicy> endpointPolicies) {
+        this.defaultPolicy = defaultPolicy;
+        this.endpointPolicies = endpointPolicies;
+    }
+
+    /**
+     * @return 所有下游都不启用超时、重试与对冲
+     */
+    public static ResiliencePolicies none() {
+        return NONE;
+    }
+
+    /**
+     * 创建策略表
+     * @param defaultPolicy 默认策略
+     * @param endpointPolicies 按host:port（默认端口可省略）配置的策略
+     * @return 策略表
+     * @throws IllegalArgumentException 当参数为null时抛出异常
+     */
+    public static ResiliencePolicies of(ResiliencePolicy defaultPolicy, Map<String, ResiliencePolicy> endpointPolicies) {
+        if (defaultPolicy == null || endpointPolicies == null) {
+            throw new IllegalArgumentException("Policies cannot be null");
+        }
+        return new ResiliencePolicies(defaultPolicy, Map.copyOf(endpointPolicies));
+    }
+
+    public ResiliencePolicy getDefaultPolicy() {
+        return defaultPolicy;
+    }
+
+    /**
+     * 查找目标地址对应的策略
+     * @param url 目标地址
+     * @return 该下游的策略，未单独配置时返回默认策略
+     */
+    public ResiliencePolicy policyFor(String url) {
+        if (endpointPolicies.isEmpty()) {
+            return defaultPolicy;
+        }
+        ResiliencePolicy policy = endpointPolicies.get(authorityOf(url));
+        return policy != null ? policy : defaultPolicy;
+    }
+
+    // 截取host:port部分，忽略scheme、路径与查询参数
+    static String authorityOf(String url) {
+        int schemeEnd = url.indexOf("://");
+        int start = schemeEnd < 0 ? 0 : schemeEnd + 3;
+        int end = start;
+        while (end < url.length()) {
+            char c = url.charAt(end);
+            if (c == '/' || c == '?' || c == '#') {
+                break;
+            }
+            end++;
+        }
+        return url.substring(start, end);
+    }
+}
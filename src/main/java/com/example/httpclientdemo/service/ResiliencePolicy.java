@@ -0,0 +1,159 @@
+package com.example.httpclientdemo.service;
+
+import java.time.Duration;
+
+/**
+ * 单个下游的容错策略：单次尝试超时、指数退避重试（带抖动）与对冲请求
+ * 不可变对象，链式方法返回新实例
+ * 非幂等下游只重试确定未送达的失败（建连失败、获取连接失败），对冲请求仅对幂等下游生效
+ */
+public final class ResiliencePolicy {
+
+    private static final ResiliencePolicy NONE = new ResiliencePolicy(null, 0, Duration.ofMillis(100),
+            Duration.ofSeconds(2), 0.5, false, 0, null);
+
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double jitter;
+    private final boolean idempotent;
+    private final double hedgePercentile;
+    private final Duration hedgeInitialDelay;
+
+    private ResiliencePolicy(Duration timeout, int maxRetries, Duration initialBackoff, Duration maxBackoff,
+                             double jitter, boolean idempotent, double hedgePercentile, Duration hedgeInitialDelay) {
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.jitter = jitter;
+        this.idempotent = idempotent;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeInitialDelay = hedgeInitialDelay;
+    }
+
+    /**
+     * @return 无超时、不重试、不对冲的策略
+     */
+    public static ResiliencePolicy none() {
+        return NONE;
+    }
+
+    /**
+     * @param timeout 单次尝试（含读取响应体）的超时时间，null表示不限
+     * @return 附加超时的策略
+     * @throws IllegalArgumentException 当超时时间不为正数时抛出异常
+     */
+    public ResiliencePolicy withTimeout(Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        return new ResiliencePolicy(timeout, maxRetries, initialBackoff, maxBackoff, jitter, idempotent,
+                hedgePercentile, hedgeInitialDelay);
+    }
+
+    /**
+     * @param maxRetries 最大重试次数（不含首次尝试）
+     * @param initialBackoff 首次重试前的退避时间，之后逐次翻倍
+     * @param maxBackoff 退避时间上限
+     * @return 附加重试的策略
+     * @throws IllegalArgumentException 当参数非法时抛出异常
+     */
+    public ResiliencePolicy withRetry(int maxRetries, Duration initialBackoff, Duration maxBackoff) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Max retries cannot be negative: " + maxRetries);
+        }
+        if (initialBackoff == null || maxBackoff == null || initialBackoff.isNegative()
+                || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Invalid backoff: " + initialBackoff + " - " + maxBackoff);
+        }
+        return new ResiliencePolicy(timeout, maxRetries, initialBackoff, maxBackoff, jitter, idempotent,
+                hedgePercentile, hedgeInitialDelay);
+    }
+
+    /**
+     * @param jitter 退避时间的随机抖动比例（0~1），避免大量客户端同时重试
+     * @return 调整抖动后的策略
+     * @throws IllegalArgumentException 当抖动比例超出范围时抛出异常
+     */
+    public ResiliencePolicy withJitter(double jitter) {
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1: " + jitter);
+        }
+        return new ResiliencePolicy(timeout, maxRetries, initialBackoff, maxBackoff, jitter, idempotent,
+                hedgePercentile, hedgeInitialDelay);
+    }
+
+    /**
+     * @param idempotent 下游是否按globalBusiTrackNo去重，可安全重复提交
+     * @return 调整幂等标识后的策略
+     */
+    public ResiliencePolicy idempotent(boolean idempotent) {
+        return new ResiliencePolicy(timeout, maxRetries, initialBackoff, maxBackoff, jitter, idempotent,
+                hedgePercentile, hedgeInitialDelay);
+    }
+
+    /**
+     * 首次尝试在观测到的延迟分位数内未返回时，再发起一次尝试，取先返回者
+     * @param percentile 对冲延迟取该下游近期成功请求延迟的分位数（如95）
+     * @param initialDelay 样本不足时使用的对冲延迟
+     * @return 附加对冲的策略
+     * @throws IllegalArgumentException 当参数非法时抛出异常
+     */
+    public ResiliencePolicy withHedging(double percentile, Duration initialDelay) {
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (initialDelay == null || initialDelay.isNegative()) {
+            throw new IllegalArgumentException("Invalid hedge delay: " + initialDelay);
+        }
+        return new ResiliencePolicy(timeout, maxRetries, initialBackoff, maxBackoff, jitter, idempotent,
+                percentile, initialDelay);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    // 对冲请求会重复提交，非幂等下游即使配置了也不生效
+    public boolean isHedgingEnabled() {
+        return hedgeInitialDelay != null && idempotent;
+    }
+
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    public Duration getHedgeInitialDelay() {
+        return hedgeInitialDelay;
+    }
+
+    @Override
+    public String toString() {
+        return "ResiliencePolicy{timeout=" + timeout + ", maxRetries=" + maxRetries
+                + ", backoff=" + initialBackoff + "-" + maxBackoff + ", jitter=" + jitter
+                + ", idempotent=" + idempotent
+                + ", hedge=" + (isHedgingEnabled() ? "p" + hedgePercentile + "/" + hedgeInitialDelay : "off") + "}";
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.httpclientdemo.service;
+
+/**
+ * 单条报文的发送结果
+ */
+public final class SendResult {
+    
+    private final long index;
+    private final String response;
+    private final Throwable error;
+    private final long latencyNanos;
+    
+    private SendResult(long index, String response, Throwable error, long latencyNanos) {
+        this.index = index;
+        this.response = response;
+        this.error = error;
+        this.latencyNanos = latencyNanos;
+    }
+    
+    static SendResult success(long index, String response, long latencyNanos) {
+        return new SendResult(index, response, null, latencyNanos);
+    }
+    
+    static SendResult failure(long index, Throwable error, long latencyNanos) {
+        return new SendResult(index, null, error, latencyNanos);
+    }
+    
+    // 报文在批次或流式数据源中的序号（从0开始），无界流可超过int范围
+    public long getIndex() {
+        return index;
+    }
+    
+    public boolean isSuccess() {
+        return error == null;
+    }
+    
+    // 响应体，失败时为null
+    public String getResponse() {
+        return response;
+    }
+    
+    // 失败原因，成功时为null
+    public Throwable getError() {
+        return error;
+    }
+    
+    // 从发起请求到收到完整响应（或失败）的耗时
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return "SendResult[index=" + index + (isSuccess() ? ", success" : ", error=" + error) +
+               ", latencyNanos=" + latencyNanos + "]";
+    }
+}
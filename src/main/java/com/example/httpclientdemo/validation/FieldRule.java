@@ -0,0 +1,100 @@
+package com.example.httpclientdemo.validation;
+
+import com.example.httpclientdemo.model.CompleteMessageModel;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 字段校验规则：字段路径、取值方式、是否必填、最大长度与格式
+ * 不可变对象，链式方法返回新实例
+ */
+public final class FieldRule {
+    
+    private static final int UNLIMITED = -1;
+    
+    private final String path;
+    private final Function<CompleteMessageModel, String> accessor;
+    private final boolean required;
+    private final int maxLength;
+    private final String shapeDescription;
+    private final Predicate<String> shape;
+    
+    private FieldRule(String path, Function<CompleteMessageModel, String> accessor, boolean required,
+                      int maxLength, String shapeDescription, Predicate<String> shape) {
+        this.path = path;
+        this.accessor = accessor;
+        this.required = required;
+        this.maxLength = maxLength;
+        this.shapeDescription = shapeDescription;
+        this.shape = shape;
+    }
+    
+    /**
+     * 创建字段规则
+     * @param path 字段路径，用于违规报告
+     * @param accessor 从报文中取字段值，中间对象为null时应返回null
+     * @return 未附加任何约束的规则
+     * @throws IllegalArgumentException 当path或accessor为null时抛出异常
+     */
+    public static FieldRule of(String path, Function<CompleteMessageModel, String> accessor) {
+        if (path == null || accessor == null) {
+            throw new IllegalArgumentException("Path and accessor cannot be null");
+        }
+        return new FieldRule(path, accessor, false, UNLIMITED, null, null);
+    }
+    
+    /**
+     * @return 要求字段非null且包含非空白字符的规则
+     */
+    public FieldRule required() {
+        return new FieldRule(path, accessor, true, maxLength, shapeDescription, shape);
+    }
+    
+    /**
+     * @param maxLength 最大长度
+     * @return 附加长度上限的规则
+     */
+    public FieldRule maxLength(int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Max length cannot be negative: " + maxLength);
+        }
+        return new FieldRule(path, accessor, required, maxLength, shapeDescription, shape);
+    }
+    
+    /**
+     * @param description 格式描述，用于违规报告
+     * @param shape 格式判断，仅对非null值调用
+     * @return 附加格式约束的规则
+     */
+    public FieldRule shape(String description, Predicate<String> shape) {
+        return new FieldRule(path, accessor, required, maxLength, description, shape);
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    /**
+     * 校验报文中的该字段，每个字段最多报告一个违规（必填 > 长度 > 格式）
+     * @param message 报文
+     * @return 违规，通过时返回null
+     */
+    Violation check(CompleteMessageModel message) {
+        String value = accessor.apply(message);
+        if (value == null) {
+            return required ? new Violation(path, ViolationType.REQUIRED, "必填字段缺失") : null;
+        }
+        if (required && !FieldShapes.hasText(value)) {
+            return new Violation(path, ViolationType.REQUIRED, "必填字段为空白");
+        }
+        if (maxLength != UNLIMITED && value.length() > maxLength) {
+            return new Violation(path, ViolationType.MAX_LENGTH,
+                "长度" + value.length() + "超过上限" + maxLength);
+        }
+        if (shape != null && !shape.test(value)) {
+            return new Violation(path, ViolationType.FORMAT, "格式不符合" + shapeDescription);
+        }
+        return null;
+    }
+}
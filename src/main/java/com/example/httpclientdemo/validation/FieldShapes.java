@@ -0,0 +1,73 @@
+package com.example.httpclientdemo.validation;
+
+/**
+ * 定长字段格式校验
+ * 以逐字符判断代替String.matches，避免每次调用编译正则；结果与对应正则一致（\d仅匹配ASCII数字）
+ */
+public final class FieldShapes {
+    
+    private FieldShapes() {
+    }
+    
+    /**
+     * 等价于 value.matches("\\d{length}")
+     * @param value 待校验值，不可为null
+     * @param length 数字位数
+     * @return 是否为指定位数的ASCII数字
+     */
+    public static boolean isDigits(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 等价于 value.matches("[A-Z]\\d{digitCount}")
+     * @param value 待校验值，不可为null
+     * @param digitCount 字母后的数字位数
+     * @return 是否为1位大写字母加指定位数的ASCII数字
+     */
+    public static boolean isUpperLetterAndDigits(String value, int digitCount) {
+        if (value.length() != digitCount + 1) {
+            return false;
+        }
+        char first = value.charAt(0);
+        if (first < 'A' || first > 'Z') {
+            return false;
+        }
+        for (int i = 1; i <= digitCount; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 等价于 value != null && !value.trim().isEmpty()，不生成trim后的字符串
+     * @param value 待校验值
+     * @return 是否包含非空白字符
+     */
+    public static boolean hasText(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0, length = value.length(); i < length; i++) {
+            // 与String.trim()一致，码值不大于空格的字符视为空白
+            if (value.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
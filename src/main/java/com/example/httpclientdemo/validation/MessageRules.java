@@ -0,0 +1,66 @@
+package com.example.httpclientdemo.validation;
+
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.model.TxEntityModel;
+import com.example.httpclientdemo.model.TxHeaderModel;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 报文标准校验规则表
+ * 合并CompleteMessageModel.validate()与validateFormat()的全部约束：
+ * 报文头必填与长度、交易实体必填与格式、记账日期格式
+ */
+public final class MessageRules {
+    
+    public static final List<FieldRule> STANDARD = List.of(
+        // txHeader
+        FieldRule.of("txHeader.msgGrptMac", header(TxHeaderModel::getMsgGrptMac)).required().maxLength(50),
+        FieldRule.of("txHeader.globalBusiTrackNo", header(TxHeaderModel::getGlobalBusiTrackNo)).required().maxLength(50),
+        FieldRule.of("txHeader.subtxNo", header(TxHeaderModel::getSubtxNo)).required().maxLength(20),
+        FieldRule.of("txHeader.txCode", header(TxHeaderModel::getTxCode)).maxLength(10),
+        FieldRule.of("txHeader.channelNo", header(TxHeaderModel::getChannelNo)).maxLength(10),
+        // txBody.txEntity
+        FieldRule.of("txBody.txEntity.custNo", entity(TxEntityModel::getCustNo)).required()
+            .shape("\\d{15}", value -> FieldShapes.isDigits(value, 15)),
+        FieldRule.of("txBody.txEntity.qryVchrTpCd", entity(TxEntityModel::getQryVchrTpCd)).required()
+            .shape("\\d{1}", value -> FieldShapes.isDigits(value, 1)),
+        FieldRule.of("txBody.txEntity.txSceneCd", entity(TxEntityModel::getTxSceneCd)).required()
+            .shape("[A-Z]\\d{3}", value -> FieldShapes.isUpperLetterAndDigits(value, 3)),
+        // txBody
+        FieldRule.of("txBody.accountingDate", MessageRules::accountingDate)
+            .shape("\\d{8}", value -> FieldShapes.isDigits(value, 8))
+    );
+    
+    private static final MessageValidator STANDARD_VALIDATOR = MessageValidator.of(STANDARD);
+    
+    private MessageRules() {
+    }
+    
+    /**
+     * @return 基于STANDARD规则表的共享校验器
+     */
+    public static MessageValidator standardValidator() {
+        return STANDARD_VALIDATOR;
+    }
+    
+    private static Function<CompleteMessageModel, String> header(Function<TxHeaderModel, String> getter) {
+        return message -> {
+            TxHeaderModel header = message.getTxHeader();
+            return header != null ? getter.apply(header) : null;
+        };
+    }
+    
+    private static Function<CompleteMessageModel, String> entity(Function<TxEntityModel, String> getter) {
+        return message -> {
+            TxEntityModel entity = message.getTxEntity();
+            return entity != null ? getter.apply(entity) : null;
+        };
+    }
+    
+    private static String accountingDate(CompleteMessageModel message) {
+        CompleteMessageModel.TxBodyModel body = message.getTxBody();
+        return body != null ? body.getAccountingDate() : null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.httpclientdemo.validation;
+
+import com.example.httpclientdemo.model.CompleteMessageModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 规则表驱动的报文校验器
+ * 规则在创建时固化为数组，校验时按顺序对每个字段只取值一次，一次遍历返回全部违规；
+ * 校验通过时不产生任何分配。实例不可变，可在线程间共享
+ */
+public final class MessageValidator {
+    
+    private final FieldRule[] rules;
+    
+    private MessageValidator(FieldRule[] rules) {
+        this.rules = rules;
+    }
+    
+    /**
+     * 由规则表创建校验器
+     * @param rules 规则表，违规按此顺序报告
+     * @return 校验器
+     * @throws IllegalArgumentException 当规则表为null或包含null元素时抛出异常
+     */
+    public static MessageValidator of(List<FieldRule> rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Rules cannot be null");
+        }
+        FieldRule[] compiled = rules.toArray(new FieldRule[0]);
+        for (FieldRule rule : compiled) {
+            if (rule == null) {
+                throw new IllegalArgumentException("Rules cannot contain null");
+            }
+        }
+        return new MessageValidator(compiled);
+    }
+    
+    /**
+     * 校验报文
+     * @param message 报文
+     * @return 校验结果
+     * @throws IllegalArgumentException 当报文为null时抛出异常
+     */
+    public ValidationResult validate(CompleteMessageModel message) {
+        if (message == null) {
+            throw new IllegalArgumentException("Message cannot be null");
+        }
+        List<Violation> violations = null;
+        for (FieldRule rule : rules) {
+            Violation violation = rule.check(message);
+            if (violation != null) {
+                if (violations == null) {
+                    violations = new ArrayList<>(4);
+                }
+                violations.add(violation);
+            }
+        }
+        return violations == null ? ValidationResult.VALID : new ValidationResult(violations);
+    }
+    
+    /**
+     * @return 规则数量
+     */
+    public int ruleCount() {
+        return rules.length;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.httpclientdemo.validation;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 报文校验结果，包含一次遍历中发现的全部违规
+ */
+public final class ValidationResult {
+    
+    // 校验通过时共享的结果实例，不做额外分配
+    static final ValidationResult VALID = new ValidationResult(Collections.emptyList());
+    
+    private final List<Violation> violations;
+    
+    ValidationResult(List<Violation> violations) {
+        this.violations = Collections.unmodifiableList(violations);
+    }
+    
+    /**
+     * @return 是否没有任何违规
+     */
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+    
+    /**
+     * @return 按规则表顺序排列的违规列表（只读）
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+    
+    /**
+     * 判断指定字段是否存在违规
+     * @param path 字段路径
+     * @return 是否存在违规
+     */
+    public boolean hasViolation(String path) {
+        for (Violation violation : violations) {
+            if (violation.getPath().equals(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public String toString() {
+        return isValid() ? "ValidationResult[valid]" : "ValidationResult" + violations;
+    }
+}
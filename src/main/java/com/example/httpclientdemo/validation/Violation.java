@@ -0,0 +1,35 @@
+package com.example.httpclientdemo.validation;
+
+/**
+ * 单个字段的校验违规
+ */
+public final class Violation {
+    
+    private final String path;
+    private final ViolationType type;
+    private final String message;
+    
+    public Violation(String path, ViolationType type, String message) {
+        this.path = path;
+        this.type = type;
+        this.message = message;
+    }
+    
+    // 字段路径，如txHeader.msgGrptMac
+    public String getPath() {
+        return path;
+    }
+    
+    public ViolationType getType() {
+        return type;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    @Override
+    public String toString() {
+        return path + ": " + message;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.httpclientdemo.validation;
+
+/**
+ * 校验违规类型
+ */
+public enum ViolationType {
+    // 必填字段为null或全为空白
+    REQUIRED,
+    // 超过最大长度
+    MAX_LENGTH,
+    // 不符合字段格式
+    FORMAT
+}
@@ -0,0 +1,391 @@
+package com.example.httpclientdemo.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * 基准回归比对
+ * 将本次JMH结果与检入的基线（JMH JSON格式，即jmh.result的输出）逐项比较得分与每次操作分配量（gc.alloc.rate.norm），
+ * 超出容差即判定为回归，并输出可读的对比表；得分还须超出双方的置信区间（JMH的scoreError），测量噪声不判为回归
+ * 基准以"类名.方法名"标识，带@Param时追加":参数=值"；本次未运行的基线项不参与比较，基线中没有的基准标记为NEW
+ */
+final class BenchmarkBaseline {
+
+    static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private final Map<String, Measurement> measurements;
+
+    private BenchmarkBaseline(Map<String, Measurement> measurements) {
+        this.measurements = measurements;
+    }
+
+    /**
+     * @param json JMH以JSON格式输出的结果
+     * @return 基线
+     */
+    static BenchmarkBaseline fromJson(String json) {
+        Map<String, Measurement> measurements = new TreeMap<>();
+        JSONArray entries = JSON.parseArray(json);
+        for (int i = 0; i < entries.size(); i++) {
+            JSONObject entry = entries.getJSONObject(i);
+            JSONObject primary = entry.getJSONObject("primaryMetric");
+            JSONObject secondary = entry.getJSONObject("secondaryMetrics");
+            JSONObject alloc = secondary == null ? null : secondary.getJSONObject(ALLOC_METRIC);
+            Map<String, String> params = new TreeMap<>();
+            JSONObject rawParams = entry.getJSONObject("params");
+            if (rawParams != null) {
+                rawParams.forEach((key, value) -> params.put(key, String.valueOf(value)));
+            }
+            String name = nameOf(entry.getString("benchmark"), params);
+            measurements.put(name, new Measurement(entry.getString("mode"), primary.getDoubleValue("score"),
+                    errorOf(primary.get("scoreError")), primary.getString("scoreUnit"),
+                    alloc == null ? Double.NaN : alloc.getDoubleValue("score")));
+        }
+        return new BenchmarkBaseline(measurements);
+    }
+
+    /**
+     * @param path 基线文件
+     * @return 基线
+     * @throws IOException 读取失败时抛出异常
+     */
+    static BenchmarkBaseline read(Path path) throws IOException {
+        return fromJson(Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param results Runner返回的本次结果
+     * @return 与基线同构的结果
+     */
+    static BenchmarkBaseline fromRunResults(Collection<RunResult> results) {
+        Map<String, Measurement> measurements = new TreeMap<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            Map<String, String> paramValues = new TreeMap<>();
+            for (String key : params.getParamsKeys()) {
+                paramValues.put(key, params.getParam(key));
+            }
+            Result<?> primary = result.getPrimaryResult();
+            Result<?> alloc = result.getSecondaryResults().get(ALLOC_METRIC);
+            measurements.put(nameOf(params.getBenchmark(), paramValues),
+                    new Measurement(params.getMode().shortLabel(), primary.getScore(), primary.getScoreError(),
+                            primary.getScoreUnit(), alloc == null ? Double.NaN : alloc.getScore()));
+        }
+        return new BenchmarkBaseline(measurements);
+    }
+
+    Map<String, Measurement> getMeasurements() {
+        return measurements;
+    }
+
+    /**
+     * 将current与本基线比较
+     * @param current 本次结果
+     * @param tolerances 容差
+     * @return 按基准名排序的比较结果
+     */
+    List<Comparison> compare(BenchmarkBaseline current, Tolerances tolerances) {
+        List<Comparison> comparisons = new ArrayList<>();
+        current.measurements.forEach((name, now) ->
+                comparisons.add(new Comparison(name, measurements.get(name), now, tolerances.scoreFor(name),
+                        tolerances.allocFor(name), tolerances.allocSlackBytes)));
+        return comparisons;
+    }
+
+    /**
+     * @param comparisons 比较结果
+     * @return 对比表，每个基准一行，回归行以REGRESSED标记
+     */
+    static String table(List<Comparison> comparisons) {
+        int width = "Benchmark".length();
+        for (Comparison comparison : comparisons) {
+            width = Math.max(width, comparison.name.length());
+        }
+        String rowFormat = "%-" + width + "s  %5s  %24s  %24s  %8s  %6s  %12s  %12s  %8s  %6s  %s%n";
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, rowFormat, "Benchmark", "Mode", "Base score", "Score", "Delta",
+                "Tol", "Base B/op", "B/op", "Delta", "Tol", "Status"));
+        for (Comparison c : comparisons) {
+            Measurement base = c.baseline;
+            Measurement now = c.current;
+            table.append(String.format(Locale.ROOT, rowFormat, c.name, now.mode,
+                    base == null ? "-" : formatScore(base),
+                    formatScore(now),
+                    percent(c.scoreDelta), percent(c.scoreTolerance),
+                    base == null ? "-" : bytes(base.allocBytes),
+                    bytes(now.allocBytes),
+                    percent(c.allocDelta), percent(c.allocTolerance),
+                    c.status()));
+        }
+        return table.toString();
+    }
+
+    // 迭代次数不足时JMH输出"NaN"，按无误差处理
+    private static double errorOf(Object scoreError) {
+        if (scoreError instanceof Number) {
+            return ((Number) scoreError).doubleValue();
+        }
+        return 0;
+    }
+
+    private static String nameOf(String benchmark, Map<String, String> params) {
+        // 去掉包名，保留"类名.方法名"
+        int method = benchmark.lastIndexOf('.');
+        int type = method > 0 ? benchmark.lastIndexOf('.', method - 1) : -1;
+        StringBuilder name = new StringBuilder(benchmark.substring(type + 1));
+        params.forEach((key, value) -> name.append(':').append(key).append('=').append(value));
+        return name.toString();
+    }
+
+    private static String formatScore(Measurement measurement) {
+        return String.format(Locale.ROOT, "%.3f ± %.3f %s", measurement.score, measurement.error, measurement.unit);
+    }
+
+    private static String bytes(double value) {
+        return Double.isNaN(value) ? "-" : String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String percent(double value) {
+        return Double.isNaN(value) ? "-" : String.format(Locale.ROOT, "%+.1f%%", value * 100);
+    }
+
+    /**
+     * 单个基准的一次测量
+     */
+    static final class Measurement {
+
+        private final String mode;
+        private final double score;
+        // 99.9%置信区间的半宽
+        private final double error;
+        private final String unit;
+        // 每次操作分配的字节数，未启用GC profiler时为NaN
+        private final double allocBytes;
+
+        Measurement(String mode, double score, double error, String unit, double allocBytes) {
+            this.mode = mode;
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+            this.allocBytes = allocBytes;
+        }
+
+        double getScore() {
+            return score;
+        }
+
+        double getAllocBytes() {
+            return allocBytes;
+        }
+
+        // 吞吐量模式得分越高越好，其余模式（平均时间、采样、单次）越低越好
+        private boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    /**
+     * 单个基准与基线的比较结果
+     * 变化率均以"变差"为正：耗时类模式为(本次-基线)/基线，吞吐量模式为(基线-本次)/基线
+     */
+    static final class Comparison {
+
+        private final String name;
+        private final Measurement baseline;
+        private final Measurement current;
+        private final double scoreTolerance;
+        private final double allocTolerance;
+        private final double scoreDelta;
+        private final double allocDelta;
+        private final boolean unitChanged;
+        private final boolean scoreRegressed;
+        private final boolean allocRegressed;
+
+        private Comparison(String name, Measurement baseline, Measurement current,
+                           double scoreTolerance, double allocTolerance, double allocSlackBytes) {
+            this.name = name;
+            this.baseline = baseline;
+            this.current = current;
+            this.scoreTolerance = scoreTolerance;
+            this.allocTolerance = allocTolerance;
+            if (baseline == null) {
+                scoreDelta = Double.NaN;
+                allocDelta = Double.NaN;
+                unitChanged = false;
+                scoreRegressed = false;
+                allocRegressed = false;
+                return;
+            }
+            unitChanged = !baseline.mode.equals(current.mode) || !baseline.unit.equals(current.unit);
+            double change = (current.score - baseline.score) / baseline.score;
+            scoreDelta = unitChanged ? Double.NaN : current.higherIsBetter() ? -change : change;
+            scoreRegressed = !unitChanged && scoreDelta > scoreTolerance && outsideNoise(baseline, current);
+            if (Double.isNaN(baseline.allocBytes) || Double.isNaN(current.allocBytes)) {
+                allocDelta = Double.NaN;
+                allocRegressed = false;
+            } else {
+                double growth = current.allocBytes - baseline.allocBytes;
+                allocDelta = baseline.allocBytes > 0 ? growth / baseline.allocBytes : Double.NaN;
+                // 基线接近零分配时相对变化无意义，以绝对字节数兜底
+                allocRegressed = growth > allocSlackBytes
+                        && (Double.isNaN(allocDelta) || allocDelta > allocTolerance);
+            }
+        }
+
+        // 变差方向上两次测量的置信区间不重叠
+        private static boolean outsideNoise(Measurement baseline, Measurement current) {
+            if (current.higherIsBetter()) {
+                return current.score + current.error < baseline.score - baseline.error;
+            }
+            return current.score - current.error > baseline.score + baseline.error;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        boolean isNew() {
+            return baseline == null;
+        }
+
+        boolean isRegressed() {
+            return unitChanged || scoreRegressed || allocRegressed;
+        }
+
+        boolean isScoreRegressed() {
+            return scoreRegressed;
+        }
+
+        boolean isAllocRegressed() {
+            return allocRegressed;
+        }
+
+        private String status() {
+            if (baseline == null) {
+                return "NEW";
+            }
+            if (unitChanged) {
+                return "REGRESSED (mode/unit changed)";
+            }
+            if (scoreRegressed && allocRegressed) {
+                return "REGRESSED (score, alloc)";
+            }
+            if (scoreRegressed) {
+                return "REGRESSED (score)";
+            }
+            if (allocRegressed) {
+                return "REGRESSED (alloc)";
+            }
+            return "OK";
+        }
+    }
+
+    /**
+     * 回归容差
+     * 属性文件格式：default.score、default.alloc为默认的相对容差（0.10表示允许变差10%），
+     * alloc.slackBytes为分配量允许的绝对增长字节数，
+     * 类名.方法名.score / 类名.方法名.alloc为单个基准的容差，类名.score / 类名.alloc为整个基准类的容差
+     */
+    static final class Tolerances {
+
+        static final double DEFAULT_SCORE = 0.10;
+        static final double DEFAULT_ALLOC = 0.05;
+        static final double DEFAULT_ALLOC_SLACK_BYTES = 16;
+
+        private final Map<String, Double> overrides;
+        private final double defaultScore;
+        private final double defaultAlloc;
+        private final double allocSlackBytes;
+
+        private Tolerances(Map<String, Double> overrides, double defaultScore, double defaultAlloc,
+                           double allocSlackBytes) {
+            this.overrides = overrides;
+            this.defaultScore = defaultScore;
+            this.defaultAlloc = defaultAlloc;
+            this.allocSlackBytes = allocSlackBytes;
+        }
+
+        /**
+         * @return 全部基准使用默认容差
+         */
+        static Tolerances defaults() {
+            return new Tolerances(Map.of(), DEFAULT_SCORE, DEFAULT_ALLOC, DEFAULT_ALLOC_SLACK_BYTES);
+        }
+
+        /**
+         * @param reader 属性文件
+         * @return 容差
+         * @throws IOException 读取失败时抛出异常
+         * @throws IllegalArgumentException 当容差不是非负数时抛出异常
+         */
+        static Tolerances load(Reader reader) throws IOException {
+            Properties properties = new Properties();
+            properties.load(reader);
+            Map<String, Double> overrides = new LinkedHashMap<>();
+            for (String key : properties.stringPropertyNames()) {
+                String value = properties.getProperty(key).trim();
+                double tolerance;
+                try {
+                    tolerance = Double.parseDouble(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid tolerance for " + key + ": " + value, e);
+                }
+                if (!(tolerance >= 0)) {
+                    throw new IllegalArgumentException("Tolerance must be non-negative for " + key + ": " + value);
+                }
+                overrides.put(key, tolerance);
+            }
+            return new Tolerances(overrides,
+                    overrides.getOrDefault("default.score", DEFAULT_SCORE),
+                    overrides.getOrDefault("default.alloc", DEFAULT_ALLOC),
+                    overrides.getOrDefault("alloc.slackBytes", DEFAULT_ALLOC_SLACK_BYTES));
+        }
+
+        static Tolerances read(Path path) throws IOException {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                return load(reader);
+            }
+        }
+
+        double scoreFor(String name) {
+            return lookup(name, ".score", defaultScore);
+        }
+
+        double allocFor(String name) {
+            return lookup(name, ".alloc", defaultAlloc);
+        }
+
+        private double lookup(String name, String suffix, double fallback) {
+            // 带参数的基准依次尝试完整名、不带参数的方法名与类名
+            int params = name.indexOf(':');
+            String method = params < 0 ? name : name.substring(0, params);
+            Double tolerance = overrides.get(name + suffix);
+            if (tolerance == null) {
+                tolerance = overrides.get(method + suffix);
+            }
+            int type = method.lastIndexOf('.');
+            if (tolerance == null && type > 0) {
+                tolerance = overrides.get(method.substring(0, type) + suffix);
+            }
+            return tolerance != null ? tolerance : fallback;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.httpclientdemo.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 基准回归比对测试
+ * 以手工构造的JMH JSON结果验证得分与分配量的回归判定、容差覆盖与对比表输出
+ */
+@DisplayName("Benchmark Baseline Tests")
+class BenchmarkBaselineTest {
+
+    private static final String PACKAGE = "com.example.httpclientdemo.benchmark.";
+
+    @Test
+    @DisplayName("Should pass when scores stay within tolerance")
+    void shouldPassWhenScoresStayWithinTolerance() {
+        // Given
+        BenchmarkBaseline baseline = results(entry("SerializationBenchmark.toJson", "avgt", 1000, "ns/op", 2500));
+        BenchmarkBaseline current = results(entry("SerializationBenchmark.toJson", "avgt", 1050, "ns/op", 2510));
+
+        // When
+        List<BenchmarkBaseline.Comparison> comparisons = baseline.compare(current, BenchmarkBaseline.Tolerances.defaults());
+
+        // Then
+        assertEquals(1, comparisons.size());
+        assertEquals("SerializationBenchmark.toJson", comparisons.get(0).getName());
+        assertFalse(comparisons.get(0).isRegressed(), "5%的耗时增长应在默认容差内");
+    }
+
+    @Test
+    @DisplayName("Should flag score and allocation regressions")
+    void shouldFlagScoreAndAllocationRegressions() {
+        // Given
+        BenchmarkBaseline baseline = results(
+            entry("SerializationBenchmark.toJson", "avgt", 1000, "ns/op", 2500),
+            entry("SerializationBenchmark.fromJson", "avgt", 5000, "ns/op", 4960));
+        BenchmarkBaseline current = results(
+            entry("SerializationBenchmark.toJson", "avgt", 1200, "ns/op", 2500),
+            entry("SerializationBenchmark.fromJson", "avgt", 5000, "ns/op", 6000));
+
+        // When
+        List<BenchmarkBaseline.Comparison> comparisons = baseline.compare(current, BenchmarkBaseline.Tolerances.defaults());
+
+        // Then
+        BenchmarkBaseline.Comparison fromJson = comparisons.get(0);
+        BenchmarkBaseline.Comparison toJson = comparisons.get(1);
+        assertTrue(fromJson.isAllocRegressed(), "分配量增长21%应判定为回归");
+        assertFalse(fromJson.isScoreRegressed());
+        assertTrue(toJson.isScoreRegressed(), "耗时增长20%应判定为回归");
+        assertFalse(toJson.isAllocRegressed());
+    }
+
+    @Test
+    @DisplayName("Should not flag score change within confidence intervals")
+    void shouldNotFlagScoreChangeWithinConfidenceIntervals() {
+        // Given
+        BenchmarkBaseline baseline = results(entry("SerializationBenchmark.toJson", "avgt", 3600, 3000, "ns/op", 2528));
+        BenchmarkBaseline noisy = results(entry("SerializationBenchmark.toJson", "avgt", 4300, 800, "ns/op", 2528));
+        BenchmarkBaseline slower = results(entry("SerializationBenchmark.toJson", "avgt", 8000, 800, "ns/op", 2528));
+
+        // When & Then
+        assertFalse(baseline.compare(noisy, BenchmarkBaseline.Tolerances.defaults()).get(0).isRegressed(),
+            "置信区间重叠时耗时增长属于测量噪声");
+        assertTrue(baseline.compare(slower, BenchmarkBaseline.Tolerances.defaults()).get(0).isScoreRegressed(),
+            "超出双方置信区间的耗时增长应判定为回归");
+    }
+
+    @Test
+    @DisplayName("Should treat lower throughput as regression")
+    void shouldTreatLowerThroughputAsRegression() {
+        // Given
+        BenchmarkBaseline baseline = results(entry("HttpServiceBenchmark.sendBatch", "thrpt", 1000, "ops/s", Double.NaN));
+        BenchmarkBaseline faster = results(entry("HttpServiceBenchmark.sendBatch", "thrpt", 2000, "ops/s", Double.NaN));
+        BenchmarkBaseline slower = results(entry("HttpServiceBenchmark.sendBatch", "thrpt", 800, "ops/s", Double.NaN));
+
+        // When & Then
+        assertFalse(baseline.compare(faster, BenchmarkBaseline.Tolerances.defaults()).get(0).isRegressed(),
+            "吞吐量提升不应判定为回归");
+        assertTrue(baseline.compare(slower, BenchmarkBaseline.Tolerances.defaults()).get(0).isRegressed(),
+            "吞吐量下降20%应判定为回归");
+    }
+
+    @Test
+    @DisplayName("Should apply benchmark and class level tolerance overrides")
+    void shouldApplyBenchmarkAndClassLevelToleranceOverrides() throws IOException {
+        // Given
+        BenchmarkBaseline.Tolerances tolerances = BenchmarkBaseline.Tolerances.load(new StringReader(
+            "default.score=0.10\n"
+                + "HttpServiceBenchmark.score=0.50\n"
+                + "HttpServiceBenchmark.sendRequest.score=0.20\n"
+                + "SerializationBenchmark.toJson.alloc=0\n"));
+
+        // When & Then
+        assertEquals(0.10, tolerances.scoreFor("SerializationBenchmark.toJson"), 1e-9);
+        assertEquals(0.50, tolerances.scoreFor("HttpServiceBenchmark.sendBatch"), 1e-9);
+        assertEquals(0.20, tolerances.scoreFor("HttpServiceBenchmark.sendRequest"), 1e-9);
+        assertEquals(0.20, tolerances.scoreFor("HttpServiceBenchmark.sendRequest:size=10"), 1e-9,
+            "带参数的基准应回退到方法级容差");
+        assertEquals(0.0, tolerances.allocFor("SerializationBenchmark.toJson"), 1e-9);
+        assertEquals(BenchmarkBaseline.Tolerances.DEFAULT_ALLOC, tolerances.allocFor("SerializationBenchmark.fromJson"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid tolerance values")
+    void shouldRejectInvalidToleranceValues() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> BenchmarkBaseline.Tolerances.load(new StringReader("default.score=fast\n")));
+        assertThrows(IllegalArgumentException.class,
+            () -> BenchmarkBaseline.Tolerances.load(new StringReader("default.alloc=-0.1\n")));
+    }
+
+    @Test
+    @DisplayName("Should ignore allocation noise on zero allocation baseline")
+    void shouldIgnoreAllocationNoiseOnZeroAllocationBaseline() {
+        // Given
+        BenchmarkBaseline baseline = results(entry("ValidationBenchmark.ruleTableValidation", "avgt", 200, "ns/op", 0.0001));
+        BenchmarkBaseline noise = results(entry("ValidationBenchmark.ruleTableValidation", "avgt", 200, "ns/op", 0.01));
+        BenchmarkBaseline allocating = results(entry("ValidationBenchmark.ruleTableValidation", "avgt", 200, "ns/op", 48));
+
+        // When & Then
+        assertFalse(baseline.compare(noise, BenchmarkBaseline.Tolerances.defaults()).get(0).isRegressed(),
+            "零分配基线上的测量噪声不应判定为回归");
+        assertTrue(baseline.compare(allocating, BenchmarkBaseline.Tolerances.defaults()).get(0).isAllocRegressed(),
+            "零分配基准开始分配对象应判定为回归");
+    }
+
+    @Test
+    @DisplayName("Should report new benchmarks and changed units")
+    void shouldReportNewBenchmarksAndChangedUnits() {
+        // Given
+        BenchmarkBaseline baseline = results(entry("HttpServiceBenchmark.sendRequest", "avgt", 1400, "us/op", 25000));
+        BenchmarkBaseline current = results(
+            entry("HttpServiceBenchmark.sendRequest", "avgt", 1400000, "ns/op", 25000),
+            entry("LoadBenchmark.openLoop", "avgt", 10, "us/op", 100));
+
+        // When
+        List<BenchmarkBaseline.Comparison> comparisons = baseline.compare(current, BenchmarkBaseline.Tolerances.defaults());
+        String table = BenchmarkBaseline.table(comparisons);
+
+        // Then
+        assertTrue(comparisons.get(0).isRegressed(), "得分单位变化无法比较，应提示更新基线");
+        assertTrue(comparisons.get(1).isNew());
+        assertFalse(comparisons.get(1).isRegressed(), "基线中没有的基准不应判定为回归");
+        assertTrue(table.contains("REGRESSED (mode/unit changed)"));
+        assertTrue(table.contains("NEW"));
+    }
+
+    @Test
+    @DisplayName("Should render readable comparison table")
+    void shouldRenderReadableComparisonTable() {
+        // Given
+        BenchmarkBaseline baseline = results(entry("SerializationBenchmark.toJson", "avgt", 1000, "ns/op", 2500));
+        BenchmarkBaseline current = results(entry("SerializationBenchmark.toJson", "avgt", 1250, "ns/op", 2500));
+
+        // When
+        String table = BenchmarkBaseline.table(baseline.compare(current, BenchmarkBaseline.Tolerances.defaults()));
+
+        // Then
+        String[] lines = table.split(System.lineSeparator());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("Benchmark"));
+        assertTrue(lines[1].startsWith("SerializationBenchmark.toJson"));
+        assertTrue(lines[1].contains("1000.000 ± 0.000 ns/op"));
+        assertTrue(lines[1].contains("1250.000 ± 0.000 ns/op"));
+        assertTrue(lines[1].contains("+25.0%"));
+        assertTrue(lines[1].endsWith("REGRESSED (score)"));
+    }
+
+    @Test
+    @DisplayName("Should parse checked-in baseline")
+    void shouldParseCheckedInBaseline() throws IOException {
+        // Given
+        Path baselinePath = Path.of("benchmarks", "baseline.json");
+        Path tolerancesPath = Path.of("benchmarks", "tolerances.properties");
+
+        // When
+        BenchmarkBaseline baseline = BenchmarkBaseline.read(baselinePath);
+        BenchmarkBaseline.Tolerances tolerances = BenchmarkBaseline.Tolerances.read(tolerancesPath);
+
+        // Then
+        assertTrue(Files.exists(baselinePath));
+        assertTrue(baseline.getMeasurements().containsKey("SerializationBenchmark.toJson"));
+        assertTrue(baseline.getMeasurements().containsKey("HttpServiceBenchmark.sendRequest"));
+        assertFalse(Double.isNaN(baseline.getMeasurements().get("SerializationBenchmark.toJson").getAllocBytes()),
+            "基线应包含GC profiler的分配量");
+        assertFalse(baseline.compare(baseline, tolerances).stream().anyMatch(BenchmarkBaseline.Comparison::isRegressed),
+            "基线与自身比较不应有回归");
+    }
+
+    private static BenchmarkBaseline results(String... entries) {
+        return BenchmarkBaseline.fromJson("[" + String.join(",", entries) + "]");
+    }
+
+    private static String entry(String benchmark, String mode, double score, String unit, double allocBytes) {
+        return entry(benchmark, mode, score, 0, unit, allocBytes);
+    }
+
+    private static String entry(String benchmark, String mode, double score, double error, String unit,
+                                double allocBytes) {
+        String secondary = Double.isNaN(allocBytes) ? "{}"
+            : "{\"" + BenchmarkBaseline.ALLOC_METRIC + "\":{\"score\":" + allocBytes + ",\"scoreUnit\":\"B/op\"}}";
+        return "{\"benchmark\":\"" + PACKAGE + benchmark + "\",\"mode\":\"" + mode + "\","
+            + "\"primaryMetric\":{\"score\":" + score + ",\"scoreError\":" + error + ",\"scoreUnit\":\"" + unit + "\"},"
+            + "\"secondaryMetrics\":" + secondary + "}";
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.httpclientdemo.benchmark;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.model.TxHeaderModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报文拷贝JMH基准
+ * 对比JSON往返拷贝（原deepCopy实现）、结构化deepCopy与共享txBody的copyWithHeader
+ *
+ * 运行方式：mvn test-compile 后以测试classpath执行本类main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeepCopyBenchmark {
+
+    private CompleteMessageModel message;
+    private TxHeaderModel header;
+
+    @Setup
+    public void setUp() {
+        message = TestDataFactory.createTransferBusinessScenario();
+        header = message.getTxHeader().copy();
+    }
+
+    @Benchmark
+    public CompleteMessageModel jsonRoundTrip() {
+        return CompleteMessageModel.fromJson(message.toJson());
+    }
+
+    @Benchmark
+    public CompleteMessageModel deepCopy() {
+        return message.deepCopy();
+    }
+
+    @Benchmark
+    public CompleteMessageModel copyWithHeader() {
+        return message.copyWithHeader(header);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(DeepCopyBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.httpclientdemo.benchmark;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.mock.MockDownstreamServer;
+import com.example.httpclientdemo.mock.MockDownstreamSettings;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.service.BatchResult;
+import com.example.httpclientdemo.service.HttpService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HttpService端到端JMH基准
+ * 以进程内Netty模拟下游为对端，测量单条阻塞发送的往返耗时与批量异步发送时每条报文的平均耗时
+ *
+ * 运行方式：mvn -Pbenchmark test，或mvn test-compile 后以测试classpath执行本类main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpServiceBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int BATCH_CONCURRENCY = 32;
+
+    private MockDownstreamServer mockDownstream;
+    private ConnectionProvider connectionProvider;
+    private HttpService httpService;
+    private String url;
+    private CompleteMessageModel message;
+    private List<CompleteMessageModel> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mockDownstream = MockDownstreamServer.start(MockDownstreamSettings.defaults().withWorkerThreads(1));
+        connectionProvider = ConnectionProvider.builder("http-service-benchmark")
+            .maxConnections(BATCH_CONCURRENCY)
+            .build();
+        httpService = new HttpService(WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider))));
+        url = mockDownstream.url("/mock-service");
+        message = TestDataFactory.createStandardBusinessScenario();
+        batch = Arrays.asList(TestDataFactory.createBatchTestData(BATCH_SIZE, "standard"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionProvider.dispose();
+        mockDownstream.stop();
+    }
+
+    @Benchmark
+    public String sendRequest() {
+        return httpService.sendRequest(url, message);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchResult sendBatch() {
+        return httpService.sendBatch(url, batch, BATCH_CONCURRENCY);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(HttpServiceBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
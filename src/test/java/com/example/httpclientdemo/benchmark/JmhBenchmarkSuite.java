@@ -0,0 +1,86 @@
+package com.example.httpclientdemo.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * JMH基准套件入口
+ * 类名不匹配surefire默认的*Test命名规则，普通mvn test不会执行；由benchmark profile显式包含：
+ * mvn -Pbenchmark test
+ * 该profile同时运行标记为@Tag("benchmark")的计时/内存测试，这些测试同样不进入默认mvn test
+ * 默认运行本包下全部基准并附加GC profiler（输出gc.alloc.rate.norm等每次操作的分配量），结果以JSON写入jmh.result指定的文件
+ * 可通过系统属性调整：
+ * -Djmh.include=正则（默认本包全部基准）
+ * -Djmh.args="JMH命令行参数"（如 "-wi 1 -i 3 -f 1"，覆盖注解中的迭代配置）
+ * -Djmh.result=结果文件路径
+ * 设置jmh.baseline时将本次结果与基线比对（benchmark profile默认使用benchmarks/baseline.json与benchmarks/tolerances.properties），
+ * 得分或分配量超出容差即失败并输出对比表；-Djmh.baseline= 可跳过比对
+ * 更新基线：确认变化符合预期后，以target/jmh-result.json覆盖benchmarks/baseline.json
+ */
+@Tag("benchmark")
+class JmhBenchmarkSuite {
+
+    private static final String DEFAULT_INCLUDE = JmhBenchmarkSuite.class.getPackageName() + "\\..*Benchmark\\..*";
+
+    @Test
+    @DisplayName("运行JMH基准套件")
+    void runBenchmarks() throws Exception {
+        // Given
+        String args = System.getProperty("jmh.args", "").trim();
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args.isEmpty() ? new String[0] : args.split("\\s+")))
+            .include(System.getProperty("jmh.include", DEFAULT_INCLUDE))
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true);
+        String result = System.getProperty("jmh.result");
+        if (result != null && !result.isEmpty()) {
+            options.resultFormat(ResultFormatType.JSON).result(result);
+        }
+
+        // When
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        // Then
+        assertFalse(results.isEmpty(), "应至少运行一个基准");
+        if (result != null && !result.isEmpty()) {
+            System.out.println("JMH结果已写入: " + result);
+        }
+        String baseline = System.getProperty("jmh.baseline", "").trim();
+        if (!baseline.isEmpty()) {
+            assertNoRegression(Path.of(baseline), BenchmarkBaseline.fromRunResults(results));
+        }
+    }
+
+    private static void assertNoRegression(Path baselinePath, BenchmarkBaseline current) throws Exception {
+        String tolerancesPath = System.getProperty("jmh.tolerances", "").trim();
+        BenchmarkBaseline.Tolerances tolerances = tolerancesPath.isEmpty()
+            ? BenchmarkBaseline.Tolerances.defaults()
+            : BenchmarkBaseline.Tolerances.read(Path.of(tolerancesPath));
+        List<BenchmarkBaseline.Comparison> comparisons = BenchmarkBaseline.read(baselinePath)
+            .compare(current, tolerances);
+        String table = BenchmarkBaseline.table(comparisons);
+
+        System.out.println("=== Benchmark Baseline Comparison (" + baselinePath + ") ===");
+        System.out.print(table);
+
+        long regressed = comparisons.stream().filter(BenchmarkBaseline.Comparison::isRegressed).count();
+        if (regressed > 0) {
+            fail(regressed + " benchmark(s) regressed against " + baselinePath + System.lineSeparator() + table);
+        }
+    }
+}
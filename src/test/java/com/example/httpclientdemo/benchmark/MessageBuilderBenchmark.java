@@ -0,0 +1,76 @@
+package com.example.httpclientdemo.benchmark;
+
+import com.example.httpclientdemo.builder.MessageBuilder;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报文构建JMH基准
+ * 以PerformanceAndQualityTest原计时循环中的构建方式测量build()与buildAndValidate()
+ *
+ * 运行方式：mvn -Pbenchmark test，或mvn test-compile 后以测试classpath执行本类main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageBuilderBenchmark {
+
+    private int iteration;
+
+    @Benchmark
+    public CompleteMessageModel build() {
+        return configure(iteration++).build();
+    }
+
+    @Benchmark
+    public CompleteMessageModel buildAndValidate() {
+        return configure(iteration++).buildAndValidate();
+    }
+
+    private static MessageBuilder configure(int iteration) {
+        return MessageBuilder.create()
+            .withDefaults()
+            .withTxHeader(header -> header
+                .msgGrptMac("PERF_MAC_" + iteration)
+                .globalBusiTrackNo("PERF_TRACK_" + iteration)
+                .subtxNo("PERF_SUBTX_" + iteration)
+                .txCode("PERF001")
+                .channelNo("PERF")
+            )
+            .withTxEntity(entity -> entity
+                .custNo("123456789012345")
+                .qryVchrTpCd("1")
+                .txSceneCd("C203")
+                .addField("iteration", iteration)
+            )
+            .withTxComn(comn -> comn
+                .accountingDate("20240315")
+                .curQryReqNum(String.valueOf(iteration % 100))
+                .bgnIndexNo("0")
+                .addtData("perfTest", true)
+                .busiSendSysOrCmptNo("99710730008")
+            );
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MessageBuilderBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
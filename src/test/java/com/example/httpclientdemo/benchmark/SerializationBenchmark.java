@@ -0,0 +1,93 @@
+package com.example.httpclientdemo.benchmark;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报文JSON序列化JMH基准
+ * 测量转账场景报文的toJson()、toJsonBytes()与fromJson()；
+ * encodeViaString与writeToPooledBuffer对比请求体写入缓冲区的旧路径（toJson()后再按UTF-8编码写入堆缓冲区）
+ * 与新路径（writeTo直接写入池化Netty缓冲区），gc.alloc.rate.norm即每条报文的堆分配量
+ *
+ * 运行方式：mvn -Pbenchmark test，或mvn test-compile 后以测试classpath执行本类main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private final DefaultDataBufferFactory heapFactory = DefaultDataBufferFactory.sharedInstance;
+    private final NettyDataBufferFactory pooledFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private CompleteMessageModel message;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        message = TestDataFactory.createTransferBusinessScenario();
+        json = message.toJson();
+    }
+
+    @Benchmark
+    public String toJson() {
+        return message.toJson();
+    }
+
+    @Benchmark
+    public byte[] toJsonBytes() {
+        return message.toJsonBytes();
+    }
+
+    @Benchmark
+    public CompleteMessageModel fromJson() {
+        return CompleteMessageModel.fromJson(json);
+    }
+
+    @Benchmark
+    public int encodeViaString() {
+        String body = message.toJson();
+        DataBuffer buffer = heapFactory.allocateBuffer(body.length() * 3);
+        buffer.write(body, StandardCharsets.UTF_8);
+        int written = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return written;
+    }
+
+    @Benchmark
+    public int writeToPooledBuffer() {
+        DataBuffer buffer = pooledFactory.allocateBuffer(2048);
+        message.writeTo(buffer.asOutputStream());
+        int written = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return written;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(SerializationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
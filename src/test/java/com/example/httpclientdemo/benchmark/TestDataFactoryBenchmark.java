@@ -0,0 +1,67 @@
+package com.example.httpclientdemo.benchmark;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试数据生成JMH基准
+ * 测量TestDataFactory各业务场景生成一条报文的耗时
+ * randomScenarioAllThreads以全部核数并发生成，单条耗时与randomScenario接近说明吞吐量随核数线性增长
+ *
+ * 运行方式：mvn -Pbenchmark test，或mvn test-compile 后以测试classpath执行本类main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TestDataFactoryBenchmark {
+
+    @Benchmark
+    public CompleteMessageModel standardScenario() {
+        return TestDataFactory.createStandardBusinessScenario();
+    }
+
+    @Benchmark
+    public CompleteMessageModel queryScenario() {
+        return TestDataFactory.createQueryBusinessScenario();
+    }
+
+    @Benchmark
+    public CompleteMessageModel transferScenario() {
+        return TestDataFactory.createTransferBusinessScenario();
+    }
+
+    @Benchmark
+    public CompleteMessageModel randomScenario() {
+        return TestDataFactory.createRandomScenario();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public CompleteMessageModel randomScenarioAllThreads() {
+        return TestDataFactory.createRandomScenario();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TestDataFactoryBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.httpclientdemo.benchmark;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.model.TxEntityModel;
+import com.example.httpclientdemo.model.TxHeaderModel;
+import com.example.httpclientdemo.validation.MessageRules;
+import com.example.httpclientdemo.validation.MessageValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单条报文校验JMH基准
+ * 对比原String.matches实现、预编译逐字符校验（validate() + validateFormat()）与规则表单次遍历校验；
+ * ruleTableValidationMixed以混合场景报文（每10条含1条违规报文）测量规则表校验每条报文的耗时
+ *
+ * 运行方式：mvn -Pbenchmark test，或mvn test-compile 后以测试classpath执行本类main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private static final int MIXED_MESSAGES = 1_000;
+
+    private final MessageValidator validator = MessageRules.standardValidator();
+    private CompleteMessageModel message;
+    private CompleteMessageModel[] mixed;
+
+    @Setup
+    public void setUp() {
+        message = TestDataFactory.createStandardBusinessScenario();
+        message.getTxBody().setAccountingDate("20240101");
+        mixed = new CompleteMessageModel[MIXED_MESSAGES];
+        for (int i = 0; i < MIXED_MESSAGES; i++) {
+            mixed[i] = i % 10 == 0
+                ? TestDataFactory.createInvalidFormatScenario()
+                : TestDataFactory.createRandomScenario();
+        }
+    }
+
+    @Benchmark
+    public boolean regexValidation() {
+        return legacyValidate(message) && legacyValidateFormat(message);
+    }
+
+    @Benchmark
+    public boolean precompiledValidation() {
+        return message.validate() && message.validateFormat();
+    }
+
+    @Benchmark
+    public boolean ruleTableValidation() {
+        return validator.validate(message).isValid();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MIXED_MESSAGES)
+    public int ruleTableValidationMixed() {
+        int invalid = 0;
+        for (CompleteMessageModel candidate : mixed) {
+            if (!validator.validate(candidate).isValid()) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    // 以下为改造前的实现，仅作为基准对照
+    private static boolean legacyValidate(CompleteMessageModel message) {
+        TxHeaderModel header = message.getTxHeader();
+        if (header == null || !(header.getMsgGrptMac() != null && !header.getMsgGrptMac().trim().isEmpty()
+                && header.getGlobalBusiTrackNo() != null && !header.getGlobalBusiTrackNo().trim().isEmpty()
+                && header.getSubtxNo() != null && !header.getSubtxNo().trim().isEmpty())) {
+            return false;
+        }
+        TxEntityModel entity = message.getTxEntity();
+        if (entity == null || !(entity.getCustNo() != null && !entity.getCustNo().trim().isEmpty()
+                && entity.getQryVchrTpCd() != null && !entity.getQryVchrTpCd().trim().isEmpty()
+                && entity.getTxSceneCd() != null && !entity.getTxSceneCd().trim().isEmpty())) {
+            return false;
+        }
+        String accountingDate = message.getTxBody().getAccountingDate();
+        return accountingDate == null || accountingDate.matches("\\d{8}");
+    }
+
+    private static boolean legacyValidateFormat(CompleteMessageModel message) {
+        TxHeaderModel header = message.getTxHeader();
+        if (header != null && !header.validateFieldLengths()) {
+            return false;
+        }
+        TxEntityModel entity = message.getTxEntity();
+        if (entity == null) {
+            return true;
+        }
+        return (entity.getCustNo() == null || entity.getCustNo().matches("\\d{15}"))
+            && (entity.getQryVchrTpCd() == null || entity.getQryVchrTpCd().matches("\\d{1}"))
+            && (entity.getTxSceneCd() == null || entity.getTxSceneCd().matches("[A-Z]\\d{3}"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ValidationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
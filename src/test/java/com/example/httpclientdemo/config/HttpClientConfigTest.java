@@ -0,0 +1,340 @@
+package com.example.httpclientdemo.config;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.service.ContentCoding;
+import com.example.httpclientdemo.service.HttpService;
+import com.example.httpclientdemo.service.HttpServiceOptions;
+import com.example.httpclientdemo.service.LatencyRecorder;
+import com.example.httpclientdemo.service.OverloadProtection;
+import com.example.httpclientdemo.service.RequestCompression;
+import com.example.httpclientdemo.service.ResiliencePolicies;
+import com.example.httpclientdemo.service.ResiliencePolicy;
+import com.github.luben.zstd.Zstd;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * HttpClientConfig测试
+ * 验证http-client.pool.*、http-client.protocol与http-client.http2.*配置的绑定以及在HttpService中的生效情况
+ */
+@DisplayName("HttpClientConfig Tests")
+class HttpClientConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(HttpClientConfig.class);
+
+    private MockWebServer mockWebServer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Metrics.removeRegistry(meterRegistry);
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should bind pool properties")
+    void shouldBindPoolProperties() {
+        contextRunner
+            .withPropertyValues(
+                "http-client.pool.max-connections=64",
+                "http-client.pool.pending-acquire-max-count=128",
+                "http-client.pool.pending-acquire-timeout=250ms",
+                "http-client.pool.max-idle-time=10s",
+                "http-client.pool.max-life-time=2m",
+                "http-client.pool.eviction-interval=0s",
+                "http-client.pool.leasing-strategy=lifo")
+            .run(context -> {
+                HttpClientProperties.Pool pool = context.getBean(HttpClientProperties.class).getPool();
+                assertEquals(64, pool.getMaxConnections());
+                assertEquals(128, pool.getPendingAcquireMaxCount());
+                assertEquals(Duration.ofMillis(250), pool.getPendingAcquireTimeout());
+                assertEquals(Duration.ofSeconds(10), pool.getMaxIdleTime());
+                assertEquals(Duration.ofMinutes(2), pool.getMaxLifeTime());
+                assertTrue(pool.getEvictionInterval().isZero());
+                assertEquals(HttpClientProperties.LeasingStrategy.LIFO, pool.getLeasingStrategy());
+
+                assertEquals(64, context.getBean(ConnectionProvider.class).maxConnections());
+                assertNotNull(context.getBean(ClientHttpConnector.class));
+            });
+    }
+
+    @Test
+    @DisplayName("Should use default pool properties")
+    void shouldUseDefaultPoolProperties() {
+        HttpClientProperties.Pool pool = new HttpClientProperties().getPool();
+
+        assertEquals("http-service", pool.getName());
+        assertEquals(500, pool.getMaxConnections());
+        assertEquals(1000, pool.getPendingAcquireMaxCount());
+        assertEquals(HttpClientProperties.LeasingStrategy.FIFO, pool.getLeasingStrategy());
+        assertTrue(pool.isMetricsEnabled());
+    }
+
+    @Test
+    @DisplayName("Should send through pooled connector and expose pool metrics")
+    void shouldSendThroughPooledConnectorAndExposePoolMetrics() {
+        contextRunner
+            .withPropertyValues(
+                "http-client.pool.name=config-test",
+                "http-client.pool.max-connections=7")
+            .run(context -> {
+                WebClient.Builder webClientBuilder = WebClient.builder()
+                    .clientConnector(context.getBean(ClientHttpConnector.class));
+                HttpService httpService = new HttpService(webClientBuilder);
+                mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"success\"}").addHeader("Content-Type", "application/json"));
+
+                String response = httpService.sendRequest(mockWebServer.url("/").toString(),
+                    TestDataFactory.createStandardBusinessScenario());
+
+                assertEquals("{\"status\":\"success\"}", response);
+                Gauge maxConnections = meterRegistry.find("reactor.netty.connection.provider.max.connections")
+                    .tag("name", "config-test")
+                    .gauge();
+                assertNotNull(maxConnections, "连接池指标应已注册");
+                assertEquals(7.0, maxConnections.value());
+            });
+    }
+
+    @Test
+    @DisplayName("Should default to HTTP/1.1")
+    void shouldDefaultToHttp11() {
+        HttpClientProperties properties = new HttpClientProperties();
+        ConnectionProvider provider = HttpClientConfig.createConnectionProvider(properties);
+        try {
+            HttpClient httpClient = HttpClientConfig.createHttpClient(provider, properties);
+
+            assertEquals(HttpClientProperties.Protocol.HTTP1_1, properties.getProtocol());
+            assertArrayEquals(new HttpProtocol[]{HttpProtocol.HTTP11}, httpClient.configuration().protocols());
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Should bind HTTP/2 properties")
+    void shouldBindHttp2Properties() {
+        contextRunner
+            .withPropertyValues(
+                "http-client.protocol=h2c",
+                "http-client.http2.max-concurrent-streams=50",
+                "http-client.http2.max-connections=2",
+                "http-client.http2.min-connections=2")
+            .run(context -> {
+                HttpClientProperties properties = context.getBean(HttpClientProperties.class);
+                assertEquals(HttpClientProperties.Protocol.H2C, properties.getProtocol());
+                assertEquals(50, properties.getHttp2().getMaxConcurrentStreams());
+                assertEquals(2, properties.getHttp2().getMaxConnections());
+                assertEquals(2, properties.getHttp2().getMinConnections());
+                assertNotNull(context.getBean(ClientHttpConnector.class));
+            });
+    }
+
+    @Test
+    @DisplayName("Should negotiate h2 over TLS with HTTP/1.1 fallback")
+    void shouldNegotiateH2OverTlsWithHttp11Fallback() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setProtocol(HttpClientProperties.Protocol.H2);
+        ConnectionProvider provider = HttpClientConfig.createConnectionProvider(properties);
+        try {
+            HttpClient httpClient = HttpClientConfig.createHttpClient(provider, properties);
+
+            assertArrayEquals(new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11},
+                httpClient.configuration().protocols());
+            assertTrue(httpClient.configuration().isSecure());
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send over h2c with prior knowledge")
+    void shouldSendOverH2cWithPriorKnowledge() throws IOException {
+        // Given - 服务端只接受HTTP/2帧，HTTP/1.1请求会失败
+        mockWebServer.shutdown();
+        mockWebServer = new MockWebServer();
+        mockWebServer.setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        mockWebServer.start();
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"success\"}").addHeader("Content-Type", "application/json"));
+
+        contextRunner
+            .withPropertyValues("http-client.protocol=h2c")
+            .run(context -> {
+                WebClient.Builder webClientBuilder = WebClient.builder()
+                    .clientConnector(context.getBean(ClientHttpConnector.class));
+                HttpService httpService = new HttpService(webClientBuilder);
+
+                // When
+                String response = httpService.sendRequest(mockWebServer.url("/").toString(),
+                    TestDataFactory.createStandardBusinessScenario());
+
+                // Then
+                assertEquals("{\"status\":\"success\"}", response);
+                assertEquals(1, mockWebServer.getRequestCount());
+            });
+    }
+
+    @Test
+    @DisplayName("Should decompress gzip response transparently")
+    void shouldDecompressGzipResponseTransparently() throws Exception {
+        // Given
+        String body = "{\"status\":\"success\"}".repeat(100);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(new Buffer().write(compressed.toByteArray()))
+            .addHeader("Content-Encoding", "gzip")
+            .addHeader("Content-Type", "application/json"));
+
+        contextRunner.run(context -> {
+            HttpService httpService = new HttpService(WebClient.builder()
+                .clientConnector(context.getBean(ClientHttpConnector.class)));
+
+            // When
+            String response = httpService.sendRequest(mockWebServer.url("/").toString(),
+                TestDataFactory.createStandardBusinessScenario());
+
+            // Then
+            assertEquals(body, response);
+            String acceptEncoding = mockWebServer.takeRequest().getHeader("Accept-Encoding");
+            assertNotNull(acceptEncoding);
+            assertTrue(acceptEncoding.contains("gzip"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should decompress zstd response when zstd is available")
+    void shouldDecompressZstdResponseWhenZstdIsAvailable() {
+        assumeTrue(ContentCoding.isZstdAvailable(), "zstd本地库不可用");
+
+        // Given
+        String body = "{\"status\":\"success\"}".repeat(100);
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(new Buffer().write(Zstd.compress(body.getBytes(StandardCharsets.UTF_8))))
+            .addHeader("Content-Encoding", "zstd")
+            .addHeader("Content-Type", "application/json"));
+
+        contextRunner.run(context -> {
+            HttpService httpService = new HttpService(WebClient.builder()
+                .clientConnector(context.getBean(ClientHttpConnector.class)));
+
+            // When
+            String response = httpService.sendRequest(mockWebServer.url("/").toString(),
+                TestDataFactory.createStandardBusinessScenario());
+
+            // Then
+            assertEquals(body, response);
+            assertTrue(mockWebServer.takeRequest().getHeader("Accept-Encoding").contains("zstd"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should bind compression properties")
+    void shouldBindCompressionProperties() {
+        contextRunner
+            .withPropertyValues(
+                "http-client.compression.request-enabled=true",
+                "http-client.compression.request-threshold=16KB",
+                "http-client.compression.zstd-enabled=false")
+            .run(context -> {
+                RequestCompression compression = context.getBean(RequestCompression.class);
+                assertTrue(compression.isEnabled());
+                assertEquals(16 * 1024, compression.getThreshold());
+                assertFalse(compression.isZstdEnabled());
+            });
+        assertFalse(HttpClientConfig.createRequestCompression(new HttpClientProperties().getCompression()).isEnabled());
+    }
+
+    @Test
+    @DisplayName("Should bind latency properties")
+    void shouldBindLatencyProperties() {
+        contextRunner
+            .withPropertyValues(
+                "http-client.latency.enabled=true",
+                "http-client.latency.significant-digits=2")
+            .run(context -> assertTrue(context.getBean(LatencyRecorder.class).isEnabled()));
+        assertFalse(HttpClientConfig.createLatencyRecorder(new HttpClientProperties().getLatency()).isEnabled(),
+                "默认不应记录延迟");
+    }
+
+    @Test
+    @DisplayName("Should assemble HttpService options from configured components")
+    void shouldAssembleHttpServiceOptionsFromConfiguredComponents() {
+        contextRunner
+            .withPropertyValues("http-client.compression.request-enabled=true")
+            .run(context -> {
+                // When
+                HttpServiceOptions options = context.getBean(HttpServiceOptions.class);
+
+                // Then - HttpService唯一的构造器通过该Bean获取各组件
+                assertSame(context.getBean(RequestCompression.class), options.getRequestCompression());
+                assertSame(context.getBean(ResiliencePolicies.class), options.getResiliencePolicies());
+                assertSame(context.getBean(OverloadProtection.class), options.getOverloadProtection());
+                assertSame(context.getBean(LatencyRecorder.class), options.getLatencyRecorder());
+                assertTrue(options.getRequestCompression().isEnabled());
+            });
+        assertFalse(HttpServiceOptions.defaults().getRequestCompression().isEnabled(), "默认不应压缩请求体");
+        assertThrows(IllegalArgumentException.class, () -> HttpServiceOptions.defaults().withMetrics(null));
+    }
+
+    @Test
+    @DisplayName("Should bind resilience properties with endpoint overrides")
+    void shouldBindResiliencePropertiesWithEndpointOverrides() {
+        contextRunner
+            .withPropertyValues(
+                "http-client.resilience.timeout=5s",
+                "http-client.resilience.max-retries=3",
+                "http-client.resilience.hedge-enabled=true",
+                "http-client.resilience.endpoints[core.internal].timeout=1s",
+                "http-client.resilience.endpoints[core.internal].idempotent=true")
+            .run(context -> {
+                ResiliencePolicies policies = context.getBean(ResiliencePolicies.class);
+                ResiliencePolicy defaultPolicy = policies.getDefaultPolicy();
+                assertEquals(Duration.ofSeconds(5), defaultPolicy.getTimeout());
+                assertEquals(3, defaultPolicy.getMaxRetries());
+                assertFalse(defaultPolicy.isIdempotent());
+                assertFalse(defaultPolicy.isHedgingEnabled(), "非幂等下游不应启用对冲");
+
+                ResiliencePolicy endpointPolicy = policies.policyFor("http://core.internal/api/send");
+                assertEquals(Duration.ofSeconds(1), endpointPolicy.getTimeout());
+                assertEquals(3, endpointPolicy.getMaxRetries(), "未覆盖的取值应沿用默认配置");
+                assertTrue(endpointPolicy.isIdempotent());
+                assertTrue(endpointPolicy.isHedgingEnabled());
+            });
+    }
+}
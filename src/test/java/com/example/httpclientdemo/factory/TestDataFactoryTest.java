@@ -4,14 +4,23 @@ import com.example.httpclientdemo.model.CompleteMessageModel;
 import com.example.httpclientdemo.model.TxHeaderModel;
 import com.example.httpclientdemo.model.TxEntityModel;
 import com.example.httpclientdemo.model.TxComnModel;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * TestDataFactory单元测试类
@@ -514,4 +523,86 @@ class TestDataFactoryTest {
             assertTrue(entity.getCustNo().matches("\\d{15}")); // 15位数字
         }
     }
-}
\ No newline at end of file
+    
+    @Nested
+    @DisplayName("Random Generation")
+    class RandomGeneration {
+        
+        @AfterEach
+        void clearSeed() {
+            TestDataFactory.clearSeed();
+        }
+        
+        @Test
+        @DisplayName("Should reproduce random fields with the same seed")
+        void shouldReproduceRandomFieldsWithTheSameSeed() {
+            // Given
+            TestDataFactory.setSeed(42L);
+            CompleteMessageModel first = TestDataFactory.createRandomScenario();
+            
+            // When
+            TestDataFactory.setSeed(42L);
+            CompleteMessageModel second = TestDataFactory.createRandomScenario();
+            TestDataFactory.setSeed(43L);
+            CompleteMessageModel other = TestDataFactory.createRandomScenario();
+            
+            // Then
+            TxHeaderModel header = first.getTxHeader();
+            assertEquals(header.getMsgGrptMac(), second.getTxHeader().getMsgGrptMac(), "相同种子应生成相同的MAC");
+            assertEquals(header.getSubtxNo(), second.getTxHeader().getSubtxNo());
+            assertEquals(header.getTxCode(), second.getTxHeader().getTxCode());
+            assertEquals(header.getOrgNo(), second.getTxHeader().getOrgNo());
+            assertEquals(first.getTxEntity().getCustNo(), second.getTxEntity().getCustNo());
+            assertNotEquals(header.getMsgGrptMac(), other.getTxHeader().getMsgGrptMac(), "不同种子应生成不同的MAC");
+        }
+        
+        @Test
+        @DisplayName("Should format generated identifiers with fixed width")
+        void shouldFormatGeneratedIdentifiersWithFixedWidth() {
+            for (int i = 0; i < 100; i++) {
+                TxHeaderModel header = TestDataFactory.createRandomScenario().getTxHeader();
+                
+                assertTrue(header.getMsgGrptMac().matches("MAC_[0-9A-F]{16}"), "MAC格式错误: " + header.getMsgGrptMac());
+                assertTrue(header.getSubtxNo().matches("SUBTX_\\d{6}"), "子交易号格式错误: " + header.getSubtxNo());
+                assertTrue(header.getTxCode().matches("RND\\d{3}"));
+                assertTrue(header.getOrgNo().matches("\\d{3}"));
+            }
+            assertEquals("000007", TestDataFactory.zeroPadded(7, 6));
+            assertEquals("123456", TestDataFactory.zeroPadded(123456, 6));
+            assertEquals("1234567", TestDataFactory.zeroPadded(1234567, 6), "超出位数时应原样输出");
+            assertEquals("000", TestDataFactory.zeroPadded(0, 3));
+        }
+        
+        @Test
+        @DisplayName("Should generate valid messages from concurrent threads")
+        void shouldGenerateValidMessagesFromConcurrentThreads() throws Exception {
+            // Given
+            int threads = 4;
+            int perThread = 500;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            Set<String> macs = ConcurrentHashMap.newKeySet();
+            
+            // When
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+                            assertTrue(message.validate());
+                            macs.add(message.getTxHeader().getMsgGrptMac());
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            
+            // Then
+            assertEquals(threads * perThread, macs.size(), "各线程生成的MAC不应重复");
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.httpclientdemo.load;
+
+import com.example.httpclientdemo.mock.LatencyDistribution;
+import com.example.httpclientdemo.mock.MockDownstreamServer;
+import com.example.httpclientdemo.mock.MockDownstreamSettings;
+import com.example.httpclientdemo.service.HttpService;
+import com.example.httpclientdemo.service.RequestOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 负载生成器测试
+ * 以进程内模拟下游为对端，验证开环速率、闭环并发、预热排除、协调遗漏修正与直方图输出
+ */
+@DisplayName("Load Generator Tests")
+class LoadGeneratorTest {
+
+    private MockDownstreamServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send at target rate in open loop")
+    void shouldSendAtTargetRateInOpenLoop() throws InterruptedException {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults());
+        LoadSettings settings = LoadSettings.openLoop(200)
+            .withDuration(Duration.ofSeconds(1))
+            .withWarmup(Duration.ZERO)
+            .withScenarioMix(ScenarioMix.parse("standard=2,query=1"));
+
+        // When
+        LoadReport report = generator().run(server.url("/mock-service"), settings);
+
+        // Then
+        assertEquals(200, report.getRequestCount(), "开环模式应按计划发出全部请求");
+        assertEquals(0, report.getErrorCount());
+        assertEquals(200L, report.getOutcomes().get(RequestOutcome.SUCCESS));
+        assertEquals(200, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should keep fixed concurrency in closed loop")
+    void shouldKeepFixedConcurrencyInClosedLoop() throws InterruptedException {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults()
+            .withLatency(LatencyDistribution.fixed(Duration.ofMillis(10))));
+        LoadSettings settings = LoadSettings.closedLoop(4)
+            .withDuration(Duration.ofMillis(500))
+            .withWarmup(Duration.ZERO);
+
+        // When
+        LoadReport report = generator().run(server.url("/mock-service"), settings);
+
+        // Then
+        // 4个用户各自串行发送，每次至少10ms，500ms内最多约200次
+        assertTrue(report.getRequestCount() > 20, "闭环模式应持续发送，实际: " + report.getRequestCount());
+        assertTrue(report.getRequestCount() <= 4 * 51, "闭环模式的并发不应超过用户数，实际: " + report.getRequestCount());
+        assertEquals(report.getLatency().getTotalCount(), report.getServiceTime().getTotalCount());
+        assertEquals(report.getLatency().getMaxValue(), report.getServiceTime().getMaxValue(),
+            "闭环模式的延迟即服务时间");
+    }
+
+    @Test
+    @DisplayName("Should exclude warmup requests from report")
+    void shouldExcludeWarmupRequestsFromReport() throws InterruptedException {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults());
+        LoadSettings settings = LoadSettings.openLoop(100)
+            .withDuration(Duration.ofMillis(300))
+            .withWarmup(Duration.ofMillis(300));
+
+        // When
+        LoadReport report = generator().run(server.url("/mock-service"), settings);
+
+        // Then
+        assertEquals(30, report.getRequestCount(), "预热期间计划的请求不应计入结果");
+        assertEquals(60, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should charge queueing delay to latency when downstream stalls")
+    void shouldChargeQueueingDelayToLatencyWhenDownstreamStalls() throws InterruptedException {
+        // Given - 下游固定20ms，但只允许1个在途请求，按100/s发送时请求在客户端排队
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults()
+            .withLatency(LatencyDistribution.fixed(Duration.ofMillis(20))));
+        LoadSettings settings = LoadSettings.openLoop(100)
+            .withDuration(Duration.ofMillis(500))
+            .withWarmup(Duration.ZERO)
+            .withMaxInFlight(1);
+
+        // When
+        LoadReport report = generator().run(server.url("/mock-service"), settings);
+
+        // Then
+        long serviceMedian = report.getServiceTime().getValueAtPercentile(50);
+        long latencyP99 = report.getLatency().getValueAtPercentile(99);
+        System.out.println("=== Coordinated Omission Results ===");
+        System.out.println("service time p50: " + serviceMedian + " us, latency p99: " + latencyP99 + " us");
+        assertEquals(50, report.getRequestCount());
+        assertTrue(serviceMedian >= 20_000, "服务时间应包含下游延迟");
+        assertTrue(latencyP99 > 10 * serviceMedian,
+            "自计划时刻起算的延迟应包含排队时间，p99: " + latencyP99 + "us, 服务时间p50: " + serviceMedian + "us");
+    }
+
+    @Test
+    @DisplayName("Should classify downstream errors by outcome")
+    void shouldClassifyDownstreamErrorsByOutcome() throws InterruptedException {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults().withErrors(1.0, 503));
+        LoadSettings settings = LoadSettings.openLoop(100)
+            .withDuration(Duration.ofMillis(200))
+            .withWarmup(Duration.ZERO);
+
+        // When
+        LoadReport report = generator().run(server.url("/mock-service"), settings);
+
+        // Then
+        assertEquals(20, report.getRequestCount());
+        assertEquals(20, report.getErrorCount());
+        assertEquals(20L, report.getOutcomes().get(RequestOutcome.SERVER_ERROR));
+    }
+
+    @Test
+    @DisplayName("Should write HdrHistogram percentile distributions")
+    void shouldWriteHdrHistogramPercentileDistributions(@TempDir Path directory) throws Exception {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults());
+        LoadReport report = generator().run(server.url("/mock-service"), LoadSettings.openLoop(100)
+            .withDuration(Duration.ofMillis(200))
+            .withWarmup(Duration.ZERO));
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+
+        // When
+        report.writeHistograms(directory.resolve("load"));
+        report.printSummary(new PrintStream(summary, true, StandardCharsets.UTF_8));
+
+        // Then
+        String latency = Files.readString(directory.resolve("load").resolve(LoadReport.LATENCY_FILE));
+        assertTrue(latency.contains("Value     Percentile TotalCount 1/(1-Percentile)"));
+        assertTrue(latency.matches("(?s).*Total count\\s+=\\s+20\\].*"), "应包含总请求数");
+        assertTrue(Files.exists(directory.resolve("load").resolve(LoadReport.SERVICE_TIME_FILE)));
+        assertTrue(summary.toString(StandardCharsets.UTF_8).contains("Requests: 20, errors: 0"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid load settings")
+    void shouldRejectInvalidLoadSettings() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> LoadSettings.openLoop(0));
+        assertThrows(IllegalArgumentException.class, () -> LoadSettings.closedLoop(0));
+        assertThrows(IllegalArgumentException.class, () -> LoadSettings.closedLoop(4).withMaxInFlight(8));
+        assertThrows(IllegalArgumentException.class, () -> LoadSettings.openLoop(10).withDuration(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> LoadSettings.openLoop(10).withWarmup(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(null));
+    }
+
+    private static LoadGenerator generator() {
+        return new LoadGenerator(new HttpService(WebClient.builder()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.httpclientdemo.load;
+
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 场景配比测试
+ * 验证配比解析、按权重抽样与非法输入的处理
+ */
+@DisplayName("Scenario Mix Tests")
+class ScenarioMixTest {
+
+    @Test
+    @DisplayName("Should parse scenario weights")
+    void shouldParseScenarioWeights() {
+        // When
+        ScenarioMix mix = ScenarioMix.parse("standard=60, query=30,MAX-BOUNDARY=10");
+
+        // Then
+        Map<ScenarioMix.Scenario, Integer> weights = mix.getWeights();
+        assertEquals(3, weights.size());
+        assertEquals(60, weights.get(ScenarioMix.Scenario.STANDARD));
+        assertEquals(30, weights.get(ScenarioMix.Scenario.QUERY));
+        assertEquals(10, weights.get(ScenarioMix.Scenario.MAX_BOUNDARY));
+        assertEquals("standard=60,query=30,max-boundary=10", mix.toString());
+    }
+
+    @Test
+    @DisplayName("Should sample scenarios in proportion to weights")
+    void shouldSampleScenariosInProportionToWeights() {
+        // Given
+        ScenarioMix mix = ScenarioMix.parse("standard=60,query=30,transfer=10");
+        Map<ScenarioMix.Scenario, Integer> counts = new EnumMap<>(ScenarioMix.Scenario.class);
+        int samples = 100_000;
+
+        // When
+        for (int i = 0; i < samples; i++) {
+            counts.merge(mix.nextScenario(), 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(3, counts.size(), "只应抽到配比中的场景");
+        assertEquals(0.6, counts.get(ScenarioMix.Scenario.STANDARD) / (double) samples, 0.01);
+        assertEquals(0.3, counts.get(ScenarioMix.Scenario.QUERY) / (double) samples, 0.01);
+        assertEquals(0.1, counts.get(ScenarioMix.Scenario.TRANSFER) / (double) samples, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should generate messages from TestDataFactory scenarios")
+    void shouldGenerateMessagesFromTestDataFactoryScenarios() {
+        // Given
+        ScenarioMix mix = ScenarioMix.of(ScenarioMix.Scenario.TRANSFER).with(ScenarioMix.Scenario.QUERY, 1);
+
+        // When
+        CompleteMessageModel message = mix.next();
+
+        // Then
+        assertNotNull(message);
+        assertNotNull(message.getTxHeader().getGlobalBusiTrackNo());
+        assertEquals(2, mix.getWeights().size());
+        assertEquals(1, ScenarioMix.defaults().getWeights().size());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid mix specifications")
+    void shouldRejectInvalidMixSpecifications() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> ScenarioMix.parse("standard"));
+        assertThrows(IllegalArgumentException.class, () -> ScenarioMix.parse("unknown=1"));
+        assertThrows(IllegalArgumentException.class, () -> ScenarioMix.parse("standard=0"));
+        assertThrows(IllegalArgumentException.class, () -> ScenarioMix.parse("standard=abc"));
+        assertThrows(IllegalArgumentException.class, () -> ScenarioMix.parse("standard=1,standard=2"));
+        assertThrows(IllegalArgumentException.class,
+            () -> ScenarioMix.defaults().with(ScenarioMix.Scenario.QUERY, -1));
+    }
+}
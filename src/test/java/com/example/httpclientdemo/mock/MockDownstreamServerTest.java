@@ -0,0 +1,161 @@
+package com.example.httpclientdemo.mock;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.example.httpclientdemo.config.MockDownstreamConfig;
+import com.example.httpclientdemo.config.MockDownstreamProperties;
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.service.HttpService;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 内嵌模拟下游服务测试
+ * 以HttpService与WebClient直接调用，验证跟踪号回传、负载大小、错误率与延迟
+ */
+@DisplayName("Mock Downstream Server Tests")
+class MockDownstreamServerTest {
+
+    private MockDownstreamServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should echo track number found in request body")
+    void shouldEchoTrackNumberFoundInRequestBody() {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults().withResponseSize(128));
+        CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+        HttpService httpService = new HttpService(WebClient.builder());
+
+        // When
+        String response = httpService.sendRequest(server.url("/mock-service"), message);
+
+        // Then
+        JSONObject json = JSONObject.parseObject(response);
+        assertEquals("success", json.getString("status"));
+        assertEquals(message.getTxHeader().getGlobalBusiTrackNo(), json.getString("globalBusiTrackNo"));
+        assertEquals(128, json.getString("payload").length());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should echo track number header")
+    void shouldEchoTrackNumberHeader() {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults());
+
+        // When
+        ResponseEntity<String> response = WebClient.create().post()
+            .uri(server.url("/any/path"))
+            .header(MockDownstreamServer.TRACK_NO_HEADER, "GBT-\"0001\"")
+            .bodyValue("{}")
+            .retrieve()
+            .toEntity(String.class)
+            .block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals("GBT-\"0001\"", response.getHeaders().getFirst(MockDownstreamServer.TRACK_NO_HEADER));
+        assertEquals("GBT-\"0001\"", JSONObject.parseObject(response.getBody()).getString("globalBusiTrackNo"));
+    }
+
+    @Test
+    @DisplayName("Should return configured error status")
+    void shouldReturnConfiguredErrorStatus() {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults().withErrors(1.0, 429));
+        HttpService httpService = new HttpService(WebClient.builder());
+
+        // When
+        WebClientResponseException error = assertThrows(WebClientResponseException.class,
+            () -> httpService.sendRequest(server.url("/"), TestDataFactory.createStandardBusinessScenario()));
+
+        // Then
+        assertEquals(429, error.getStatusCode().value());
+        assertEquals(1, server.getErrorCount());
+    }
+
+    @Test
+    @DisplayName("Should delay response by configured latency")
+    void shouldDelayResponseByConfiguredLatency() {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults()
+            .withLatency(LatencyDistribution.fixed(Duration.ofMillis(200))));
+        HttpService httpService = new HttpService(WebClient.builder());
+        httpService.sendRequest(server.url("/"), TestDataFactory.createQueryBusinessScenario());
+
+        // When
+        long startTime = System.nanoTime();
+        httpService.sendRequest(server.url("/"), TestDataFactory.createQueryBusinessScenario());
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        // Then
+        assertTrue(elapsedMillis >= 200 && elapsedMillis < 2000, "响应应延迟约200ms，实际" + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should sample log-normal latency around median and p99")
+    void shouldSampleLogNormalLatencyAroundMedianAndP99() {
+        // Given
+        LatencyDistribution latency = LatencyDistribution.logNormal(Duration.ofMillis(10), Duration.ofMillis(100));
+        long[] samples = new long[100_000];
+
+        // When
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = latency.sampleNanos();
+        }
+        java.util.Arrays.sort(samples);
+
+        // Then
+        double medianMillis = samples[samples.length / 2] / 1e6;
+        double p99Millis = samples[(int) (samples.length * 0.99)] / 1e6;
+        assertEquals(10.0, medianMillis, 1.0);
+        assertEquals(100.0, p99Millis, 15.0);
+    }
+
+    @Test
+    @DisplayName("Should find track number without parsing JSON")
+    void shouldFindTrackNumberWithoutParsingJson() {
+        assertEquals("T-1", MockDownstreamServer.findTrackNo(
+            Unpooled.copiedBuffer("{\"txHeader\":{\"globalBusiTrackNo\":\"T-1\"}}", StandardCharsets.UTF_8)));
+        assertNull(MockDownstreamServer.findTrackNo(Unpooled.copiedBuffer("{\"a\":1}", StandardCharsets.UTF_8)));
+        assertNull(MockDownstreamServer.findTrackNo(Unpooled.EMPTY_BUFFER));
+    }
+
+    @Test
+    @DisplayName("Should create settings from properties")
+    void shouldCreateSettingsFromProperties() {
+        // Given
+        MockDownstreamProperties properties = new MockDownstreamProperties();
+        properties.setPort(0);
+        properties.setLatencyMedian(Duration.ofMillis(5));
+        properties.setErrorRate(0.01);
+        properties.setResponseSize(512);
+
+        // When
+        MockDownstreamSettings settings = MockDownstreamConfig.createSettings(properties);
+
+        // Then
+        assertEquals(0, settings.getPort());
+        assertEquals(Duration.ofMillis(5).toNanos(), settings.getLatency().sampleNanos());
+        assertEquals(0.01, settings.getErrorRate());
+        assertEquals(512, settings.getResponseSize());
+        assertThrows(IllegalArgumentException.class, () -> MockDownstreamSettings.defaults().withErrors(1.5, 503));
+        assertThrows(IllegalArgumentException.class, () -> MockDownstreamSettings.defaults().withErrors(0.1, 200));
+    }
+}
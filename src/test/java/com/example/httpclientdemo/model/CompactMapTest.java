@@ -0,0 +1,107 @@
+package com.example.httpclientdemo.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompactMap单元测试类
+ */
+@DisplayName("CompactMap Tests")
+class CompactMapTest {
+
+    @Test
+    @DisplayName("Should put, get and replace values")
+    void shouldPutGetAndReplaceValues() {
+        CompactMap map = new CompactMap();
+
+        assertNull(map.put("a", "1"));
+        assertNull(map.put("b", null));
+        assertEquals("1", map.put("a", "2"));
+
+        assertEquals(2, map.size());
+        assertEquals("2", map.get("a"));
+        assertNull(map.get("b"));
+        assertTrue(map.containsKey("b"));
+        assertFalse(map.containsKey("c"));
+    }
+
+    @Test
+    @DisplayName("Should keep insertion order")
+    void shouldKeepInsertionOrder() {
+        CompactMap map = new CompactMap();
+        map.put("z", 1);
+        map.put("a", 2);
+        map.put("m", 3);
+
+        assertEquals(List.of("z", "a", "m"), new ArrayList<>(map.keySet()));
+        assertEquals("{z=1, a=2, m=3}", map.toString());
+    }
+
+    @Test
+    @DisplayName("Should behave like HashMap beyond index threshold")
+    void shouldBehaveLikeHashMapBeyondIndexThreshold() {
+        CompactMap map = new CompactMap();
+        Map<String, Object> expected = new HashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+        for (int i = 0; i < 100; i += 3) {
+            assertEquals(i, map.remove("key" + i));
+            expected.remove("key" + i);
+        }
+
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.get("key" + i), map.get("key" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should support removal through iterator and clear")
+    void shouldSupportRemovalThroughIteratorAndClear() {
+        CompactMap map = new CompactMap(Map.of("a", 1, "b", 2, "c", 3));
+
+        Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey().equals("b")) {
+                iterator.remove();
+            }
+        }
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("b"));
+
+        map.entrySet().iterator().next().setValue(10);
+        assertEquals(10, map.get(map.keySet().iterator().next()));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("a"));
+    }
+
+    @Test
+    @DisplayName("Should fail fast on concurrent modification")
+    void shouldFailFastOnConcurrentModification() {
+        CompactMap map = new CompactMap();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        Iterator<String> iterator = map.keySet().iterator();
+        iterator.next();
+        map.put("c", 3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}
@@ -3,6 +3,14 @@ package com.example.httpclientdemo.model;
 import com.alibaba.fastjson2.JSON;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -117,6 +125,24 @@ public class CompleteMessageModelTest {
         assertNotNull(completeMessage.getTxComn());
     }
     
+    @Test
+    void testTxComnViewWritesThroughToMessage() {
+        // 未写入过的段与已有段，经getTxComn()视图写入后都应反映到报文中
+        CompleteMessageModel message = new CompleteMessageModel();
+        message.getTxBody().getTxComn1().put("curQryReqNum", "0");
+        
+        TxComnModel view = message.getTxComn();
+        view.addTxComnField(1, "bgnIndexNo", "1");
+        view.addTxComnField(7, "procOrgNo", "1001");
+        view.addAddtDataField("channel", "mobile");
+        
+        assertEquals("1", message.getTxBody().peekTxComn(1).get("bgnIndexNo"));
+        assertEquals("1001", message.getTxBody().peekTxComn(7).get("procOrgNo"), "未分配段的写入不应丢失");
+        assertEquals("mobile", message.getTxBody().peekAddtData().get("channel"), "未分配addtData的写入不应丢失");
+        assertEquals("1001", message.getTxComn().getTxComnField(7, "procOrgNo"));
+        assertTrue(message.getTxBody().peekTxComn(2).isEmpty(), "未写入的段不应被分配");
+    }
+    
     @Test
     void testTxComnWithNullValue() {
         completeMessage.setTxComn(null);
@@ -241,6 +267,31 @@ public class CompleteMessageModelTest {
         assertTrue(json.contains("accountingDate"));
     }
     
+    @Test
+    void testJsonBytesSerialization() {
+        completeMessage.setTxHeader(txHeader);
+        completeMessage.setTxEntity(txEntity);
+        completeMessage.setTxComn(txComn);
+        completeMessage.getTxEntity().addField("custName", "张三");
+        
+        byte[] jsonBytes = completeMessage.toJsonBytes();
+        
+        assertArrayEquals(completeMessage.toJson().getBytes(StandardCharsets.UTF_8), jsonBytes);
+    }
+    
+    @Test
+    void testWriteToOutputStream() {
+        completeMessage.setTxHeader(txHeader);
+        completeMessage.setTxEntity(txEntity);
+        completeMessage.setTxComn(txComn);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = completeMessage.writeTo(out);
+        
+        assertEquals(out.size(), written);
+        assertArrayEquals(completeMessage.toJsonBytes(), out.toByteArray());
+    }
+    
     @Test
     void testPrettyJsonSerialization() {
         completeMessage.setTxHeader(txHeader);
@@ -303,6 +354,68 @@ public class CompleteMessageModelTest {
         assertEquals(completeMessage.getTxEntity().getCustNo(), copy.getTxEntity().getCustNo());
     }
     
+    @Test
+    void testDeepCopyProducesIdenticalJson() {
+        completeMessage.setTxHeader(txHeader);
+        completeMessage.setTxEntity(txEntity);
+        completeMessage.setTxComn(txComn);
+        completeMessage.getTxEntity().getAdditionalFields().put("nested", new HashMap<>(Map.of("k", "v")));
+        completeMessage.getTxBody().getAddtData().put("list", new ArrayList<>(List.of("a", "b")));
+        completeMessage.getTxBody().setAccountingDate("20240101");
+        
+        CompleteMessageModel copy = completeMessage.deepCopy();
+        
+        assertEquals(completeMessage.toJson(), copy.toJson());
+        assertEquals(completeMessage.toJson(), completeMessage.deepCopy().deepCopy().toJson());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeepCopyIsIndependentOfOriginal() {
+        completeMessage.setTxHeader(txHeader);
+        completeMessage.setTxEntity(txEntity);
+        completeMessage.setTxComn(txComn);
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("k", "v");
+        completeMessage.getTxBody().getTxComn2().put("nested", nested);
+        
+        CompleteMessageModel copy = completeMessage.deepCopy();
+        copy.getTxHeader().setGlobalBusiTrackNo("changed");
+        copy.getTxEntity().setCustNo("999999999999999");
+        copy.getTxBody().getTxComn1().put("newKey", "newValue");
+        ((Map<String, Object>) copy.getTxBody().getTxComn2().get("nested")).put("k", "changed");
+        
+        assertEquals("{{globalBusiTrackNo}}", completeMessage.getTxHeader().getGlobalBusiTrackNo());
+        assertEquals("040000037480013", completeMessage.getTxEntity().getCustNo());
+        assertFalse(completeMessage.getTxBody().getTxComn1().containsKey("newKey"));
+        assertEquals("v", nested.get("k"));
+        assertNotSame(completeMessage.getTxBody(), copy.getTxBody());
+    }
+    
+    @Test
+    void testCopyWithHeaderSharesBody() {
+        completeMessage.setTxHeader(txHeader);
+        completeMessage.setTxEntity(txEntity);
+        TxHeaderModel newHeader = txHeader.copy();
+        newHeader.setGlobalBusiTrackNo("GBTN-2");
+        
+        CompleteMessageModel copy = completeMessage.copyWithHeader(newHeader);
+        
+        assertNotSame(completeMessage, copy);
+        assertSame(newHeader, copy.getTxHeader());
+        assertSame(completeMessage.getTxBody(), copy.getTxBody());
+        assertEquals("{{globalBusiTrackNo}}", completeMessage.getTxHeader().getGlobalBusiTrackNo());
+        assertEquals("GBTN-2", copy.getTxHeader().getGlobalBusiTrackNo());
+    }
+    
+    @Test
+    void testCopyWithNullHeader() {
+        CompleteMessageModel copy = completeMessage.copyWithHeader(null);
+        
+        assertNotNull(copy.getTxHeader());
+        assertSame(completeMessage.getTxBody(), copy.getTxBody());
+    }
+    
     @Test
     void testHasRequiredDataWithValidData() {
         completeMessage.setTxHeader(txHeader);
@@ -311,4 +311,52 @@ public class TxComnModelTest {
         assertEquals("0", model.getTxComnField(1, "bgnIndexNo"));
         assertEquals("99710730008", model.getTxComnField(8, "busiSendSysOrCmptNo"));
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testMapsAreNotAllocatedUntilFirstWrite() {
+        TxComnModel model = new TxComnModel();
+        
+        // 未写入前peek返回同一个共享的不可变空Map
+        assertSame(model.peekTxComn(1), model.peekTxComn(2));
+        assertSame(model.peekAddtData(), model.peekTxComn(8));
+        assertThrows(UnsupportedOperationException.class, () -> model.peekTxComn(3).put("k", "v"));
+        
+        // 读取和移除不触发分配
+        assertNull(model.getTxComnField(3, "k"));
+        assertNull(model.removeTxComnField(3, "k"));
+        assertNull(model.getAddtDataField("k"));
+        assertFalse(model.hasAnyTxComnData());
+        assertSame(model.peekTxComn(1), model.peekTxComn(3));
+        
+        // 首次写入时分配，其他Map仍保持未分配
+        model.addTxComnField(3, "k", "v");
+        assertEquals("v", model.peekTxComn(3).get("k"));
+        assertNotSame(model.peekTxComn(1), model.peekTxComn(3));
+        assertSame(model.peekTxComn(1), model.peekTxComn(2));
+    }
+    
+    @Test
+    void testGetterReturnsWritableMap() {
+        TxComnModel model = new TxComnModel();
+        
+        model.getTxComn5().put("k", "v");
+        model.getAddtData().put("a", "b");
+        
+        assertEquals("v", model.getTxComnField(5, "k"));
+        assertEquals("b", model.getAddtDataField("a"));
+        assertSame(model.getTxComn5(), model.peekTxComn(5));
+    }
+    
+    @Test
+    void testSerializationOfUnallocatedMaps() {
+        TxComnModel model = new TxComnModel("00000000");
+        model.addTxComnField(1, "curQryReqNum", "0");
+        
+        String json = JSON.toJSONString(model);
+        
+        assertTrue(json.contains("\"txComn2\":{}"));
+        assertTrue(json.contains("\"addtData\":{}"));
+        assertTrue(json.contains("\"txComn1\":{\"curQryReqNum\":\"0\"}"));
+        assertSame(model.peekTxComn(2), model.peekTxComn(3));
+    }
+}
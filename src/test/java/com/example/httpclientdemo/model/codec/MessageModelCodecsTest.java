@@ -0,0 +1,131 @@
+package com.example.httpclientdemo.model.codec;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONFactory;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.reader.ObjectReaderProvider;
+import com.alibaba.fastjson2.writer.ObjectWriterProvider;
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.model.TxComnModel;
+import com.example.httpclientdemo.model.TxEntityModel;
+import com.example.httpclientdemo.model.TxHeaderModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 预编译编解码器测试
+ * 以独立的ObjectWriterProvider/ObjectReaderProvider（不含注册的编解码器）得到反射序列化结果作为基准，
+ * 验证预编译编解码器的输出与之逐字节一致
+ */
+@DisplayName("Message Model Codecs Tests")
+class MessageModelCodecsTest {
+
+    @Test
+    @DisplayName("Should register precompiled codecs on model class initialization")
+    void shouldRegisterPrecompiledCodecsOnModelClassInitialization() {
+        new CompleteMessageModel();
+
+        assertSame(CompleteMessageModelCodec.WRITER,
+            JSONFactory.getDefaultObjectWriterProvider().getObjectWriter(CompleteMessageModel.class));
+        assertSame(CompleteMessageModelCodec.READER,
+            JSONFactory.getDefaultObjectReaderProvider().getObjectReader(CompleteMessageModel.class));
+        assertSame(TxHeaderModelCodec.WRITER,
+            JSONFactory.getDefaultObjectWriterProvider().getObjectWriter(TxHeaderModel.class));
+        assertSame(TxEntityModelCodec.READER,
+            JSONFactory.getDefaultObjectReaderProvider().getObjectReader(TxEntityModel.class));
+        assertSame(TxComnModelCodec.WRITER,
+            JSONFactory.getDefaultObjectWriterProvider().getObjectWriter(TxComnModel.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"standard", "query", "transfer", "random", "min", "max", "null", "invalid", "empty"})
+    @DisplayName("Should write the same JSON as reflection-based serialization")
+    void shouldWriteTheSameJsonAsReflectionBasedSerialization(String scenario) {
+        CompleteMessageModel message = createScenario(scenario);
+
+        assertEquals(reflectionJson(message), message.toJson());
+        assertEquals(reflectionJson(message, JSONWriter.Feature.PrettyFormat), message.toPrettyJson());
+        assertEquals(reflectionJson(message, JSONWriter.Feature.WriteNulls),
+            JSON.toJSONString(message, JSONWriter.Feature.WriteNulls));
+        assertArrayEquals(message.toJson().getBytes(java.nio.charset.StandardCharsets.UTF_8), message.toJsonBytes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"standard", "query", "transfer", "random", "min", "max", "null", "invalid", "empty"})
+    @DisplayName("Should read the same model as reflection-based deserialization")
+    void shouldReadTheSameModelAsReflectionBasedDeserialization(String scenario) {
+        String json = createScenario(scenario).toJson();
+
+        CompleteMessageModel precompiled = CompleteMessageModel.fromJson(json);
+        CompleteMessageModel reflective = JSON.parseObject(json, CompleteMessageModel.class,
+            new JSONReader.Context(new ObjectReaderProvider()));
+
+        assertEquals(reflectionJson(reflective), reflectionJson(precompiled));
+        // TxComnModel构造的txComn段按插入顺序迭代，解析结果为HashMap，Map内键顺序可能不同
+        assertEquals(JSON.parseObject(json), JSON.parseObject(precompiled.toJson()));
+    }
+
+    @Test
+    @DisplayName("Should handle null values and unknown fields like reflection-based deserialization")
+    void shouldHandleNullValuesAndUnknownFields() {
+        String json = "{\"unknown\":{\"a\":[1,2,{\"b\":null}]},\"summary\":\"ignored\","
+            + "\"txHeader\":null,"
+            + "\"txBody\":{\"txComn1\":null,\"addtData\":{\"nested\":{\"x\":1}},\"txEntity\":null,\"extra\":true}}";
+
+        CompleteMessageModel message = CompleteMessageModel.fromJson(json);
+
+        assertNotNull(message.getTxHeader(), "txHeader为null时setter应创建默认实例");
+        assertNotNull(message.getTxBody().getTxComn1());
+        assertTrue(message.getTxBody().getTxComn1().isEmpty());
+        assertNull(message.getTxEntity());
+        assertInstanceOf(Map.class, message.getTxBody().getAddtData().get("nested"));
+    }
+
+    @Test
+    @DisplayName("Should coerce non-string scalar values into string fields")
+    void shouldCoerceNonStringScalarValuesIntoStringFields() {
+        TxEntityModel entity = JSON.parseObject("{\"custNo\":123456789012345,\"qryVchrTpCd\":1,\"txSceneCd\":\"C203\"}",
+            TxEntityModel.class);
+
+        assertEquals("123456789012345", entity.getCustNo());
+        assertEquals("1", entity.getQryVchrTpCd());
+        assertEquals("C203", entity.getTxSceneCd());
+    }
+
+    private static String reflectionJson(Object object, JSONWriter.Feature... features) {
+        JSONWriter.Context context = new JSONWriter.Context(new ObjectWriterProvider());
+        context.config(features);
+        return JSON.toJSONString(object, context);
+    }
+
+    private static CompleteMessageModel createScenario(String scenario) {
+        switch (scenario) {
+            case "min":
+                return TestDataFactory.createMinBoundaryScenario();
+            case "max":
+                return TestDataFactory.createMaxBoundaryScenario();
+            case "null":
+                return TestDataFactory.createNullValueScenario();
+            case "invalid":
+                return TestDataFactory.createInvalidFormatScenario();
+            case "empty":
+                return new CompleteMessageModel();
+            default:
+                CompleteMessageModel message = TestDataFactory.createBatchTestData(1, scenario)[0];
+                Map<String, Object> nested = new HashMap<>();
+                nested.put("level", 2);
+                nested.put("flag", Boolean.TRUE);
+                message.getTxBody().getAddtData().put("nested", nested);
+                return message;
+        }
+    }
+}
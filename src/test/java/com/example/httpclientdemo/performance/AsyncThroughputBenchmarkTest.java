@@ -0,0 +1,203 @@
+package com.example.httpclientdemo.performance;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.service.BatchResult;
+import com.example.httpclientdemo.service.DeliveryOrder;
+import com.example.httpclientdemo.service.HttpService;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 异步发送吞吐量基准测试
+ * 对比阻塞式sendRequest（受线程池大小限制）与非阻塞sendRequestAsync在1000并发在途请求下的每秒请求数
+ */
+@Tag("benchmark")
+@DisplayName("Async Throughput Benchmark Tests")
+class AsyncThroughputBenchmarkTest {
+
+    private static final int IN_FLIGHT = 1000;
+    private static final int TOTAL_REQUESTS = 5000;
+    // 模拟Tomcat默认工作线程数
+    private static final int BLOCKING_POOL_SIZE = 200;
+    private static final String RESPONSE_BODY = "{\"status\":\"success\"}";
+
+    private MockWebServer mockWebServer;
+    private ConnectionProvider connectionProvider;
+    private HttpService httpService;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                    .setBody(RESPONSE_BODY)
+                    .addHeader("Content-Type", "application/json")
+                    .setBodyDelay(5, TimeUnit.MILLISECONDS);
+            }
+        });
+        mockWebServer.start();
+        baseUrl = mockWebServer.url("/api/").toString();
+
+        // 默认连接池只有几十个连接，需放大到与在途请求数一致
+        connectionProvider = ConnectionProvider.builder("async-benchmark")
+            .maxConnections(IN_FLIGHT)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider);
+        httpService = new HttpService(WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(10));
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should sustain 1k in-flight requests without blocking threads")
+    void shouldSustainOneThousandInFlightRequests() throws Exception {
+        // Given
+        CompleteMessageModel[] messages = TestDataFactory.createBatchTestData(TOTAL_REQUESTS, "standard");
+
+        // 预热连接池和JIT
+        Flux.range(0, IN_FLIGHT)
+            .flatMap(i -> httpService.sendRequestAsync(baseUrl, messages[i]), IN_FLIGHT)
+            .blockLast(Duration.ofSeconds(60));
+
+        // When - 非阻塞方式
+        AtomicInteger asyncSuccess = new AtomicInteger();
+        long asyncStart = System.nanoTime();
+        Flux.range(0, TOTAL_REQUESTS)
+            .flatMap(i -> httpService.sendRequestAsync(baseUrl, messages[i]), IN_FLIGHT)
+            .doOnNext(response -> {
+                if (RESPONSE_BODY.equals(response)) {
+                    asyncSuccess.incrementAndGet();
+                }
+            })
+            .blockLast(Duration.ofSeconds(120));
+        long asyncNanos = System.nanoTime() - asyncStart;
+
+        // When - 阻塞方式，线程池大小模拟servlet容器
+        ExecutorService executor = Executors.newFixedThreadPool(BLOCKING_POOL_SIZE);
+        AtomicInteger blockingSuccess = new AtomicInteger();
+        long blockingStart = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < TOTAL_REQUESTS; i++) {
+                CompleteMessageModel message = messages[i];
+                futures.add(executor.submit(() -> {
+                    if (RESPONSE_BODY.equals(httpService.sendRequest(baseUrl, message))) {
+                        blockingSuccess.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long blockingNanos = System.nanoTime() - blockingStart;
+
+        // Then
+        double asyncRps = TOTAL_REQUESTS / (asyncNanos / 1_000_000_000.0);
+        double blockingRps = TOTAL_REQUESTS / (blockingNanos / 1_000_000_000.0);
+
+        System.out.println("=== Async vs Blocking Throughput Results ===");
+        System.out.println("Requests: " + TOTAL_REQUESTS + ", in-flight limit: " + IN_FLIGHT);
+        System.out.println("Async (sendRequestAsync): " + String.format("%.0f", asyncRps) + " req/s");
+        System.out.println("Blocking (" + BLOCKING_POOL_SIZE + " threads): " + String.format("%.0f", blockingRps) + " req/s");
+
+        assertEquals(TOTAL_REQUESTS, asyncSuccess.get());
+        assertEquals(TOTAL_REQUESTS, blockingSuccess.get());
+    }
+
+    @Test
+    @DisplayName("Should report throughput and latency percentiles for batch send")
+    void shouldReportThroughputAndLatencyPercentilesForBatchSend() {
+        // Given
+        List<CompleteMessageModel> messages = Arrays.asList(TestDataFactory.createBatchTestData(TOTAL_REQUESTS, "standard"));
+        httpService.sendBatch(baseUrl, messages.subList(0, IN_FLIGHT), IN_FLIGHT);
+
+        // When
+        BatchResult result = httpService.sendBatch(baseUrl, messages, IN_FLIGHT);
+
+        // Then
+        System.out.println("=== Batch Send Results ===");
+        System.out.println(result.getSummary());
+
+        assertEquals(TOTAL_REQUESTS, result.size());
+        assertEquals(TOTAL_REQUESTS, result.getSuccessCount());
+        assertTrue(result.getThroughputPerSecond() > 0);
+        assertTrue(result.getLatencyPercentileNanos(50) <= result.getLatencyPercentileNanos(99));
+    }
+
+    @Test
+    @DisplayName("Should stream lazily generated messages with bounded memory")
+    void shouldStreamLazilyGeneratedMessagesWithBoundedMemory() {
+        // Given - 报文按需生成，不预先物化为数组
+        int streamSize = TOTAL_REQUESTS * 2;
+        AtomicInteger generated = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger maxOutstanding = new AtomicInteger();
+        Flux<CompleteMessageModel> source = Flux.range(0, streamSize)
+            .map(i -> {
+                // 已生成但未完成的报文数即驻留内存的报文数
+                int outstanding = generated.incrementAndGet() - completed.get();
+                maxOutstanding.accumulateAndGet(outstanding, Math::max);
+                return TestDataFactory.createStandardBusinessScenario();
+            });
+        AtomicInteger success = new AtomicInteger();
+
+        // When
+        long startTime = System.nanoTime();
+        httpService.sendStream(baseUrl, source, IN_FLIGHT, DeliveryOrder.UNORDERED)
+            .doOnNext(result -> {
+                completed.incrementAndGet();
+                if (result.isSuccess()) {
+                    success.incrementAndGet();
+                }
+            })
+            .blockLast(Duration.ofSeconds(120));
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        // Then
+        System.out.println("=== Streaming Send Results ===");
+        System.out.println("Messages: " + streamSize + ", in-flight limit: " + IN_FLIGHT);
+        System.out.println("Throughput: " + String.format("%.0f", streamSize / (elapsedNanos / 1_000_000_000.0)) + " msg/s");
+        System.out.println("Max outstanding messages: " + maxOutstanding.get());
+
+        assertEquals(streamSize, success.get());
+        assertTrue(maxOutstanding.get() <= IN_FLIGHT + 1,
+            "驻留报文数应受在途上限约束，实际: " + maxOutstanding.get());
+    }
+}
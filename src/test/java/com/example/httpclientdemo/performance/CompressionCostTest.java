@@ -0,0 +1,117 @@
+package com.example.httpclientdemo.performance;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.model.TxComnModel;
+import com.example.httpclientdemo.service.CompressingOutputStream;
+import com.example.httpclientdemo.service.ContentCoding;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求体压缩带宽与CPU开销测试
+ * 对典型报文（标准报文、填充txComn1~8的报文、再附带大addtData的报文）分别统计原文/gzip/zstd字节数
+ * 以及序列化+压缩每条报文消耗的CPU时间
+ */
+@Tag("benchmark")
+@DisplayName("Compression Cost Tests")
+class CompressionCostTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURE_ITERATIONS = 5_000;
+
+    @Test
+    @DisplayName("Should report bandwidth and CPU cost per message size")
+    void shouldReportBandwidthAndCpuCostPerMessageSize() {
+        // Given
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean.isCurrentThreadCpuTimeSupported(), "当前JVM不支持线程CPU时间统计");
+        boolean zstd = ContentCoding.isZstdAvailable();
+        CompleteMessageModel[] messages = {
+            TestDataFactory.createStandardBusinessScenario(),
+            withTxComnFields(TestDataFactory.createStandardBusinessScenario(), 20, 0),
+            withTxComnFields(TestDataFactory.createStandardBusinessScenario(), 40, 400)
+        };
+        String[] names = {"standard", "txComn x8", "txComn x8 + addtData"};
+
+        // When / Then
+        System.out.println("=== Request Compression Cost Results ===");
+        System.out.println("message                 raw B   gzip B  zstd B  raw us  gzip us  zstd us");
+        for (int i = 0; i < messages.length; i++) {
+            CompleteMessageModel message = messages[i];
+            int rawBytes = encodedSize(message, null);
+            int gzipBytes = encodedSize(message, ContentCoding.GZIP);
+            int zstdBytes = zstd ? encodedSize(message, ContentCoding.ZSTD) : -1;
+            double rawMicros = cpuMicrosPerMessage(threadMXBean, message, null);
+            double gzipMicros = cpuMicrosPerMessage(threadMXBean, message, ContentCoding.GZIP);
+            double zstdMicros = zstd ? cpuMicrosPerMessage(threadMXBean, message, ContentCoding.ZSTD) : -1;
+            System.out.println(String.format("%-22s %7d %8d %7d %7.1f %8.1f %8.1f",
+                names[i], rawBytes, gzipBytes, zstdBytes, rawMicros, gzipMicros, zstdMicros));
+
+            if (rawBytes > 4096) {
+                assertTrue(gzipBytes < rawBytes / 3, names[i] + " gzip压缩率过低: " + gzipBytes + "/" + rawBytes);
+                if (zstd) {
+                    assertTrue(zstdBytes < rawBytes / 3, names[i] + " zstd压缩率过低: " + zstdBytes + "/" + rawBytes);
+                }
+            }
+        }
+    }
+
+    private static CompleteMessageModel withTxComnFields(CompleteMessageModel message, int fieldsPerSegment,
+                                                         int addtDataFields) {
+        TxComnModel txComn = message.getTxComn();
+        for (int n = 1; n <= 8; n++) {
+            for (int i = 0; i < fieldsPerSegment; i++) {
+                txComn.addTxComnField(n, "comnField" + i, "VAL" + n + "_" + (100000 + i * 37));
+            }
+        }
+        for (int i = 0; i < addtDataFields; i++) {
+            txComn.addAddtDataField("addtField" + i, "ADDT_" + (i * 7919 % 100000));
+        }
+        message.setTxComn(txComn);
+        return message;
+    }
+
+    private static double cpuMicrosPerMessage(ThreadMXBean threadMXBean, CompleteMessageModel message,
+                                              ContentCoding coding) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            encodedSize(message, coding);
+        }
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            encodedSize(message, coding);
+        }
+        return (threadMXBean.getCurrentThreadCpuTime() - start) / 1_000.0 / MEASURE_ITERATIONS;
+    }
+
+    // 与HttpService写请求体的路径一致：直接序列化进缓冲区，阈值为0时始终压缩
+    private static int encodedSize(CompleteMessageModel message, ContentCoding coding) {
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(2048);
+        try {
+            if (coding == null) {
+                message.writeTo(buffer.asOutputStream());
+            } else {
+                try (CompressingOutputStream out = new CompressingOutputStream(buffer, 0, coding)) {
+                    message.writeTo(out);
+                }
+            }
+            return buffer.readableByteCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.httpclientdemo.performance;
+
+import com.example.httpclientdemo.config.HttpClientConfig;
+import com.example.httpclientdemo.config.HttpClientProperties;
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.service.BatchResult;
+import com.example.httpclientdemo.service.HttpService;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP/1.1与h2c传输基准测试
+ * 以MockWebServer（HTTP/1.1 / HTTP/2 prior knowledge）作为下游替身，在相同在途请求数下
+ * 对比两种模式的连接数、p99延迟与吞吐量
+ */
+@Tag("benchmark")
+@DisplayName("HTTP/2 Transport Benchmark Tests")
+class Http2TransportBenchmarkTest {
+
+    private static final int IN_FLIGHT = 200;
+    private static final int TOTAL_REQUESTS = 2000;
+    private static final String RESPONSE_BODY = "{\"status\":\"success\"}";
+
+    @Test
+    @DisplayName("Should multiplex h2c streams over fewer connections than HTTP/1.1")
+    void shouldMultiplexH2cStreamsOverFewerConnectionsThanHttp11() throws IOException {
+        // Given
+        List<CompleteMessageModel> messages = Arrays.asList(TestDataFactory.createBatchTestData(TOTAL_REQUESTS, "standard"));
+        HttpClientProperties http11 = new HttpClientProperties();
+        HttpClientProperties h2c = new HttpClientProperties();
+        h2c.setProtocol(HttpClientProperties.Protocol.H2C);
+
+        // When
+        TransportRun http11Run = run(http11, List.of(Protocol.HTTP_1_1), messages);
+        TransportRun h2cRun = run(h2c, List.of(Protocol.H2_PRIOR_KNOWLEDGE), messages);
+
+        // Then
+        System.out.println("=== HTTP/1.1 vs h2c Transport Results ===");
+        System.out.println("Requests: " + TOTAL_REQUESTS + ", in-flight limit: " + IN_FLIGHT);
+        System.out.println("HTTP/1.1: " + http11Run);
+        System.out.println("h2c:      " + h2cRun);
+
+        assertEquals(TOTAL_REQUESTS, http11Run.result.getSuccessCount());
+        assertEquals(TOTAL_REQUESTS, h2cRun.result.getSuccessCount());
+        assertTrue(h2cRun.connections <= h2c.getHttp2().getMaxConnections(),
+            "h2c连接数应受http2.max-connections约束，实际: " + h2cRun.connections);
+        assertTrue(h2cRun.connections < http11Run.connections,
+            "h2c应复用更少的连接，h2c: " + h2cRun.connections + "，HTTP/1.1: " + http11Run.connections);
+    }
+
+    private TransportRun run(HttpClientProperties properties, List<Protocol> serverProtocols,
+                             List<CompleteMessageModel> messages) throws IOException {
+        AtomicInteger connections = new AtomicInteger();
+        MockWebServer server = new MockWebServer();
+        server.setProtocols(serverProtocols);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                // 每个连接上的首个请求序号为0
+                if (request.getSequenceNumber() == 0) {
+                    connections.incrementAndGet();
+                }
+                return new MockResponse()
+                    .setBody(RESPONSE_BODY)
+                    .addHeader("Content-Type", "application/json")
+                    .setBodyDelay(5, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+        ConnectionProvider provider = HttpClientConfig.createConnectionProvider(properties);
+        try {
+            HttpService httpService = new HttpService(WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClientConfig.createHttpClient(provider, properties))));
+            String url = server.url("/api/").toString();
+
+            // 预热连接与JIT，不计入结果
+            httpService.sendBatch(url, messages.subList(0, IN_FLIGHT), IN_FLIGHT);
+            BatchResult result = httpService.sendBatch(url, messages, IN_FLIGHT);
+            return new TransportRun(connections.get(), result);
+        } finally {
+            provider.disposeLater().block(Duration.ofSeconds(10));
+            server.shutdown();
+        }
+    }
+
+    private static final class TransportRun {
+
+        private final int connections;
+        private final BatchResult result;
+
+        private TransportRun(int connections, BatchResult result) {
+            this.connections = connections;
+            this.result = result;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("connections=%d, p99=%.2fms, throughput=%.0f req/s",
+                connections,
+                result.getLatencyPercentileNanos(99) / 1_000_000.0,
+                result.getThroughputPerSecond());
+        }
+    }
+}
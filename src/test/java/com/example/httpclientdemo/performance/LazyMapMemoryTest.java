@@ -0,0 +1,85 @@
+package com.example.httpclientdemo.performance;
+
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Map字段延迟分配的内存测试
+ * 常驻10万条仅填充txComn1/txComn8的报文，对比延迟分配与全部Map立即分配（旧行为）的堆占用
+ * 未写入的Map不分配这一行为由TxComnModelTest确定性地验证，本测试只给出堆占用的量级
+ */
+@Tag("benchmark")
+@DisplayName("Lazy Map Memory Tests")
+class LazyMapMemoryTest {
+
+    private static final int RETAINED_MESSAGES = 100_000;
+
+    @Test
+    @DisplayName("Should retain less heap when unused maps stay unallocated")
+    void shouldRetainLessHeapWhenUnusedMapsStayUnallocated() {
+        // Given
+        IntFunction<CompleteMessageModel> lazyFactory = LazyMapMemoryTest::createTypicalMessage;
+        IntFunction<CompleteMessageModel> eagerFactory = i -> {
+            CompleteMessageModel message = createTypicalMessage(i);
+            // 通过getter取得可写引用，模拟旧版构造函数立即分配全部9个Map
+            CompleteMessageModel.TxBodyModel body = message.getTxBody();
+            body.getAddtData();
+            body.getTxComn2();
+            body.getTxComn3();
+            body.getTxComn4();
+            body.getTxComn5();
+            body.getTxComn6();
+            body.getTxComn7();
+            return message;
+        };
+
+        // When
+        long lazyBytes = measureRetainedBytes(lazyFactory);
+        long eagerBytes = measureRetainedBytes(eagerFactory);
+
+        // Then
+        System.out.println("=== Lazy Map Memory Results (" + RETAINED_MESSAGES + " messages) ===");
+        System.out.println("Eager maps: " + eagerBytes / (1024 * 1024) + " MB (" + eagerBytes / RETAINED_MESSAGES + " bytes/message)");
+        System.out.println("Lazy maps: " + lazyBytes / (1024 * 1024) + " MB (" + lazyBytes / RETAINED_MESSAGES + " bytes/message)");
+
+        assertTrue(lazyBytes < eagerBytes,
+            "延迟分配应减少常驻堆内存，实际: " + lazyBytes + " vs " + eagerBytes);
+    }
+
+    private static CompleteMessageModel createTypicalMessage(int index) {
+        CompleteMessageModel message = new CompleteMessageModel();
+        message.getTxBody().getTxComn1().put("curQryReqNum", "0");
+        message.getTxBody().getTxComn8().put("busiSendSysOrCmptNo", "99710730008");
+        return message;
+    }
+
+    private static long measureRetainedBytes(IntFunction<CompleteMessageModel> factory) {
+        long before = usedHeapAfterGc();
+        CompleteMessageModel[] retained = new CompleteMessageModel[RETAINED_MESSAGES];
+        for (int i = 0; i < RETAINED_MESSAGES; i++) {
+            retained[i] = factory.apply(i);
+        }
+        long after = usedHeapAfterGc();
+        assertNotNull(retained[RETAINED_MESSAGES - 1]);
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
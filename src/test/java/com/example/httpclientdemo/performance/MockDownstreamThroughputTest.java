@@ -0,0 +1,106 @@
+package com.example.httpclientdemo.performance;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.mock.MockDownstreamServer;
+import com.example.httpclientdemo.mock.MockDownstreamSettings;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.service.BatchResult;
+import com.example.httpclientdemo.service.HttpService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模拟下游吞吐量测试
+ * 以HttpService压测内嵌Netty模拟下游，分别统计模拟下游事件循环与客户端事件循环在每个请求上消耗的CPU时间，
+ * 确认压测时瓶颈在被测客户端而不在模拟下游
+ */
+@Tag("benchmark")
+@DisplayName("Mock Downstream Throughput Tests")
+class MockDownstreamThroughputTest {
+
+    private static final int IN_FLIGHT = 256;
+    private static final int TOTAL_REQUESTS = 10_000;
+    private static final int WARMUP_REQUESTS = 3_000;
+
+    private ConnectionProvider connectionProvider;
+    private HttpService httpService;
+    private MockDownstreamServer mockDownstream;
+    private List<CompleteMessageModel> messages;
+
+    @BeforeEach
+    void setUp() {
+        connectionProvider = ConnectionProvider.builder("mock-downstream-throughput")
+            .maxConnections(IN_FLIGHT)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        WebClient.Builder builder = WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)));
+        httpService = new HttpService(builder);
+        mockDownstream = MockDownstreamServer.start(MockDownstreamSettings.defaults().withResponseSize(256));
+        messages = new ArrayList<>(TOTAL_REQUESTS);
+        for (int i = 0; i < TOTAL_REQUESTS; i++) {
+            messages.add(TestDataFactory.createStandardBusinessScenario());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        mockDownstream.stop();
+    }
+
+    @Test
+    @DisplayName("Should spend less CPU per request in mock downstream than in client")
+    void shouldSpendLessCpuPerRequestInMockDownstreamThanInClient() {
+        // Given
+        String url = mockDownstream.url("/mock-service");
+        httpService.sendBatch(url, messages.subList(0, WARMUP_REQUESTS), IN_FLIGHT);
+
+        // When
+        long serverCpuBefore = cpuNanos("mock-downstream");
+        long clientCpuBefore = cpuNanos("reactor-http");
+        BatchResult result = httpService.sendBatch(url, messages, IN_FLIGHT);
+        long serverCpuPerRequest = (cpuNanos("mock-downstream") - serverCpuBefore) / TOTAL_REQUESTS;
+        long clientCpuPerRequest = (cpuNanos("reactor-http") - clientCpuBefore) / TOTAL_REQUESTS;
+
+        // Then
+        System.out.println("=== Mock Downstream Throughput (" + IN_FLIGHT + " in flight) ===");
+        System.out.printf("Throughput: %.0f req/s%n", result.getThroughputPerSecond());
+        System.out.println("Mock downstream CPU: " + serverCpuPerRequest + " ns/req");
+        System.out.println("Client event loop CPU: " + clientCpuPerRequest + " ns/req");
+        System.out.println("Served requests: " + mockDownstream.getRequestCount());
+
+        assertEquals(TOTAL_REQUESTS, result.getSuccessCount());
+        assertTrue(serverCpuPerRequest < clientCpuPerRequest,
+            "模拟下游每个请求消耗的CPU应少于客户端，实际: " + serverCpuPerRequest + " vs " + clientCpuPerRequest);
+    }
+
+    // 名称以prefix开头的存活线程累计消耗的CPU时间
+    private static long cpuNanos(String prefix) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith(prefix)) {
+                long cpu = threadMXBean.getThreadCpuTime(thread.getId());
+                if (cpu > 0) {
+                    total += cpu;
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.httpclientdemo.performance;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.service.BatchResult;
+import com.example.httpclientdemo.service.HttpService;
+import com.example.httpclientdemo.service.HttpServiceOptions;
+import com.example.httpclientdemo.service.OverflowStrategy;
+import com.example.httpclientdemo.service.OverloadProtection;
+import com.example.httpclientdemo.service.ResiliencePolicies;
+import com.example.httpclientdemo.service.ResiliencePolicy;
+import com.example.httpclientdemo.service.SendResult;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 过载保护基准测试
+ * 下游替身同时只能处理CAPACITY个请求，每个耗时SERVICE_MILLIS，超出的请求在服务端排队；
+ * 客户端以远超下游容量的在途请求数发送，对比无保护与自适应并发限制下的有效吞吐量和超时数
+ */
+@Tag("benchmark")
+@DisplayName("Overload Protection Benchmark Tests")
+class OverloadProtectionBenchmarkTest {
+
+    private static final int CAPACITY = 20;
+    private static final int SERVICE_MILLIS = 10;
+    private static final int IN_FLIGHT = 200;
+    private static final int TOTAL_REQUESTS = 2000;
+    private static final Duration ATTEMPT_TIMEOUT = Duration.ofMillis(60);
+
+    private MockWebServer mockWebServer;
+    private ConnectionProvider connectionProvider;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Semaphore capacity = new Semaphore(CAPACITY, true);
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                // 超时的请求已被客户端放弃，但仍占用下游处理能力
+                capacity.acquire();
+                try {
+                    Thread.sleep(SERVICE_MILLIS);
+                } finally {
+                    capacity.release();
+                }
+                return new MockResponse().setBody("{\"status\":\"success\"}");
+            }
+        });
+        mockWebServer.start();
+        url = mockWebServer.url("/api/").toString();
+        connectionProvider = ConnectionProvider.builder("overload-benchmark")
+            .maxConnections(IN_FLIGHT)
+            .pendingAcquireMaxCount(-1)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(10));
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should keep goodput near downstream capacity with adaptive concurrency limit")
+    void shouldKeepGoodputNearDownstreamCapacityWithAdaptiveConcurrencyLimit() {
+        // Given
+        List<CompleteMessageModel> messages = Arrays.asList(TestDataFactory.createBatchTestData(TOTAL_REQUESTS, "standard"));
+        OverloadProtection limited = OverloadProtection.disabled()
+            .withConcurrencyLimit(CAPACITY / 2, 1, IN_FLIGHT, OverflowStrategy.QUEUE, TOTAL_REQUESTS, Duration.ofSeconds(30));
+
+        // When
+        BatchResult unprotected = run(OverloadProtection.disabled(), messages);
+        BatchResult protectedRun = run(limited, messages);
+
+        // Then
+        int unprotectedTimeouts = countTimeouts(unprotected);
+        int protectedTimeouts = countTimeouts(protectedRun);
+        double capacityPerSecond = CAPACITY * 1000.0 / SERVICE_MILLIS;
+        System.out.println("=== Overload Protection Results ===");
+        System.out.println("Downstream capacity: " + String.format("%.0f", capacityPerSecond) + " req/s, in-flight: "
+            + IN_FLIGHT + ", attempt timeout: " + ATTEMPT_TIMEOUT.toMillis() + "ms");
+        System.out.println("Unprotected: " + describe(unprotected, unprotectedTimeouts));
+        System.out.println("Vegas limit: " + describe(protectedRun, protectedTimeouts));
+
+        assertEquals(TOTAL_REQUESTS, protectedRun.size());
+        assertTrue(protectedRun.getSuccessCount() > unprotected.getSuccessCount(),
+            "自适应限流下成功数应更多，限流: " + protectedRun.getSuccessCount() + "，无保护: " + unprotected.getSuccessCount());
+        assertTrue(protectedTimeouts < unprotectedTimeouts);
+    }
+
+    private BatchResult run(OverloadProtection protection, List<CompleteMessageModel> messages) {
+        HttpService httpService = new HttpService(
+            WebClient.builder().clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider))),
+            HttpServiceOptions.defaults()
+                .withResiliencePolicies(ResiliencePolicies.of(ResiliencePolicy.none().withTimeout(ATTEMPT_TIMEOUT), Map.of()))
+                .withOverloadProtection(protection));
+        // 预热连接，不计入结果
+        httpService.sendBatch(url, messages.subList(0, CAPACITY), CAPACITY);
+        return httpService.sendBatch(url, messages, IN_FLIGHT);
+    }
+
+    private static int countTimeouts(BatchResult result) {
+        int timeouts = 0;
+        for (SendResult sendResult : result.getResults()) {
+            if (sendResult.getError() instanceof TimeoutException) {
+                timeouts++;
+            }
+        }
+        return timeouts;
+    }
+
+    private static String describe(BatchResult result, int timeouts) {
+        double elapsedSeconds = result.getElapsedNanos() / 1_000_000_000.0;
+        return String.format("success=%d, timeouts=%d, goodput=%.0f req/s, p99=%.1fms",
+            result.getSuccessCount(), timeouts, result.getSuccessCount() / elapsedSeconds,
+            result.getLatencyPercentileNanos(99) / 1_000_000.0);
+    }
+}
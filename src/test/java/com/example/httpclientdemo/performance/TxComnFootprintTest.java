@@ -0,0 +1,81 @@
+package com.example.httpclientdemo.performance;
+
+import com.example.httpclientdemo.model.TxComnModel;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * txComn段存储内存占用测试
+ * 对比紧凑数组存储（addTxComnField）与按段HashMap存储（setTxComnN传入HashMap，旧行为）每个模型分配的字节数
+ */
+@Tag("benchmark")
+@DisplayName("TxComn Footprint Tests")
+class TxComnFootprintTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURE_ITERATIONS = 100_000;
+
+    @Test
+    @DisplayName("Should allocate less per model with compact txComn segments")
+    void shouldAllocateLessPerModelWithCompactTxComnSegments() {
+        // Given
+        com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(),
+            "当前JVM不支持线程内存分配统计");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        Supplier<TxComnModel> compact = () -> {
+            TxComnModel model = new TxComnModel("00000000");
+            model.addTxComnField(1, "curQryReqNum", "0");
+            model.addTxComnField(1, "bgnIndexNo", "0");
+            model.addTxComnField(8, "busiSendSysOrCmptNo", "99710730008");
+            return model;
+        };
+        Supplier<TxComnModel> hashMaps = () -> {
+            TxComnModel model = new TxComnModel("00000000");
+            model.setTxComn1(new HashMap<>());
+            model.setTxComn8(new HashMap<>());
+            model.getTxComn1().put("curQryReqNum", "0");
+            model.getTxComn1().put("bgnIndexNo", "0");
+            model.getTxComn8().put("busiSendSysOrCmptNo", "99710730008");
+            return model;
+        };
+
+        // When
+        long compactBytes = measureAllocatedBytesPerOp(threadMXBean, compact);
+        long hashMapBytes = measureAllocatedBytesPerOp(threadMXBean, hashMaps);
+
+        // Then
+        System.out.println("=== TxComn Footprint Results ===");
+        System.out.println("HashMap segments: " + hashMapBytes + " bytes allocated/model");
+        System.out.println("Compact segments: " + compactBytes + " bytes allocated/model");
+
+        assertTrue(compactBytes < hashMapBytes,
+            "紧凑存储应比HashMap分配更少，实际: " + compactBytes + " vs " + hashMapBytes);
+    }
+
+    private static long measureAllocatedBytesPerOp(com.sun.management.ThreadMXBean threadMXBean,
+                                                   Supplier<TxComnModel> factory) {
+        TxComnModel sink = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = factory.get();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            sink = factory.get();
+        }
+        long after = threadMXBean.getThreadAllocatedBytes(threadId);
+        assertTrue(sink.hasAnyTxComnData());
+        return (after - before) / MEASURE_ITERATIONS;
+    }
+}
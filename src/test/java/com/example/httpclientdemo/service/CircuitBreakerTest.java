@@ -0,0 +1,138 @@
+package com.example.httpclientdemo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CircuitBreaker测试
+ * 使用可控时钟验证失败率、慢调用率触发打开以及半开探测
+ */
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(OverloadProtection.disabled()
+        .withCircuitBreaker(10, 4, 50, Duration.ofSeconds(1), 80, Duration.ofSeconds(5), 2), clock::get);
+
+    @Test
+    @DisplayName("Should open when failure rate reaches threshold")
+    void shouldOpenWhenFailureRateReachesThreshold() {
+        // Given - 未达到最小调用数前不判定
+        record(false);
+        record(true);
+        record(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // When - 4次中失败2次，失败率50%
+        record(false);
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should open when slow call rate reaches threshold")
+    void shouldOpenWhenSlowCallRateReachesThreshold() {
+        // When - 5次中4次慢调用，慢调用率80%
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(breaker.tryAcquire(), SLOW, false);
+            if (i == 0) {
+                breaker.onResult(breaker.tryAcquire(), FAST, false);
+            }
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should close after successful half-open probes")
+    void shouldCloseAfterSuccessfulHalfOpenProbes() {
+        // Given
+        openBreaker();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        // When - 半开状态只放行2个探测请求
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(first, FAST, false);
+        breaker.onResult(second, FAST, false);
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should reopen when half-open probe fails")
+    void shouldReopenWhenHalfOpenProbeFails() {
+        // Given
+        openBreaker();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        long probe = breaker.tryAcquire();
+
+        // When
+        breaker.onResult(probe, FAST, true);
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should return probe slot when probe is cancelled")
+    void shouldReturnProbeSlotWhenProbeIsCancelled() {
+        // Given
+        openBreaker();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        long first = breaker.tryAcquire();
+        breaker.tryAcquire();
+
+        // When
+        breaker.onIgnored(first);
+
+        // Then
+        assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should ignore results admitted before state change")
+    void shouldIgnoreResultsAdmittedBeforeStateChange() {
+        // Given - 打开前放行的调用在半开期间才返回
+        long stale = breaker.tryAcquire();
+        openBreaker();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        long probe = breaker.tryAcquire();
+
+        // When
+        breaker.onResult(stale, FAST, true);
+
+        // Then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(probe, FAST, false);
+        breaker.onResult(breaker.tryAcquire(), FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            record(true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void record(boolean failure) {
+        breaker.onResult(breaker.tryAcquire(), FAST, failure);
+    }
+}
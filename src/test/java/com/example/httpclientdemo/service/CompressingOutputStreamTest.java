@@ -0,0 +1,101 @@
+package com.example.httpclientdemo.service;
+
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * CompressingOutputStream测试
+ * 验证阈值切换、前缀回写以及gzip/zstd输出可被还原
+ */
+@DisplayName("CompressingOutputStream Tests")
+class CompressingOutputStreamTest {
+
+    private static final byte[] PAYLOAD = "{\"txHeader\":{\"globalBusiTrackNo\":\"TRACK-0001\"},\"txBody\":{}}"
+        .repeat(50).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Should write raw bytes when below threshold")
+    void shouldWriteRawBytesWhenBelowThreshold() throws IOException {
+        // Given
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(256);
+        CompressingOutputStream out = new CompressingOutputStream(buffer, PAYLOAD.length, ContentCoding.GZIP);
+
+        // When
+        out.write(PAYLOAD);
+        out.close();
+
+        // Then
+        assertNull(out.getContentCoding());
+        assertArrayEquals(PAYLOAD, readAll(buffer));
+    }
+
+    @Test
+    @DisplayName("Should gzip from the first byte once threshold is crossed")
+    void shouldGzipFromTheFirstByteOnceThresholdIsCrossed() throws IOException {
+        // Given - 前半段以原文写入，后半段越过阈值
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(256);
+        CompressingOutputStream out = new CompressingOutputStream(buffer, PAYLOAD.length / 2, ContentCoding.GZIP);
+
+        // When
+        int half = PAYLOAD.length / 2 - 10;
+        out.write(PAYLOAD, 0, half);
+        for (int i = half; i < PAYLOAD.length; i++) {
+            out.write(PAYLOAD[i]);
+        }
+        out.close();
+
+        // Then
+        assertEquals(ContentCoding.GZIP, out.getContentCoding());
+        byte[] compressed = readAll(buffer);
+        assertTrue(compressed.length < PAYLOAD.length / 4);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(PAYLOAD, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should produce zstd frame")
+    void shouldProduceZstdFrame() throws IOException {
+        assumeTrue(ContentCoding.isZstdAvailable(), "zstd本地库不可用");
+
+        // Given
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(256);
+        CompressingOutputStream out = new CompressingOutputStream(buffer, 0, ContentCoding.ZSTD);
+
+        // When
+        out.write(PAYLOAD);
+        out.close();
+
+        // Then
+        assertEquals(ContentCoding.ZSTD, out.getContentCoding());
+        try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(readAll(buffer)))) {
+            assertArrayEquals(PAYLOAD, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject negative threshold in strategy")
+    void shouldRejectNegativeThresholdInStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> RequestCompression.of(-1, false));
+        assertFalse(RequestCompression.disabled().isEnabled());
+        assertEquals(ContentCoding.GZIP, RequestCompression.of(0, false).codingFor(true));
+    }
+
+    private static byte[] readAll(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        return bytes;
+    }
+}
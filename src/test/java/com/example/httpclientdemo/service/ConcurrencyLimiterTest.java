@@ -0,0 +1,146 @@
+package com.example.httpclientdemo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ConcurrencyLimiter测试
+ * 验证拒绝、排队、排队超时与取消时名额归还，以及上限随RTT和故障的调整
+ */
+@DisplayName("ConcurrencyLimiter Tests")
+class ConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("Should reject when limit is reached")
+    void shouldRejectWhenLimitIsReached() {
+        // Given
+        ConcurrencyLimiter limiter = limiter(2, OverflowStrategy.REJECT);
+        limiter.acquire().block();
+        limiter.acquire().block();
+
+        // When & Then
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.acquire().block());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should grant queued caller when permit is released")
+    void shouldGrantQueuedCallerWhenPermitIsReleased() {
+        // Given
+        ConcurrencyLimiter limiter = limiter(1, OverflowStrategy.QUEUE);
+        ConcurrencyLimiter.Permit first = limiter.acquire().block();
+        AtomicReference<ConcurrencyLimiter.Permit> queued = new AtomicReference<>();
+        limiter.acquire().subscribe(queued::set);
+        assertNull(queued.get());
+
+        // When
+        first.release(false);
+
+        // Then
+        assertNotNull(queued.get());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should fail queued caller after queue timeout")
+    void shouldFailQueuedCallerAfterQueueTimeout() {
+        // Given
+        ConcurrencyLimiter limiter = limiter(1, OverflowStrategy.QUEUE);
+        ConcurrencyLimiter.Permit first = limiter.acquire().block();
+
+        // When & Then
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.acquire().block(Duration.ofSeconds(5)));
+        first.release(false);
+        assertEquals(0, limiter.getInFlight(), "超时的等待者不应占用名额");
+    }
+
+    @Test
+    @DisplayName("Should not leak permit when queued caller cancels")
+    void shouldNotLeakPermitWhenQueuedCallerCancels() {
+        // Given
+        ConcurrencyLimiter limiter = limiter(1, OverflowStrategy.QUEUE);
+        ConcurrencyLimiter.Permit first = limiter.acquire().block();
+        Disposable waiting = limiter.acquire().subscribe();
+
+        // When
+        waiting.dispose();
+        first.release(false);
+
+        // Then
+        assertEquals(0, limiter.getInFlight());
+        assertNotNull(limiter.acquire().block());
+    }
+
+    @Test
+    @DisplayName("Should ignore repeated release")
+    void shouldIgnoreRepeatedRelease() {
+        ConcurrencyLimiter limiter = limiter(2, OverflowStrategy.REJECT);
+        ConcurrencyLimiter.Permit permit = limiter.acquire().block();
+
+        permit.release(false);
+        permit.releaseWithoutSample();
+        permit.release(true);
+
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should grow limit while RTT stays flat and shrink on drops")
+    void shouldGrowLimitWhileRttStaysFlatAndShrinkOnDrops() {
+        // Given - 每轮时钟前进固定的1ms，所有样本RTT相同
+        AtomicLong clock = new AtomicLong();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", OverloadProtection.disabled()
+            .withConcurrencyLimit(10, 1, 100, OverflowStrategy.REJECT, 10, Duration.ofMillis(200)), clock::get);
+
+        // When - 满载且RTT无增长，估算的下游排队长度为0
+        for (int round = 0; round < 5; round++) {
+            int limit = limiter.getLimit();
+            ConcurrencyLimiter.Permit[] permits = new ConcurrencyLimiter.Permit[limit];
+            for (int i = 0; i < limit; i++) {
+                permits[i] = limiter.acquire().block();
+            }
+            clock.addAndGet(1_000_000);
+            for (ConcurrencyLimiter.Permit permit : permits) {
+                permit.release(false);
+            }
+        }
+        int grown = limiter.getLimit();
+
+        // Then
+        assertTrue(grown > 10, "上限应增长，实际: " + grown);
+
+        // When - 连续故障
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire().block().release(true);
+        }
+
+        // Then
+        assertTrue(limiter.getLimit() < grown, "故障后上限应下降，实际: " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid limits")
+    void shouldRejectInvalidLimits() {
+        OverloadProtection protection = OverloadProtection.disabled();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> protection.withConcurrencyLimit(0, 0, 10, OverflowStrategy.QUEUE, 10, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> protection.withConcurrencyLimit(20, 1, 10, OverflowStrategy.QUEUE, 10, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> protection.withCircuitBreaker(10, 20, 50, Duration.ofSeconds(1), 80, Duration.ofSeconds(1), 1));
+    }
+
+    private static ConcurrencyLimiter limiter(int initialLimit, OverflowStrategy overflowStrategy) {
+        return new ConcurrencyLimiter("test", OverloadProtection.disabled()
+            .withConcurrencyLimit(initialLimit, 1, 100, overflowStrategy, 10, Duration.ofMillis(200)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.httpclientdemo.service;
+
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DownstreamFailures测试
+ * 验证重试判定、熔断/限流回报与指标outcome对同一异常的分类一致
+ */
+@DisplayName("Downstream Failures Tests")
+class DownstreamFailuresTest {
+
+    @Test
+    @DisplayName("Should classify wrapped read timeout consistently")
+    void shouldClassifyWrappedReadTimeoutConsistently() {
+        // Given - Reactor Netty的responseTimeout以WebClientRequestException包装ReadTimeoutException
+        Throwable error = transportError(ReadTimeoutException.INSTANCE);
+
+        // Then - 超时可能已被下游处理：计为下游故障，仅幂等下游重试
+        assertEquals(RequestOutcome.TIMEOUT, RequestOutcome.of(error));
+        assertTrue(DownstreamFailures.isDownstreamFailure(error), "熔断与限流应计为下游故障");
+        assertFalse(DownstreamFailures.isUndelivered(error), "响应超时不能确定请求未送达");
+        assertTrue(HttpService.isRetryable(error, true));
+        assertFalse(HttpService.isRetryable(error, false));
+    }
+
+    @Test
+    @DisplayName("Should classify undelivered requests as retryable for any endpoint")
+    void shouldClassifyUndeliveredRequestsAsRetryableForAnyEndpoint() {
+        // Given - 建连失败与获取连接超时（连接池的PoolAcquireTimeoutException是TimeoutException子类）
+        Throwable connectFailure = transportError(new ConnectException("Connection refused"));
+        Throwable acquireTimeout = transportError(new TimeoutException("Pool#acquire has been pending"));
+
+        // Then
+        assertTrue(HttpService.isRetryable(connectFailure, false));
+        assertTrue(HttpService.isRetryable(acquireTimeout, false));
+        assertEquals(RequestOutcome.IO_ERROR, RequestOutcome.of(connectFailure));
+        assertEquals(RequestOutcome.TIMEOUT, RequestOutcome.of(acquireTimeout));
+        assertFalse(DownstreamFailures.isUndelivered(new TimeoutException()), "单次尝试超时时请求可能已发出");
+    }
+
+    @Test
+    @DisplayName("Should only count unhealthy responses as downstream failures")
+    void shouldOnlyCountUnhealthyResponsesAsDownstreamFailures() {
+        // Then - 5xx、429、连接中断与尝试超时说明下游不健康；4xx业务拒绝与本地快速失败不计入
+        assertTrue(DownstreamFailures.isDownstreamFailure(responseError(503)));
+        assertTrue(DownstreamFailures.isDownstreamFailure(responseError(429)));
+        assertTrue(DownstreamFailures.isDownstreamFailure(transportError(new IOException("Connection reset"))));
+        assertTrue(DownstreamFailures.isDownstreamFailure(new TimeoutException()));
+        assertFalse(DownstreamFailures.isDownstreamFailure(responseError(400)));
+        assertFalse(DownstreamFailures.isDownstreamFailure(new CircuitBreakerOpenException("core:8080")));
+        assertFalse(HttpService.isRetryable(new CircuitBreakerOpenException("core:8080"), true));
+    }
+
+    private static WebClientRequestException transportError(Throwable cause) {
+        return new WebClientRequestException(cause, HttpMethod.POST, URI.create("http://core:8080/api"),
+            new HttpHeaders());
+    }
+
+    private static WebClientResponseException responseError(int status) {
+        return WebClientResponseException.create(status, "status " + status, new HttpHeaders(), new byte[0], null);
+    }
+}
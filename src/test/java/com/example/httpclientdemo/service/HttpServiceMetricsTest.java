@@ -0,0 +1,290 @@
+package com.example.httpclientdemo.service;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.example.httpclientdemo.factory.TestDataFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.netty.http.client.HttpClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HttpService指标测试
+ * 以SimpleMeterRegistry验证计量器的名称、标签、计数以及标签基数上限
+ */
+@DisplayName("HttpService Metrics Tests")
+class HttpServiceMetricsTest {
+
+    private MockWebServer mockWebServer;
+    private String url;
+    private String host;
+    private SimpleMeterRegistry registry;
+    private HttpServiceMetrics metrics;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        url = mockWebServer.url("/api/").toString();
+        host = mockWebServer.getHostName() + ":" + mockWebServer.getPort();
+        registry = new SimpleMeterRegistry();
+        metrics = HttpServiceMetrics.create(registry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+        registry.close();
+    }
+
+    @Test
+    @DisplayName("Should record round trip, serialization and sizes tagged by host and txCode")
+    void shouldRecordRoundTripSerializationAndSizes() {
+        // Given
+        HttpService httpService = service(ResiliencePolicies.none());
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"成功\"}"));
+
+        // When
+        httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+
+        // Then
+        Timer roundTrip = registry.get(HttpServiceMetrics.ROUND_TRIP)
+            .tags("host", host, "txCode", "STD001", "outcome", "success").timer();
+        assertEquals(1, roundTrip.count());
+        assertTrue(roundTrip.totalTime(TimeUnit.NANOSECONDS) > 0);
+
+        Timer serialization = registry.get(HttpServiceMetrics.SERIALIZATION)
+            .tags("host", host, "txCode", "STD001").timer();
+        assertEquals(1, serialization.count());
+
+        DistributionSummary requestSize = registry.get(HttpServiceMetrics.REQUEST_SIZE)
+            .tags("host", host, "txCode", "STD001").summary();
+        assertEquals(mockWebServer.getRequestCount(), requestSize.count());
+        assertTrue(requestSize.totalAmount() > 100);
+
+        DistributionSummary responseSize = registry.get(HttpServiceMetrics.RESPONSE_SIZE)
+            .tags("host", host, "txCode", "STD001").summary();
+        assertEquals("{\"status\":\"成功\"}".getBytes(StandardCharsets.UTF_8).length, (int) responseSize.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should tag failed round trip with outcome")
+    void shouldTagFailedRoundTripWithOutcome() {
+        // Given
+        HttpService httpService = service(ResiliencePolicies.none());
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        // When
+        assertThrows(WebClientResponseException.class,
+            () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+        assertThrows(WebClientResponseException.class,
+            () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+
+        // Then
+        assertEquals(1, registry.get(HttpServiceMetrics.ROUND_TRIP).tag("outcome", "client_error").timer().count());
+        assertEquals(1, registry.get(HttpServiceMetrics.ROUND_TRIP).tag("outcome", "server_error").timer().count());
+        assertNull(registry.find(HttpServiceMetrics.ROUND_TRIP).tag("outcome", "success").timer());
+    }
+
+    @Test
+    @DisplayName("Should time whole call including retries once")
+    void shouldTimeWholeCallIncludingRetriesOnce() {
+        // Given
+        ResiliencePolicy retry = ResiliencePolicy.none()
+            .withRetry(2, Duration.ofMillis(10), Duration.ofMillis(50)).idempotent(true);
+        HttpService httpService = service(ResiliencePolicies.of(retry, Map.of()));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        // When
+        httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+
+        // Then：往返耗时按报文记一次，序列化按实际发出的尝试记两次
+        assertEquals(1, registry.get(HttpServiceMetrics.ROUND_TRIP).tag("outcome", "success").timer().count());
+        assertNull(registry.find(HttpServiceMetrics.ROUND_TRIP).tag("outcome", "server_error").timer());
+        assertEquals(2, registry.get(HttpServiceMetrics.SERIALIZATION).timer().count());
+    }
+
+    @Test
+    @DisplayName("Should take txCode from JSON header")
+    void shouldTakeTxCodeFromJsonHeader() {
+        // Given
+        HttpService httpService = service(ResiliencePolicies.none());
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        JSONObject txHeader = new JSONObject();
+        txHeader.put("txCode", "QRY001");
+
+        // When
+        httpService.sendRequest(url, txHeader, new JSONObject());
+        httpService.sendRequest(url, new JSONObject(), new JSONObject());
+
+        // Then
+        assertEquals(1, registry.get(HttpServiceMetrics.ROUND_TRIP).tag("txCode", "QRY001").timer().count());
+        assertEquals(1, registry.get(HttpServiceMetrics.ROUND_TRIP).tag("txCode", HttpServiceMetrics.NONE).timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reuse meters for repeated calls")
+    void shouldReuseMetersForRepeatedCalls() {
+        // Given
+        HttpServiceMetrics.Meters first = metrics.meters(url, "STD001");
+
+        // When
+        HttpServiceMetrics.Meters second = metrics.meters(url, "STD001");
+        first.recordRoundTrip(RequestOutcome.SUCCESS, 1_000L);
+        second.recordRoundTrip(RequestOutcome.SUCCESS, 1_000L);
+        int meterCount = registry.getMeters().size();
+        second.recordRoundTrip(RequestOutcome.SUCCESS, 1_000L);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(meterCount, registry.getMeters().size());
+        assertEquals(3, registry.get(HttpServiceMetrics.ROUND_TRIP).timer().count());
+    }
+
+    @Test
+    @DisplayName("Should not allocate tags when looking up cached meters")
+    void shouldNotAllocateTagsWhenLookingUpCachedMeters() {
+        // Given
+        com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "当前JVM不支持线程内存分配统计");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        String txCode = "STD001";
+        for (int i = 0; i < 20_000; i++) {
+            metrics.meters(url, txCode);
+        }
+
+        // When
+        int iterations = 100_000;
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            metrics.meters(url, txCode);
+        }
+        long bytesPerOp = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / iterations;
+
+        // Then
+        System.out.println("Cached meter lookup: " + bytesPerOp + " bytes allocated/op");
+        assertEquals(0, bytesPerOp, "命中缓存时不应分配标签对象");
+    }
+
+    @Test
+    @DisplayName("Should fold excess txCodes into other")
+    void shouldFoldExcessTxCodesIntoOther() {
+        // When
+        for (int i = 0; i < 300; i++) {
+            metrics.meters(url, "TX" + i).recordRoundTrip(RequestOutcome.SUCCESS, 1_000L);
+        }
+
+        // Then
+        long distinctTxCodes = registry.find(HttpServiceMetrics.ROUND_TRIP).timers().stream()
+            .map(timer -> timer.getId().getTag("txCode"))
+            .distinct()
+            .count();
+        assertTrue(distinctTxCodes <= 257, "txCode标签取值应有上限，实际" + distinctTxCodes);
+        assertTrue(registry.get(HttpServiceMetrics.ROUND_TRIP).tag("txCode", HttpServiceMetrics.OTHER).timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep host tag for known hosts after many distinct paths")
+    void shouldKeepHostTagForKnownHostsAfterManyDistinctPaths() {
+        // When - 同一host下超过上限数量的不同路径与查询参数
+        for (int i = 0; i < 100; i++) {
+            metrics.meters("http://core:8080/api/" + i + "?seq=" + i, "TX").recordRoundTrip(RequestOutcome.SUCCESS, 1_000L);
+        }
+        metrics.meters("http://edge:8080/api", "TX").recordRoundTrip(RequestOutcome.SUCCESS, 1_000L);
+
+        // Then - 上限按host计数，已知host不应被折叠为other
+        assertEquals(100, registry.get(HttpServiceMetrics.ROUND_TRIP).tag("host", "core:8080").timer().count());
+        assertEquals(1, registry.get(HttpServiceMetrics.ROUND_TRIP).tag("host", "edge:8080").timer().count());
+        assertNull(registry.find(HttpServiceMetrics.ROUND_TRIP).tag("host", HttpServiceMetrics.OTHER).timer(),
+            "host数量未达上限时不应出现other");
+    }
+
+    @Test
+    @DisplayName("Should record api parse time by txCode")
+    void shouldRecordApiParseTimeByTxCode() {
+        // When
+        metrics.recordApiParse("STD001", 5_000L);
+        metrics.recordApiParse(null, 5_000L);
+
+        // Then
+        assertEquals(1, registry.get(HttpServiceMetrics.API_PARSE).tag("txCode", "STD001").timer().count());
+        assertEquals(1, registry.get(HttpServiceMetrics.API_PARSE).tag("txCode", HttpServiceMetrics.NONE).timer().count());
+    }
+
+    @Test
+    @DisplayName("Should classify outcomes")
+    void shouldClassifyOutcomes() {
+        assertEquals(RequestOutcome.TIMEOUT, RequestOutcome.of(new TimeoutException()));
+        assertEquals(RequestOutcome.REJECTED, RequestOutcome.of(new CircuitBreakerOpenException("core")));
+        assertEquals(RequestOutcome.ERROR, RequestOutcome.of(new IllegalStateException()));
+        assertEquals(RequestOutcome.IO_ERROR, RequestOutcome.of(new WebClientRequestException(
+            new IOException("Connection reset"), HttpMethod.POST, URI.create("http://core/api"), new HttpHeaders())));
+    }
+
+    @Test
+    @DisplayName("Should classify read timeout as timeout")
+    void shouldClassifyReadTimeoutAsTimeout() {
+        // Given - 下游响应头延迟超过read-timeout
+        mockWebServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(2, TimeUnit.SECONDS));
+        HttpService httpService = new HttpService(WebClient.builder().clientConnector(
+            new ReactorClientHttpConnector(HttpClient.create().responseTimeout(Duration.ofMillis(100)))));
+
+        // When
+        WebClientRequestException error = assertThrows(WebClientRequestException.class,
+            () -> httpService.sendRequest(mockWebServer.url("/api/").toString(),
+                TestDataFactory.createStandardBusinessScenario()));
+
+        // Then - Netty的ReadTimeoutException被WebClientRequestException包装
+        assertEquals(RequestOutcome.TIMEOUT, RequestOutcome.of(error), "read-timeout应归为超时，实际cause: " + error.getCause());
+    }
+
+    @Test
+    @DisplayName("Should count UTF-8 bytes without encoding")
+    void shouldCountUtf8BytesWithoutEncoding() {
+        String value = "ascii-中文-é-😀";
+        assertEquals(value.getBytes(StandardCharsets.UTF_8).length, HttpServiceMetrics.utf8Length(value));
+    }
+
+    @Test
+    @DisplayName("Should not record with noop metrics")
+    void shouldNotRecordWithNoopMetrics() {
+        assertFalse(HttpServiceMetrics.noop().isEnabled());
+        assertNull(HttpServiceMetrics.noop().meters(url, "STD001"));
+        assertThrows(IllegalArgumentException.class, () -> HttpServiceMetrics.create(null));
+    }
+
+    private HttpService service(ResiliencePolicies policies) {
+        return new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withResiliencePolicies(policies)
+                .withMetrics(metrics));
+    }
+}
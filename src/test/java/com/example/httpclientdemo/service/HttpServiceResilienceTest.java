@@ -0,0 +1,428 @@
+package com.example.httpclientdemo.service;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.function.Tuple2;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HttpService容错测试
+ * 以MockWebServer注入延迟与错误响应，验证超时、幂等感知的重试、对冲请求以及熔断与并发限制
+ */
+@DisplayName("HttpService Resilience Tests")
+class HttpServiceResilienceTest {
+
+    private static final ResiliencePolicy FAST_RETRY = ResiliencePolicy.none()
+        .withRetry(2, Duration.ofMillis(10), Duration.ofMillis(50));
+
+    private MockWebServer mockWebServer;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        url = mockWebServer.url("/api/").toString();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should time out slow attempt")
+    void shouldTimeOutSlowAttempt() {
+        // Given
+        HttpService httpService = service(ResiliencePolicy.none().withTimeout(Duration.ofMillis(200)));
+        mockWebServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(2, TimeUnit.SECONDS));
+
+        // When
+        long startTime = System.nanoTime();
+        Mono<String> response = httpService.sendRequestAsync(url, TestDataFactory.createStandardBusinessScenario());
+        Throwable error = assertThrows(RuntimeException.class, () -> response.block(Duration.ofSeconds(5)));
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        // Then
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertTrue(elapsedMillis < 1500, "应在超时后立即失败，实际耗时" + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should retry 5xx for idempotent endpoint")
+    void shouldRetry5xxForIdempotentEndpoint() {
+        // Given
+        HttpService httpService = service(FAST_RETRY.idempotent(true));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(502));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        // When
+        String response = httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+
+        // Then
+        assertEquals("ok", response);
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should surface original exception when retries are exhausted")
+    void shouldSurfaceOriginalExceptionWhenRetriesAreExhausted() {
+        // Given
+        HttpService httpService = service(FAST_RETRY.idempotent(true));
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        // When & Then
+        WebClientResponseException error = assertThrows(WebClientResponseException.class,
+            () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+        assertEquals(500, error.getStatusCode().value());
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should not retry 5xx for non-idempotent endpoint")
+    void shouldNotRetry5xxForNonIdempotentEndpoint() {
+        // Given - 下游可能已处理该请求，重复提交会产生重复交易
+        HttpService httpService = service(FAST_RETRY);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        // When & Then
+        assertThrows(WebClientResponseException.class,
+            () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should retry timed out attempt for idempotent endpoint")
+    void shouldRetryTimedOutAttemptForIdempotentEndpoint() {
+        // Given - 首次响应延迟超过单次超时，第二次立即返回
+        HttpService httpService = service(FAST_RETRY.idempotent(true).withTimeout(Duration.ofMillis(300)));
+        mockWebServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(2, TimeUnit.SECONDS));
+        mockWebServer.enqueue(new MockResponse().setBody("fast"));
+
+        // When
+        String response = httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+
+        // Then
+        assertEquals("fast", response);
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should retry connection failure for non-idempotent endpoint")
+    void shouldRetryConnectionFailureForNonIdempotentEndpoint() throws IOException {
+        // Given - 端口无监听，请求必然未送达
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        HttpService httpService = service(ResiliencePolicy.none()
+            .withRetry(2, Duration.ofMillis(100), Duration.ofMillis(100))
+            .withJitter(0));
+
+        // When
+        long startTime = System.nanoTime();
+        WebClientRequestException error = assertThrows(WebClientRequestException.class,
+            () -> httpService.sendRequest("http://localhost:" + closedPort + "/api/",
+                TestDataFactory.createStandardBusinessScenario()));
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        // Then - 两次重试各退避100ms
+        assertTrue(HttpService.isRetryable(error, false));
+        assertInstanceOf(ConnectException.class, error.getCause());
+        assertTrue(elapsedMillis >= 200, "应经过两次退避，实际耗时" + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should treat pool acquire timeout as undelivered but not read timeout")
+    void shouldTreatPoolAcquireTimeoutAsUndeliveredButNotReadTimeout() {
+        // Given - 连接池仅1个连接，第一个请求占用连接期间第二个请求获取连接超时
+        ConnectionProvider provider = ConnectionProvider.builder("acquire-timeout")
+            .maxConnections(1)
+            .pendingAcquireTimeout(Duration.ofMillis(100))
+            .build();
+        mockWebServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(1, TimeUnit.SECONDS));
+        HttpService httpService = new HttpService(WebClient.builder().clientConnector(
+            new ReactorClientHttpConnector(HttpClient.create(provider).responseTimeout(Duration.ofMillis(500)))));
+        Mono<Signal<String>> first = httpService
+            .sendRequestAsync(url, TestDataFactory.createStandardBusinessScenario())
+            .materialize();
+        Mono<Signal<String>> second = httpService
+            .sendRequestAsync(url, TestDataFactory.createStandardBusinessScenario())
+            .delaySubscription(Duration.ofMillis(50))
+            .materialize();
+
+        try {
+            // When
+            Tuple2<Signal<String>, Signal<String>> signals = Mono.zip(first, second).block(Duration.ofSeconds(5));
+
+            // Then - 获取连接超时说明请求未发出，非幂等下游也可重试；响应超时可能已被处理
+            assertNotNull(signals);
+            Throwable readTimeout = signals.getT1().getThrowable();
+            Throwable acquireTimeout = signals.getT2().getThrowable();
+            assertInstanceOf(WebClientRequestException.class, readTimeout);
+            assertInstanceOf(TimeoutException.class, acquireTimeout.getCause(), "应为获取连接超时");
+            assertTrue(HttpService.isRetryable(acquireTimeout, false));
+            assertFalse(HttpService.isRetryable(readTimeout, false), "响应超时不应对非幂等下游重试");
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hedge slow attempt and return the faster response")
+    void shouldHedgeSlowAttemptAndReturnTheFasterResponse() {
+        // Given - 首个请求延迟1秒，对冲请求立即返回
+        AtomicInteger requests = new AtomicInteger();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (requests.getAndIncrement() == 0) {
+                    return new MockResponse().setBody("slow").setHeadersDelay(1, TimeUnit.SECONDS);
+                }
+                return new MockResponse().setBody("fast");
+            }
+        });
+        HttpService httpService = service(ResiliencePolicy.none()
+            .idempotent(true)
+            .withHedging(95, Duration.ofMillis(100)));
+
+        // When
+        long startTime = System.nanoTime();
+        String response = httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        // Then
+        assertEquals("fast", response);
+        assertEquals(2, requests.get());
+        assertTrue(elapsedMillis < 900, "对冲请求应先返回，实际耗时" + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should fail fast without hedging when first attempt fails")
+    void shouldFailFastWithoutHedgingWhenFirstAttemptFails() throws InterruptedException {
+        // Given - 预热客户端后，首次尝试立即返回503，对冲延迟远大于失败耗时
+        mockWebServer.enqueue(new MockResponse().setBody("warmup"));
+        service(ResiliencePolicy.none()).sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+        HttpService httpService = service(ResiliencePolicy.none()
+            .idempotent(true)
+            .withHedging(95, Duration.ofSeconds(1)));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setBody("hedge"));
+
+        // When
+        long startTime = System.nanoTime();
+        WebClientResponseException error = assertThrows(WebClientResponseException.class,
+            () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        // 等过原定的对冲时刻，确认定时器已被取消
+        Thread.sleep(Math.max(0, 1500 - elapsedMillis));
+
+        // Then - 异常立即传播，对冲定时器被取消
+        assertEquals(503, error.getStatusCode().value());
+        assertTrue(elapsedMillis < 1000, "首次尝试失败应立即传播，实际耗时" + elapsedMillis + "ms");
+        assertEquals(2, mockWebServer.getRequestCount(), "首次尝试失败后不应再发出对冲请求");
+    }
+
+    @Test
+    @DisplayName("Should surface original error when both hedged attempts fail")
+    void shouldSurfaceOriginalErrorWhenBothHedgedAttemptsFail() {
+        // Given - 首次尝试300ms后返回503，对冲请求立即返回500
+        AtomicInteger requests = new AtomicInteger();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (requests.getAndIncrement() == 0) {
+                    return new MockResponse().setResponseCode(503).setHeadersDelay(300, TimeUnit.MILLISECONDS);
+                }
+                return new MockResponse().setResponseCode(500);
+            }
+        });
+        HttpService httpService = service(ResiliencePolicy.none()
+            .idempotent(true)
+            .withHedging(95, Duration.ofMillis(50)));
+
+        // When
+        WebClientResponseException error = assertThrows(WebClientResponseException.class,
+            () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+
+        // Then - 取首次尝试的异常，而不是firstWithValue的NoSuchElementException
+        assertEquals(503, error.getStatusCode().value());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    @DisplayName("Should not hedge non-idempotent endpoint")
+    void shouldNotHedgeNonIdempotentEndpoint() {
+        // Given
+        ResiliencePolicy policy = ResiliencePolicy.none().withHedging(95, Duration.ofMillis(50));
+        HttpService httpService = service(policy);
+        mockWebServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        // When
+        String response = httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+
+        // Then
+        assertFalse(policy.isHedgingEnabled());
+        assertEquals("slow", response);
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should keep empty response when hedging")
+    void shouldKeepEmptyResponseWhenHedging() {
+        // Given
+        HttpService httpService = service(ResiliencePolicy.none()
+            .idempotent(true)
+            .withHedging(95, Duration.ofSeconds(1)));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(204));
+
+        // When
+        String response = httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+
+        // Then
+        assertNull(response);
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should fail fast once circuit breaker opens")
+    void shouldFailFastOnceCircuitBreakerOpens() {
+        // Given
+        HttpService httpService = new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withOverloadProtection(OverloadProtection.disabled()
+                    .withCircuitBreaker(10, 4, 50, Duration.ofSeconds(5), 100, Duration.ofSeconds(30), 1)));
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertThrows(WebClientResponseException.class,
+                () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+        }
+
+        // When & Then - 熔断打开后请求不再发出
+        assertThrows(CircuitBreakerOpenException.class,
+            () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+        assertEquals(4, mockWebServer.getRequestCount());
+        assertEquals(CircuitBreaker.State.OPEN, httpService.downstreamGuard(url).getCircuitBreaker().getState());
+    }
+
+    @Test
+    @DisplayName("Should not count client errors as downstream failures")
+    void shouldNotCountClientErrorsAsDownstreamFailures() {
+        // Given
+        HttpService httpService = new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withOverloadProtection(OverloadProtection.disabled()
+                    .withCircuitBreaker(10, 4, 50, Duration.ofSeconds(5), 100, Duration.ofSeconds(30), 1)));
+        for (int i = 0; i < 5; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+        }
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThrows(WebClientResponseException.class,
+                () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, httpService.downstreamGuard(url).getCircuitBreaker().getState());
+        assertEquals(5, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should shed calls beyond concurrency limit")
+    void shouldShedCallsBeyondConcurrencyLimit() {
+        // Given - 上限为1，第一个请求未返回前第二个请求被拒绝
+        HttpService httpService = new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withOverloadProtection(OverloadProtection.disabled()
+                    .withConcurrencyLimit(1, 1, 1, OverflowStrategy.REJECT, 0, Duration.ZERO)));
+        mockWebServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        Mono<String> first = httpService.sendRequestAsync(url, TestDataFactory.createStandardBusinessScenario())
+            .cache();
+        first.subscribe();
+
+        // When & Then
+        assertThrows(ConcurrencyLimitExceededException.class,
+            () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+        assertEquals("slow", first.block(Duration.ofSeconds(5)));
+        assertEquals(0, httpService.downstreamGuard(url).getConcurrencyLimiter().getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should resolve policy by endpoint authority")
+    void shouldResolvePolicyByEndpointAuthority() {
+        // Given
+        ResiliencePolicy slowEndpoint = ResiliencePolicy.none().withTimeout(Duration.ofSeconds(30));
+        ResiliencePolicies policies = ResiliencePolicies.of(FAST_RETRY,
+            Map.of("core.internal:8080", slowEndpoint));
+
+        // When & Then
+        assertSame(slowEndpoint, policies.policyFor("http://core.internal:8080/api/send?x=1"));
+        assertSame(FAST_RETRY, policies.policyFor("http://core.internal:9090/api/send"));
+        assertSame(FAST_RETRY, policies.policyFor("http://other.internal/api"));
+    }
+
+    @Test
+    @DisplayName("Should estimate latency percentile once enough samples are recorded")
+    void shouldEstimateLatencyPercentileOnceEnoughSamplesAreRecorded() {
+        // Given
+        LatencyTracker tracker = new LatencyTracker(95);
+
+        // When & Then
+        for (int i = 1; i < 100; i++) {
+            tracker.record(i);
+        }
+        assertEquals(-1, tracker.percentileNanos());
+        tracker.record(100);
+        assertEquals(95, tracker.percentileNanos());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid policy arguments")
+    void shouldRejectInvalidPolicyArguments() {
+        ResiliencePolicy policy = ResiliencePolicy.none();
+
+        assertThrows(IllegalArgumentException.class, () -> policy.withTimeout(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> policy.withRetry(-1, Duration.ZERO, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+            () -> policy.withRetry(1, Duration.ofSeconds(2), Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> policy.withJitter(1.5));
+        assertThrows(IllegalArgumentException.class, () -> policy.withHedging(100, Duration.ZERO));
+    }
+
+    private static HttpService service(ResiliencePolicy policy) {
+        return new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withResiliencePolicies(ResiliencePolicies.of(policy, Map.of())));
+    }
+}
@@ -5,19 +5,46 @@ import com.alibaba.fastjson2.JSONObject;
 import com.example.httpclientdemo.builder.MessageBuilder;
 import com.example.httpclientdemo.factory.TestDataFactory;
 import com.example.httpclientdemo.model.CompleteMessageModel;
+import com.example.httpclientdemo.model.TxComnModel;
+import com.github.luben.zstd.ZstdInputStream;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class HttpServiceTest {
 
@@ -763,4 +790,467 @@ class HttpServiceTest {
         assertEquals("20241225", json.getJSONObject("txBody").getString("accountingDate"));
         assertEquals("modifiedValue", json.getJSONObject("txBody").getJSONObject("txComn1").getString("modifiedField"));
     }
+
+    @Test
+    void sendRequestAsyncDoesNotSendUntilSubscribed() throws InterruptedException {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"success\"}").addHeader("Content-Type", "application/json"));
+
+        // When
+        Mono<String> response = httpService.sendRequestAsync(url, message);
+
+        // Then - Mono是惰性的，订阅前不应发出请求
+        assertEquals(0, mockWebServer.getRequestCount());
+        assertEquals("{\"status\":\"success\"}", response.block(Duration.ofSeconds(5)));
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        JSONObject receivedJson = JSON.parseObject(recordedRequest.getBody().readUtf8());
+        assertEquals("STD001", receivedJson.getJSONObject("txHeader").getString("txCode"));
+    }
+
+    @Test
+    void sendRequestAsyncWithJsonObjects() throws InterruptedException {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        JSONObject txHeader = new JSONObject();
+        txHeader.put("testHeader", "headerValue");
+        JSONObject txBody = new JSONObject();
+        txBody.put("testBody", "bodyValue");
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"success\"}").addHeader("Content-Type", "application/json"));
+
+        // When
+        String actualResponse = httpService.sendRequestAsync(url, txHeader, txBody).block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals("{\"status\":\"success\"}", actualResponse);
+
+        JSONObject expectedRequestBody = new JSONObject();
+        expectedRequestBody.put("txHeader", txHeader);
+        expectedRequestBody.put("txBody", txBody);
+        assertEquals(expectedRequestBody.toJSONString(), mockWebServer.takeRequest().getBody().readUtf8());
+    }
+
+    @Test
+    void sendRequestFutureCompletesWithResponse() throws Exception {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        CompleteMessageModel message = TestDataFactory.createQueryBusinessScenario();
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"success\",\"future\":true}").addHeader("Content-Type", "application/json"));
+
+        // When
+        CompletableFuture<String> future = httpService.sendRequestFuture(url, message);
+
+        // Then
+        assertEquals("{\"status\":\"success\",\"future\":true}", future.get(5, TimeUnit.SECONDS));
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void sendRequestFutureCompletesExceptionallyOnServerError() {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        // When
+        CompletableFuture<String> future = httpService.sendRequestFuture(url, message);
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(WebClientResponseException.class, exception.getCause());
+    }
+
+    @Test
+    void sendRequestAsyncWithNullMessage() {
+        // Given
+        String url = mockWebServer.url("/").toString();
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> httpService.sendRequestAsync(url, (CompleteMessageModel) null)
+        );
+        assertEquals("Message cannot be null", exception.getMessage());
+    }
+
+    @Test
+    void sendRequestWritesUtf8JsonBody() throws InterruptedException {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+        message.getTxHeader().setRemark("中文备注");
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"success\"}").addHeader("Content-Type", "application/json"));
+
+        // When
+        httpService.sendRequest(url, message);
+
+        // Then - 请求体直接以UTF-8字节写出，内容与toJson()一致
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        byte[] expectedBytes = message.toJsonBytes();
+        assertEquals("application/json", recordedRequest.getHeader("Content-Type"));
+        assertEquals(String.valueOf(expectedBytes.length), recordedRequest.getHeader("Content-Length"));
+        assertEquals(message.toJson(), recordedRequest.getBody().readUtf8());
+    }
+
+    @Test
+    void sendBatchReturnsResultsInInputOrder() {
+        // Given - 序号越小响应越慢，响应完成顺序与发送顺序相反
+        String url = mockWebServer.url("/").toString();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String trackNo = JSON.parseObject(request.getBody().readUtf8())
+                    .getJSONObject("txHeader").getString("globalBusiTrackNo");
+                int index = Integer.parseInt(trackNo.substring(trackNo.lastIndexOf('-') + 1));
+                return new MockResponse()
+                    .setBody(trackNo)
+                    .setBodyDelay((10 - index) * 20L, TimeUnit.MILLISECONDS);
+            }
+        });
+        List<CompleteMessageModel> messages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+            message.getTxHeader().setGlobalBusiTrackNo("BATCH-" + i);
+            messages.add(message);
+        }
+
+        // When
+        BatchResult result = httpService.sendBatch(url, messages, 10);
+
+        // Then
+        assertEquals(10, result.size());
+        assertEquals(10, result.getSuccessCount());
+        for (int i = 0; i < 10; i++) {
+            SendResult sendResult = result.getResults().get(i);
+            assertEquals(i, sendResult.getIndex());
+            assertEquals("BATCH-" + i, sendResult.getResponse());
+            assertTrue(sendResult.getLatencyNanos() > 0);
+        }
+        assertTrue(result.getLatencyPercentileNanos(50) <= result.getLatencyPercentileNanos(90));
+        assertTrue(result.getLatencyPercentileNanos(90) <= result.getMaxLatencyNanos());
+    }
+
+    @Test
+    void sendBatchRespectsMaxConcurrency() {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int current = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(current, Math::max);
+                Thread.sleep(20);
+                inFlight.decrementAndGet();
+                return new MockResponse().setBody("{\"status\":\"success\"}");
+            }
+        });
+        List<CompleteMessageModel> messages = Arrays.asList(TestDataFactory.createBatchTestData(20, "query"));
+
+        // When
+        BatchResult result = httpService.sendBatch(url, messages, 3);
+
+        // Then
+        assertEquals(20, result.getSuccessCount());
+        assertEquals(20, mockWebServer.getRequestCount());
+        assertTrue(maxInFlight.get() <= 3, "在途请求数超过上限: " + maxInFlight.get());
+        assertTrue(result.getThroughputPerSecond() > 0);
+    }
+
+    @Test
+    void sendBatchIsolatesFailures() {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        List<CompleteMessageModel> messages = Arrays.asList(
+            TestDataFactory.createStandardBusinessScenario(),
+            TestDataFactory.createStandardBusinessScenario(),
+            null,
+            TestDataFactory.createStandardBusinessScenario());
+
+        // When - 并发度为1，保证按顺序消费预设响应
+        BatchResult result = httpService.sendBatch(url, messages, 1);
+
+        // Then
+        assertEquals(4, result.size());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(2, result.getFailureCount());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertInstanceOf(WebClientResponseException.class, result.getResults().get(1).getError());
+        assertInstanceOf(IllegalArgumentException.class, result.getResults().get(2).getError());
+        assertEquals("ok", result.getResults().get(3).getResponse());
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void sendBatchWithEmptyCollection() {
+        // When
+        BatchResult result = httpService.sendBatch(mockWebServer.url("/").toString(), Collections.emptyList(), 4);
+
+        // Then
+        assertEquals(0, result.size());
+        assertEquals(0, result.getLatencyPercentileNanos(99));
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void sendBatchWithInvalidArguments() {
+        String url = mockWebServer.url("/").toString();
+        List<CompleteMessageModel> messages = List.of(TestDataFactory.createStandardBusinessScenario());
+
+        assertThrows(IllegalArgumentException.class, () -> httpService.sendBatch(url, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> httpService.sendBatch(url, messages, 0));
+    }
+
+    @Test
+    void sendStreamOrderedEmitsResultsInSourceOrder() {
+        // Given - 序号越小响应越慢
+        String url = mockWebServer.url("/").toString();
+        mockWebServer.setDispatcher(trackNoDispatcher(index -> (8 - index) * 25L));
+
+        // When
+        List<SendResult> results = httpService
+            .sendStream(url, trackedMessages(8), 8, DeliveryOrder.ORDERED)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        // Then
+        assertNotNull(results);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L),
+            results.stream().map(SendResult::getIndex).collect(Collectors.toList()));
+        assertEquals("STREAM-3", results.get(3).getResponse());
+    }
+
+    @Test
+    void sendResultKeepsStreamIndexBeyondIntRange() {
+        // Given - 无界流的序号来自Flux.index()，可超过Integer.MAX_VALUE
+        long index = Integer.MAX_VALUE + 1L;
+
+        // When
+        SendResult result = SendResult.success(index, "ok", 0L);
+
+        // Then
+        assertEquals(index, result.getIndex(), "序号不应被截断为int");
+    }
+
+    @Test
+    void sendStreamUnorderedEmitsResultsInCompletionOrder() {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        mockWebServer.setDispatcher(trackNoDispatcher(index -> index == 0 ? 500L : 0L));
+
+        // When
+        List<SendResult> results = httpService
+            .sendStream(url, trackedMessages(8), 8, DeliveryOrder.UNORDERED)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        // Then - 全部送达，延迟最长的序号0最后完成
+        assertNotNull(results);
+        assertEquals(8, results.size());
+        assertTrue(results.stream().allMatch(SendResult::isSuccess));
+        assertEquals(0, results.get(results.size() - 1).getIndex());
+        for (SendResult result : results) {
+            assertEquals("STREAM-" + result.getIndex(), result.getResponse());
+        }
+    }
+
+    @Test
+    void sendStreamHonoursBackpressureAndConcurrency() throws InterruptedException {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody("ok");
+            }
+        });
+        AtomicLong requestedFromSource = new AtomicLong();
+        Flux<CompleteMessageModel> unbounded = Flux.<CompleteMessageModel>generate(
+                sink -> sink.next(TestDataFactory.createStandardBusinessScenario()))
+            .doOnRequest(n -> requestedFromSource.addAndGet(n));
+        CountDownLatch received = new CountDownLatch(5);
+
+        // When - 下游只请求5条
+        BaseSubscriber<SendResult> subscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(5);
+            }
+
+            @Override
+            protected void hookOnNext(SendResult value) {
+                received.countDown();
+            }
+        };
+        httpService.sendStream(url, unbounded, 2, DeliveryOrder.ORDERED).subscribe(subscriber);
+
+        // Then - 上游请求量受并发上限约束，而不是被无界拉取
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        subscriber.dispose();
+        assertTrue(requestedFromSource.get() <= 5 + 2, "上游被请求了" + requestedFromSource.get() + "条");
+        assertTrue(mockWebServer.getRequestCount() <= 5 + 2);
+    }
+
+    @Test
+    void sendStreamIsolatesFailures() {
+        // Given
+        String url = mockWebServer.url("/").toString();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        // When
+        List<SendResult> results = httpService
+            .sendStream(url, Flux.just(TestDataFactory.createStandardBusinessScenario(),
+                TestDataFactory.createQueryBusinessScenario()), 1, DeliveryOrder.ORDERED)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        // Then
+        assertNotNull(results);
+        assertFalse(results.get(0).isSuccess());
+        assertInstanceOf(WebClientResponseException.class, results.get(0).getError());
+        assertEquals("ok", results.get(1).getResponse());
+    }
+
+    @Test
+    void sendStreamWithInvalidArguments() {
+        String url = mockWebServer.url("/").toString();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> httpService.sendStream(url, null, 1, DeliveryOrder.ORDERED));
+        assertThrows(IllegalArgumentException.class,
+            () -> httpService.sendStream(url, Flux.empty(), 1, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> httpService.sendStream(url, Flux.empty(), 0, DeliveryOrder.UNORDERED));
+    }
+
+    @Test
+    void sendRequestCompressesLargeBodyWithGzip() throws Exception {
+        // Given
+        httpService = new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withRequestCompression(RequestCompression.of(1024, false)));
+        String url = mockWebServer.url("/").toString();
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        CompleteMessageModel message = largeMessage();
+
+        // When
+        String response = httpService.sendRequest(url, message);
+
+        // Then
+        assertEquals("ok", response);
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("gzip", recordedRequest.getHeader("Content-Encoding"));
+        byte[] compressed = recordedRequest.getBody().readByteArray();
+        byte[] json = message.toJson().getBytes(StandardCharsets.UTF_8);
+        assertTrue(compressed.length < json.length / 2, "压缩后" + compressed.length + "字节，原文" + json.length + "字节");
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(JSON.parseObject(json), JSON.parseObject(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void sendRequestKeepsSmallBodyUncompressed() throws InterruptedException {
+        // Given
+        httpService = new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withRequestCompression(RequestCompression.of(64 * 1024, false)));
+        String url = mockWebServer.url("/").toString();
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+
+        // When
+        httpService.sendRequest(url, message);
+
+        // Then
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertNull(recordedRequest.getHeader("Content-Encoding"));
+        assertEquals(JSON.parseObject(message.toJson()), JSON.parseObject(recordedRequest.getBody().readUtf8()));
+    }
+
+    @Test
+    void sendRequestSwitchesToZstdAfterPeerAdvertisesIt() throws Exception {
+        assumeTrue(ContentCoding.isZstdAvailable(), "zstd本地库不可用");
+
+        // Given - 对端在响应中声明接受zstd编码的请求体
+        httpService = new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withRequestCompression(RequestCompression.of(1024, true)));
+        String url = mockWebServer.url("/api/").toString();
+        mockWebServer.enqueue(new MockResponse().setBody("ok").addHeader("Accept-Encoding", "gzip, zstd"));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        CompleteMessageModel message = largeMessage();
+
+        // When
+        httpService.sendRequest(url, message);
+        httpService.sendRequest(mockWebServer.url("/api/other").toString(), message);
+
+        // Then - 首个请求尚未协商使用gzip，之后同一对端使用zstd
+        assertEquals("gzip", mockWebServer.takeRequest().getHeader("Content-Encoding"));
+        RecordedRequest second = mockWebServer.takeRequest();
+        assertEquals("zstd", second.getHeader("Content-Encoding"));
+        try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(second.getBody().readByteArray()))) {
+            assertEquals(JSON.parseObject(message.toJson()), JSON.parseObject(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void acceptsZstdMatchesCodingNameExactlyAndHonoursZeroQuality() {
+        assertTrue(HttpService.acceptsZstd(acceptEncoding("gzip, zstd")));
+        assertTrue(HttpService.acceptsZstd(acceptEncoding("gzip;q=1.0, ZSTD;q=0.5")));
+        assertTrue(HttpService.acceptsZstd(acceptEncoding("zstd ; q=1")));
+
+        assertFalse(HttpService.acceptsZstd(acceptEncoding("zstd;q=0")), "q=0表示明确拒绝zstd");
+        assertFalse(HttpService.acceptsZstd(acceptEncoding("gzip, zstd;q=0.000")));
+        assertFalse(HttpService.acceptsZstd(acceptEncoding("zstdx, gzip")), "编码名须完全匹配");
+        assertFalse(HttpService.acceptsZstd(acceptEncoding("zstd;q=abc")));
+        assertFalse(HttpService.acceptsZstd(new HttpHeaders()));
+    }
+
+    private static HttpHeaders acceptEncoding(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, value);
+        return headers;
+    }
+
+    private static CompleteMessageModel largeMessage() {
+        CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+        TxComnModel txComn = message.getTxComn();
+        for (int n = 1; n <= 8; n++) {
+            for (int i = 0; i < 40; i++) {
+                txComn.addTxComnField(n, "field" + i, "value-" + n + "-" + i);
+            }
+        }
+        message.setTxComn(txComn);
+        return message;
+    }
+
+    private static Flux<CompleteMessageModel> trackedMessages(int count) {
+        return Flux.range(0, count).map(i -> {
+            CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+            message.getTxHeader().setGlobalBusiTrackNo("STREAM-" + i);
+            return message;
+        });
+    }
+
+    private static Dispatcher trackNoDispatcher(IntToLongFunction delayMillisByIndex) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String trackNo = JSON.parseObject(request.getBody().readUtf8())
+                    .getJSONObject("txHeader").getString("globalBusiTrackNo");
+                int index = Integer.parseInt(trackNo.substring(trackNo.lastIndexOf('-') + 1));
+                return new MockResponse()
+                    .setBody(trackNo)
+                    .setBodyDelay(delayMillisByIndex.applyAsLong(index), TimeUnit.MILLISECONDS);
+            }
+        };
+    }
 }
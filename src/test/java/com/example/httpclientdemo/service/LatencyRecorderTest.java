@@ -0,0 +1,160 @@
+package com.example.httpclientdemo.service;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.mock.MockDownstreamServer;
+import com.example.httpclientdemo.mock.MockDownstreamSettings;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 延迟直方图记录器测试
+ * 验证多线程记录的合并、计划发送时刻修正、清空、文件导出以及HttpService的接入
+ */
+@DisplayName("Latency Recorder Tests")
+class LatencyRecorderTest {
+
+    private MockDownstreamServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge recordings from all threads")
+    void shouldMergeRecordingsFromAllThreads() throws InterruptedException {
+        // Given
+        LatencyRecorder recorder = LatencyRecorder.create();
+        Thread[] threads = new Thread[4];
+
+        // When
+        for (int t = 0; t < threads.length; t++) {
+            long micros = (t + 1) * 1000L;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    recorder.record(TimeUnit.MICROSECONDS.toNanos(micros));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Histogram snapshot = recorder.snapshot();
+
+        // Then
+        assertEquals(400, snapshot.getTotalCount(), "已结束线程的记录也应合并");
+        assertEquals(1000, snapshot.getMinValue(), 1);
+        assertEquals(4000, snapshot.getMaxValue(), 4);
+        assertEquals(400, recorder.snapshot().getTotalCount(), "重复读取应返回累计结果");
+    }
+
+    @Test
+    @DisplayName("Should measure from intended start when provided")
+    void shouldMeasureFromIntendedStartWhenProvided() {
+        // Given
+        LatencyRecorder recorder = LatencyRecorder.create();
+        long intended = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(50);
+
+        // When
+        recorder.recorded(Mono.just("ok")).block();
+        LatencyRecorder.withIntendedStart(recorder.recorded(Mono.just("ok")), intended).block();
+        Histogram snapshot = recorder.snapshot();
+
+        // Then
+        assertEquals(2, snapshot.getTotalCount());
+        assertTrue(snapshot.getMinValue() < 50_000, "未指定计划时刻时应从订阅时刻起算");
+        assertTrue(snapshot.getMaxValue() >= 50_000, "应从计划发送时刻起算，实际: " + snapshot.getMaxValue());
+    }
+
+    @Test
+    @DisplayName("Should record failed calls and clear on reset")
+    void shouldRecordFailedCallsAndClearOnReset() {
+        // Given
+        LatencyRecorder recorder = LatencyRecorder.create();
+
+        // When
+        assertThrows(IllegalStateException.class,
+            () -> recorder.recorded(Mono.error(new IllegalStateException("down"))).block());
+
+        // Then
+        assertEquals(1, recorder.snapshot().getTotalCount(), "失败的请求同样应记录延迟");
+        recorder.reset();
+        assertEquals(0, recorder.snapshot().getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Should export histogram file on close")
+    void shouldExportHistogramFileOnClose(@TempDir Path directory) throws IOException {
+        // Given
+        Path file = directory.resolve("out").resolve("latency.hgrm");
+        LatencyRecorder recorder = LatencyRecorder.create(2, file);
+        for (int i = 0; i < 20; i++) {
+            recorder.record(TimeUnit.MILLISECONDS.toNanos(i + 1));
+        }
+
+        // When
+        recorder.close();
+
+        // Then
+        String content = Files.readString(file);
+        assertTrue(content.contains("Value     Percentile TotalCount"), "应为HdrHistogram百分位分布格式");
+        assertTrue(content.matches("(?s).*Total count\\s+=\\s+20\\].*"), "应包含全部记录: " + content);
+        assertEquals(content, recorder.percentileDistribution());
+    }
+
+    @Test
+    @DisplayName("Should ignore recordings when disabled")
+    void shouldIgnoreRecordingsWhenDisabled() throws IOException {
+        // Given
+        LatencyRecorder recorder = LatencyRecorder.disabled();
+
+        // When
+        recorder.record(1_000_000);
+        recorder.close();
+
+        // Then
+        assertFalse(recorder.isEnabled());
+        assertEquals(0, recorder.snapshot().getTotalCount());
+        assertThrows(IllegalArgumentException.class, () -> LatencyRecorder.create(6, null));
+    }
+
+    @Test
+    @DisplayName("Should record every HttpService request")
+    void shouldRecordEveryHttpServiceRequest() {
+        // Given
+        server = MockDownstreamServer.start(MockDownstreamSettings.defaults());
+        LatencyRecorder recorder = LatencyRecorder.create();
+        HttpService httpService = new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withLatencyRecorder(recorder));
+        String url = server.url("/mock-service");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+        }
+        long intended = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(100);
+        LatencyRecorder.withIntendedStart(
+            httpService.sendRequestAsync(url, TestDataFactory.createStandardBusinessScenario()), intended).block();
+
+        // Then
+        Histogram snapshot = recorder.snapshot();
+        assertEquals(11, snapshot.getTotalCount(), "每个请求都应记录");
+        assertTrue(snapshot.getMaxValue() >= 100_000, "计划发送时刻应传递到HttpService内部");
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.httpclientdemo.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 报文日志测试
+ * 以ListAppender捕获http.message日志器的事件，验证采样、截断与结构化字段
+ */
+@DisplayName("Message Log Tests")
+class MessageLogTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger(MessageLog.LOGGER_NAME);
+        logger.setLevel(Level.INFO);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    @DisplayName("Should log received message with truncated body")
+    void shouldLogReceivedMessageWithTruncatedBody() {
+        // Given
+        MessageLog messageLog = MessageLog.of(1.0, 16);
+        String body = "x".repeat(100_000);
+
+        // When
+        messageLog.received("GBT-0001", body);
+
+        // Then
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals("mock.received", event.getMessage());
+        Map<String, Object> fields = fields(event);
+        assertEquals("GBT-0001", fields.get("trackNo"));
+        assertEquals(100_000, fields.get("bodyLength"));
+        assertEquals("x".repeat(16) + MessageLog.TRUNCATED_SUFFIX, fields.get("body"));
+    }
+
+    @Test
+    @DisplayName("Should keep short body intact")
+    void shouldKeepShortBodyIntact() {
+        assertEquals("{\"a\":1}", MessageLog.of(1.0, 16).excerpt("{\"a\":1}"));
+    }
+
+    @Test
+    @DisplayName("Should sample successful events")
+    void shouldSampleSuccessfulEvents() {
+        // Given
+        MessageLog none = MessageLog.of(0.0, 16);
+        MessageLog tenth = MessageLog.of(0.1, 16);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            none.received("GBT-0001", "{}");
+        }
+        int unsampled = appender.list.size();
+        for (int i = 0; i < 10_000; i++) {
+            tenth.forwarded("GBT-0001", "STD001", 1_000_000L, null);
+        }
+
+        // Then
+        assertEquals(0, unsampled);
+        int logged = appender.list.size();
+        assertTrue(logged > 700 && logged < 1300, "采样率0.1时应记录约1000条，实际" + logged);
+    }
+
+    @Test
+    @DisplayName("Should always log failures")
+    void shouldAlwaysLogFailures() {
+        // Given
+        MessageLog messageLog = MessageLog.of(0.0, 16);
+        WebClientResponseException error = WebClientResponseException.create(
+            HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", null, null, null);
+
+        // When
+        messageLog.forwarded("GBT-0001", "STD001", 2_500_000L, error);
+
+        // Then
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        Map<String, Object> fields = fields(event);
+        assertEquals("server_error", fields.get("outcome"));
+        assertEquals(2_500L, fields.get("elapsedMicros"));
+        assertEquals("STD001", fields.get("txCode"));
+    }
+
+    @Test
+    @DisplayName("Should not log when disabled")
+    void shouldNotLogWhenDisabled() {
+        // When
+        MessageLog.disabled().received("GBT-0001", "{}");
+        MessageLog.disabled().forwarded("GBT-0001", "STD001", 1L, new IllegalStateException());
+
+        // Then
+        assertFalse(MessageLog.disabled().isEnabled());
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> MessageLog.of(1.5, 16));
+        assertThrows(IllegalArgumentException.class, () -> MessageLog.of(0.5, -1));
+    }
+
+    private static Map<String, Object> fields(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream()
+            .filter(pair -> pair.value != null)
+            .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+}
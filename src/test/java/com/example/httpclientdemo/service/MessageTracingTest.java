@@ -0,0 +1,194 @@
+package com.example.httpclientdemo.service;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 按报文链路追踪测试
+ * 以内存处理器收集已结束的Observation，验证阶段层级、跟踪号属性与请求头传递
+ */
+@DisplayName("Message Tracing Tests")
+class MessageTracingTest {
+
+    private MockWebServer mockWebServer;
+    private String url;
+    private InMemorySpans spans;
+    private MessageTracing tracing;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        url = mockWebServer.url("/api/").toString();
+        spans = new InMemorySpans();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(spans);
+        tracing = MessageTracing.create(registry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should record message stages keyed by track number")
+    void shouldRecordMessageStagesKeyedByTrackNumber() throws InterruptedException {
+        // Given
+        HttpService httpService = service(ResiliencePolicies.none());
+        CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+        String trackNo = message.getTxHeader().getGlobalBusiTrackNo();
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        // When
+        String response = httpService.sendRequest(url, message);
+
+        // Then
+        assertEquals("ok", response);
+        Observation.Context messageSpan = spans.single(MessageTracing.MESSAGE);
+        assertEquals(trackNo, messageSpan.getHighCardinalityKeyValue(MessageTracing.TRACK_NO_KEY).getValue());
+        assertEquals(message.getTxHeader().getSubtxNo(),
+            messageSpan.getHighCardinalityKeyValue(MessageTracing.SUBTX_NO_KEY).getValue());
+        assertEquals("STD001", messageSpan.getLowCardinalityKeyValue(MessageTracing.TX_CODE_KEY).getValue());
+
+        Observation.Context send = spans.single(MessageTracing.SEND);
+        assertSame(messageSpan, send.getParentObservation().getContextView());
+        assertSame(send, spans.single(MessageTracing.SERIALIZE).getParentObservation().getContextView());
+        assertSame(messageSpan, spans.single(MessageTracing.RECEIVE).getParentObservation().getContextView());
+
+        RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals(trackNo, request.getHeader(MessageTracing.TRACK_NO_HEADER));
+        assertEquals(message.getTxHeader().getSubtxNo(), request.getHeader(MessageTracing.SUBTX_NO_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should record one send per attempt under one message")
+    void shouldRecordOneSendPerAttemptUnderOneMessage() {
+        // Given
+        ResiliencePolicy retry = ResiliencePolicy.none()
+            .withRetry(2, Duration.ofMillis(10), Duration.ofMillis(50)).idempotent(true);
+        HttpService httpService = service(ResiliencePolicies.of(retry, Map.of()));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        // When
+        httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+
+        // Then
+        Observation.Context messageSpan = spans.single(MessageTracing.MESSAGE);
+        assertNull(messageSpan.getError());
+        List<Observation.Context> sends = spans.named(MessageTracing.SEND);
+        assertEquals(2, sends.size());
+        sends.forEach(send -> assertSame(messageSpan, send.getParentObservation().getContextView()));
+    }
+
+    @Test
+    @DisplayName("Should mark message span with error")
+    void shouldMarkMessageSpanWithError() {
+        // Given
+        HttpService httpService = service(ResiliencePolicies.none());
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        // When
+        assertThrows(WebClientResponseException.class,
+            () -> httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario()));
+
+        // Then
+        assertInstanceOf(WebClientResponseException.class, spans.single(MessageTracing.MESSAGE).getError());
+    }
+
+    @Test
+    @DisplayName("Should nest message under inbound api span")
+    void shouldNestMessageUnderInboundApiSpan() {
+        // Given
+        HttpService httpService = service(ResiliencePolicies.none());
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+        JSONObject txHeader = new JSONObject();
+        txHeader.put("txCode", "QRY001");
+        txHeader.put("globalBusiTrackNo", "GBT-0001");
+
+        // When
+        Observation api = tracing.start(MessageTracing.API, null);
+        MessageTracing.identify(api, "QRY001", "GBT-0001", null);
+        tracing.within(httpService.sendRequestAsync(url, txHeader, new JSONObject()), api).block();
+
+        // Then
+        Observation.Context apiSpan = spans.single(MessageTracing.API);
+        Observation.Context messageSpan = spans.single(MessageTracing.MESSAGE);
+        assertSame(apiSpan, messageSpan.getParentObservation().getContextView());
+        assertEquals("GBT-0001", messageSpan.getHighCardinalityKeyValue(MessageTracing.TRACK_NO_KEY).getValue());
+    }
+
+    @Test
+    @DisplayName("Should not add headers when tracing is disabled")
+    void shouldNotAddHeadersWhenTracingIsDisabled() throws InterruptedException {
+        // Given
+        HttpService httpService = new HttpService(WebClient.builder());
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        // When
+        httpService.sendRequest(url, TestDataFactory.createStandardBusinessScenario());
+
+        // Then
+        assertFalse(MessageTracing.noop().isEnabled());
+        assertNull(mockWebServer.takeRequest(1, TimeUnit.SECONDS).getHeader(MessageTracing.TRACK_NO_HEADER));
+    }
+
+    private HttpService service(ResiliencePolicies policies) {
+        return new HttpService(WebClient.builder(),
+            HttpServiceOptions.defaults()
+                .withResiliencePolicies(policies)
+                .withTracing(tracing));
+    }
+
+    /**
+     * 内存span导出器，按结束顺序保存Observation上下文
+     */
+    private static final class InMemorySpans implements ObservationHandler<Observation.Context> {
+
+        private final List<Observation.Context> finished = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onStop(Observation.Context context) {
+            finished.add(context);
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return true;
+        }
+
+        List<Observation.Context> named(String name) {
+            return finished.stream().filter(context -> name.equals(context.getName())).collect(Collectors.toList());
+        }
+
+        Observation.Context single(String name) {
+            List<Observation.Context> matches = named(name);
+            assertEquals(1, matches.size(), name + "阶段数量");
+            return matches.get(0);
+        }
+    }
+}
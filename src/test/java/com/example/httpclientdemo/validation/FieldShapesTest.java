@@ -0,0 +1,46 @@
+package com.example.httpclientdemo.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FieldShapes测试类
+ * 验证逐字符校验与原String.matches正则的结果一致
+ */
+public class FieldShapesTest {
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"", "0", "9", "a", "12", "040000037480013", "04000003748001", "0400000374800134",
+        "04000003748001A", " 40000037480013", "０", "٣", "20240101", "2024010", "2024-101", "00000000"})
+    @DisplayName("isDigits - 与\\d{n}正则结果一致")
+    void testIsDigitsMatchesRegex(String value) {
+        assertEquals(value.matches("\\d{1}"), FieldShapes.isDigits(value, 1));
+        assertEquals(value.matches("\\d{8}"), FieldShapes.isDigits(value, 8));
+        assertEquals(value.matches("\\d{15}"), FieldShapes.isDigits(value, 15));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"", "C", "C203", "c203", "C20", "C2034", "CC03", "@203", "[203", "Z999", "A000",
+        "Ｃ203", "C2٣3", " 203"})
+    @DisplayName("isUpperLetterAndDigits - 与[A-Z]\\d{3}正则结果一致")
+    void testIsUpperLetterAndDigitsMatchesRegex(String value) {
+        assertEquals(value.matches("[A-Z]\\d{3}"), FieldShapes.isUpperLetterAndDigits(value, 3));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "   ", "\t\n", "\u0000", "a", " a ", "　", " "})
+    @DisplayName("hasText - 与!trim().isEmpty()结果一致")
+    void testHasTextMatchesTrim(String value) {
+        assertEquals(!value.trim().isEmpty(), FieldShapes.hasText(value));
+    }
+    
+    @Test
+    @DisplayName("hasText - null返回false")
+    void testHasTextWithNull() {
+        assertFalse(FieldShapes.hasText(null));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.httpclientdemo.validation;
+
+import com.example.httpclientdemo.factory.TestDataFactory;
+import com.example.httpclientdemo.model.CompleteMessageModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MessageValidator规则表校验测试类
+ */
+public class MessageValidatorTest {
+    
+    private final MessageValidator validator = MessageRules.standardValidator();
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"standard", "query", "transfer", "random", "min", "max", "null", "invalid", "empty"})
+    @DisplayName("标准规则表 - 结果与validate() && validateFormat()一致")
+    void testStandardRulesAgreeWithModelValidation(String scenario) {
+        CompleteMessageModel message = createScenario(scenario);
+        
+        ValidationResult result = validator.validate(message);
+        
+        assertEquals(message.validate() && message.validateFormat(), result.isValid(), result.toString());
+    }
+    
+    @Test
+    @DisplayName("一次遍历返回全部违规")
+    void testReportsAllViolationsInOnePass() {
+        CompleteMessageModel message = TestDataFactory.createInvalidFormatScenario();
+        
+        ValidationResult result = validator.validate(message);
+        
+        assertFalse(result.isValid());
+        List<String> reported = result.getViolations().stream()
+            .map(violation -> violation.getPath() + "=" + violation.getType())
+            .collect(Collectors.toList());
+        assertEquals(List.of(
+            "txHeader.msgGrptMac=MAX_LENGTH",
+            "txHeader.globalBusiTrackNo=REQUIRED",
+            "txHeader.subtxNo=MAX_LENGTH",
+            "txBody.txEntity.custNo=FORMAT",
+            "txBody.txEntity.qryVchrTpCd=FORMAT",
+            "txBody.txEntity.txSceneCd=FORMAT",
+            "txBody.accountingDate=FORMAT"), reported);
+        assertTrue(result.hasViolation("txBody.accountingDate"));
+        assertFalse(result.hasViolation("txHeader.txCode"));
+    }
+    
+    @Test
+    @DisplayName("缺少报文体实体时报告必填违规")
+    void testMissingEntityReportsRequiredViolations() {
+        CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+        message.setTxBody(null);
+        
+        ValidationResult result = validator.validate(message);
+        
+        assertEquals(3, result.getViolations().size());
+        assertTrue(result.getViolations().stream().allMatch(v -> v.getType() == ViolationType.REQUIRED));
+        assertTrue(result.hasViolation("txBody.txEntity.custNo"));
+    }
+    
+    @Test
+    @DisplayName("校验通过时返回共享结果实例")
+    void testValidMessageReturnsSharedResult() {
+        CompleteMessageModel message = TestDataFactory.createStandardBusinessScenario();
+        
+        ValidationResult result = validator.validate(message);
+        
+        assertTrue(result.isValid());
+        assertSame(ValidationResult.VALID, result);
+        assertTrue(result.getViolations().isEmpty());
+    }
+    
+    @Test
+    @DisplayName("自定义规则表 - 每个字段最多报告一个违规")
+    void testCustomRuleTable() {
+        MessageValidator custom = MessageValidator.of(List.of(
+            FieldRule.of("txHeader.txCode", m -> m.getTxHeader().getTxCode())
+                .required().maxLength(3).shape("[A-Z]\\d{3}", v -> FieldShapes.isUpperLetterAndDigits(v, 3))));
+        CompleteMessageModel message = new CompleteMessageModel();
+        
+        message.getTxHeader().setTxCode("TRF001");
+        Violation violation = custom.validate(message).getViolations().get(0);
+        assertEquals(ViolationType.MAX_LENGTH, violation.getType());
+        assertEquals("txHeader.txCode: 长度6超过上限3", violation.toString());
+        
+        message.getTxHeader().setTxCode("T01");
+        assertEquals(ViolationType.FORMAT, custom.validate(message).getViolations().get(0).getType());
+        
+        message.getTxHeader().setTxCode("  ");
+        assertEquals(ViolationType.REQUIRED, custom.validate(message).getViolations().get(0).getType());
+        assertEquals(1, custom.ruleCount());
+    }
+    
+    @Test
+    @DisplayName("非法参数抛出异常")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> validator.validate(null));
+        assertThrows(IllegalArgumentException.class, () -> FieldRule.of(null, m -> null));
+        assertThrows(IllegalArgumentException.class, () -> FieldRule.of("a", m -> null).maxLength(-1));
+        assertThrows(IllegalArgumentException.class, () -> MessageValidator.of(null));
+    }
+    
+    private static CompleteMessageModel createScenario(String scenario) {
+        switch (scenario) {
+            case "min":
+                return TestDataFactory.createMinBoundaryScenario();
+            case "max":
+                return TestDataFactory.createMaxBoundaryScenario();
+            case "null":
+                return TestDataFactory.createNullValueScenario();
+            case "invalid":
+                return TestDataFactory.createInvalidFormatScenario();
+            case "empty":
+                return new CompleteMessageModel();
+            default:
+                return TestDataFactory.createBatchTestData(1, scenario)[0];
+        }
+    }
+}